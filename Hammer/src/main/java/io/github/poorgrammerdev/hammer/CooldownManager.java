@@ -2,8 +2,8 @@ package io.github.poorgrammerdev.hammer;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.entity.Player;
 
@@ -12,10 +12,11 @@ import org.bukkit.entity.Player;
  * Referencing code from this wiki post: https://www.spigotmc.org/wiki/feature-command-cooldowns
  */
 public class CooldownManager {
-    private final HashMap<UUID, Instant> cooldownMap;
+    //Players in different regions are handled on different threads on region-threaded servers
+    private final ConcurrentHashMap<UUID, Instant> cooldownMap;
 
     public CooldownManager() {
-        this.cooldownMap = new HashMap<>();
+        this.cooldownMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -1,29 +1,35 @@
 package io.github.poorgrammerdev.hammer;
 
-import java.util.HashMap;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
+
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
 
 /**
  * Displays block damaging visual effect for adjacent blocks during hammer area-mining
+ * Each player's effect is updated by their own repeating task on the thread that owns the player,
+ * so on region-threaded servers players in different regions are handled on different threads
  */
-public class FauxBlockDamage extends BukkitRunnable implements Listener {
+public class FauxBlockDamage implements Listener {
+    private final ISchedulerBackend scheduler;
     private final Random random;
     private final boolean enabled;
 
-    private final HashMap<Player, FauxDamageData> playerData;
+    //Players in different regions are registered from different threads
+    private final ConcurrentHashMap<Player, FauxDamageData> playerData;
 
     public FauxBlockDamage(final Hammer plugin, final Random random) {
+        this.scheduler = plugin.getSchedulerBackend();
         this.random = random;
         this.enabled = plugin.getConfig().getBoolean("show_adjacent_breaking", true);
 
-        this.playerData = new HashMap<>();
+        this.playerData = new ConcurrentHashMap<>();
     }
 
     /**
@@ -46,12 +52,13 @@ public class FauxBlockDamage extends BukkitRunnable implements Listener {
         //TODO: This is most likely bad code architecture, find a way to clean this up without constant memory allocation
         FauxDamageData data = this.playerData.getOrDefault(player, null);
 
-        //First time this player's been registered -- allocate new data objects
+        //First time this player's been registered -- allocate new data objects and start their task
         if (data == null) {
             data = new FauxDamageData(centerBlock, random);
             data.active = true;
 
             this.playerData.put(player, data);
+            data.task = this.scheduler.runTimerAtEntity(player, () -> this.tick(player), 1L, 1L);
             return data;
         }
         
@@ -106,37 +113,35 @@ public class FauxBlockDamage extends BukkitRunnable implements Listener {
     }
 
     /**
-     * Core mechanism of this class
+     * Core mechanism of this class, run every tick for each registered player
      * Displays the progressive breaking animation at the estimated speed
      * until it reaches completion or is cancelled externally
      */
-    @Override
-    public void run() {
-        this.playerData.keySet().forEach((final Player player) -> {
-            final FauxDamageData data = this.playerData.getOrDefault(player, null);
-            if (!data.active) return;
-
-            //Calculate the estimated progress % and display to player
-            final float progress = data.ticks * data.centerBlock.getBreakSpeed(player);
-            for (int i = 0; i < data.adjacentCount; i++) {
-                player.sendBlockDamage(data.adjacentBlocks[i], Math.max(Math.min(progress, 1.0f), 0.0f), data.ids[i]);
-            }
-
-            //If reached full progress, deactivate this player
-            if (progress >= 1.0f) {
-                deactivate(player);
-            }
-
-            data.ticks++;
-        });
+    private void tick(final Player player) {
+        final FauxDamageData data = this.playerData.getOrDefault(player, null);
+        if (data == null || !data.active) return;
+
+        //Calculate the estimated progress % and display to player
+        final float progress = data.ticks * data.centerBlock.getBreakSpeed(player);
+        for (int i = 0; i < data.adjacentCount; i++) {
+            player.sendBlockDamage(data.adjacentBlocks[i], Math.max(Math.min(progress, 1.0f), 0.0f), data.ids[i]);
+        }
+
+        //If reached full progress, deactivate this player
+        if (progress >= 1.0f) {
+            deactivate(player);
+        }
+
+        data.ticks++;
     }
     
     /**
-     * Removes references to offline players to prevent memory leaks
+     * Removes references to offline players to prevent memory leaks, and stops their task
      */
     @EventHandler(ignoreCancelled = true)
     public void removeLeavingPlayers(final PlayerQuitEvent event) {
-        this.playerData.remove(event.getPlayer());
+        final FauxDamageData data = this.playerData.remove(event.getPlayer());
+        if (data != null && data.task != null) data.task.cancel();
     }
 
     /**
@@ -5,6 +5,8 @@ import java.util.Random;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 
+import io.github.poorgrammerdev.scheduling.IScheduledTask;
+
 /**
  * [STRUCT-LIKE CLASS]
  * Used to hold data pertaining to block damage displaying
@@ -44,6 +46,11 @@ public class FauxDamageData {
      */
     public int ticks;
 
+    /**
+     * Repeating task that updates the effect for this player
+     */
+    public IScheduledTask task;
+
     public FauxDamageData(final Block centerBlock, final Random random) {
         this.centerBlock = centerBlock;
         this.ticks = 0;
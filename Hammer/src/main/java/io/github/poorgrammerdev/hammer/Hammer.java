@@ -13,8 +13,12 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import net.md_5.bungee.api.ChatColor;
 
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+import io.github.poorgrammerdev.scheduling.SchedulerBackends;
+
 public class Hammer extends JavaPlugin {
     private final NamespacedKey hammerKey;
+    private ISchedulerBackend schedulerBackend;
     
     public Hammer() {
         this.hammerKey = new NamespacedKey(this, "is_hammer");
@@ -26,12 +30,13 @@ public class Hammer extends JavaPlugin {
         this.getConfig().options().copyDefaults(true);
         this.saveConfig();
 
+        this.schedulerBackend = SchedulerBackends.create(this);
+
         final Random random = new Random();
         final HashMap<Material, NamespacedKey> recipeKeyMap = new CraftingManager(this).registerAllRecipes();
 
         final FauxBlockDamage fauxBlockDamage = new FauxBlockDamage(this, random);
         if (fauxBlockDamage.isEnabled()) {
-            fauxBlockDamage.runTaskTimer(this, 0, 0);
             this.getServer().getPluginManager().registerEvents(fauxBlockDamage, this);
         }
 
@@ -107,4 +112,11 @@ public class Hammer extends JavaPlugin {
 
         return tier.charAt(0) + tier.substring(1).toLowerCase() + " Hammer";
     }
+
+    /**
+     * Gets the scheduler backend that all of the plugin's server tasks go through
+     */
+    public ISchedulerBackend getSchedulerBackend() {
+        return this.schedulerBackend;
+    }
 }
@@ -8,7 +8,6 @@ import org.bukkit.block.data.Directional;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.BlockDispenseEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * Dispensers can plant crops onto farmland
@@ -65,22 +64,19 @@ public class AutoPlanter extends AbstractModule {
                 //Prevent dispense and re-attempt one tick later
                 event.setItem(new ItemStack(Material.AIR, 0));
 
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        final ItemStack inventoryItemNew = findMatchingItem((Dispenser) dispenserBlock.getState(), item);
-                        if (inventoryItemNew != null) {
-                            //Since one tick has passed, it's EXTREMELY unlikely but also possible
-                            //that the cropBlock location from earlier may be infeasible now
-                            //So we will search for a valid location again
-                            final Block cropBlockNew = findValidCropPlacement(dispenserBlock, facing, baseBlock);
-                            if (cropBlockNew != null) {
-                                inventoryItemNew.setAmount(inventoryItemNew.getAmount() - 1);
-                                cropBlockNew.setType(crop);
-                            }
+                this.plugin.getSchedulerBackend().runAtLocation(dispenserBlock.getLocation(), () -> {
+                    final ItemStack inventoryItemNew = findMatchingItem((Dispenser) dispenserBlock.getState(), item);
+                    if (inventoryItemNew != null) {
+                        //Since one tick has passed, it's EXTREMELY unlikely but also possible
+                        //that the cropBlock location from earlier may be infeasible now
+                        //So we will search for a valid location again
+                        final Block cropBlockNew = findValidCropPlacement(dispenserBlock, facing, baseBlock);
+                        if (cropBlockNew != null) {
+                            inventoryItemNew.setAmount(inventoryItemNew.getAmount() - 1);
+                            cropBlockNew.setType(crop);
                         }
                     }
-                }.runTaskLater(this.plugin, 1L);
+                }, 1L);
             }
             else {
                 event.setCancelled(true);
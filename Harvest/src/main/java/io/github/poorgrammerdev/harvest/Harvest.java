@@ -2,7 +2,11 @@ package io.github.poorgrammerdev.harvest;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+import io.github.poorgrammerdev.scheduling.SchedulerBackends;
+
 public class Harvest extends JavaPlugin {
+    private ISchedulerBackend schedulerBackend;
 
     @Override
     public void onEnable() {
@@ -10,6 +14,8 @@ public class Harvest extends JavaPlugin {
         // this.getConfig().options().copyDefaults(true);
         // this.saveConfig();
 
+        this.schedulerBackend = SchedulerBackends.create(this);
+
         final CropSeedMapper cropSeedMapper = new CropSeedMapper(this);
 
         final QuickReplant quickReplace = new QuickReplant(this, cropSeedMapper);
@@ -26,4 +32,11 @@ public class Harvest extends JavaPlugin {
     public void onDisable() {
     }
     
+
+    /**
+     * Gets the scheduler backend that all of the plugin's server tasks go through
+     */
+    public ISchedulerBackend getSchedulerBackend() {
+        return this.schedulerBackend;
+    }
 }
@@ -0,0 +1,132 @@
+package io.github.poorgrammerdev.ominouswither.commands;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.RegionOwnershipCheck;
+import io.github.poorgrammerdev.ominouswither.internal.TraversalBenchmark;
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * <p>Handles <code>/ominouswither bench [samples]</code> and <code>/ominouswither bench regions [ticks]</code>; permission is checked by {@link OminousWitherCommand} before this is run</p>
+ * <p>Only compiled into builds made with the <code>bench</code> Maven profile, and found by name when the command is set up</p>
+ * @author Thomas Tran
+ */
+public class BenchSubcommand implements CommandExecutor {
+    /**
+     * Default and max amount of checks timed per implementation; every check runs in the same tick, so this is kept small
+     */
+    private static final int DEFAULT_SAMPLES = 2000;
+    private static final int MAX_SAMPLES = 5000;
+
+    /**
+     * Default and max amount of ticks the region ownership check runs for
+     */
+    private static final int DEFAULT_REGION_TICKS = 100;
+    private static final int MAX_REGION_TICKS = 1200;
+
+    private final OminousWither plugin;
+
+    //Messages
+    private final String invalidSubcommand;
+    private final String benchHeader;
+    private final String benchEntry;
+    private final String benchRegionsHeader;
+    private final String benchRegionsResult;
+
+    public BenchSubcommand(OminousWither plugin) {
+        this.plugin = plugin;
+
+        this.invalidSubcommand = plugin.getConfig().getString("messages.invalid_subcommand", "");
+        this.benchHeader = plugin.getConfig().getString("messages.bench_header", "");
+        this.benchEntry = plugin.getConfig().getString("messages.bench_entry", "");
+        this.benchRegionsHeader = plugin.getConfig().getString("messages.bench_regions_header", "");
+        this.benchRegionsResult = plugin.getConfig().getString("messages.bench_regions_result", "");
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length >= 2 && args[1].equalsIgnoreCase("regions")) {
+            return this.checkRegions(sender, args);
+        }
+
+        int samples = DEFAULT_SAMPLES;
+        if (args.length >= 2) {
+            try {
+                samples = Utils.clamp(Integer.parseInt(args[1]), 1, MAX_SAMPLES);
+            }
+            catch (NumberFormatException e) {
+                sender.sendMessage(Utils.formatMessage(this.invalidSubcommand));
+                return false;
+            }
+        }
+
+        //Sample around the sender if they have a location, otherwise around the spawn of the default world
+        final Location center = (sender instanceof Entity) ? ((Entity) sender).getLocation() : this.plugin.getServer().getWorlds().get(0).getSpawnLocation();
+
+        sender.sendMessage(Utils.formatMessage(
+            this.benchHeader,
+            samples,
+            center.getWorld().getName(),
+            center.getBlockX(),
+            center.getBlockY(),
+            center.getBlockZ()
+        ));
+
+        for (final TraversalBenchmark.Result result : TraversalBenchmark.run(center, samples)) {
+            sender.sendMessage(Utils.formatMessage(
+                this.benchEntry,
+                result.getCheck(),
+                result.getOldName(),
+                result.getOldNanosPerCheck(),
+                result.getNewNanosPerCheck(),
+                result.getOldNanosPerCheck() / Math.max(result.getNewNanosPerCheck(), 1.0D),
+                result.getAgreement() * 100.0D
+            ));
+        }
+        return true;
+    }
+
+    /**
+     * Handles <code>/ominouswither bench regions [ticks]</code>
+     */
+    private boolean checkRegions(final CommandSender sender, final String[] args) {
+        int ticks = DEFAULT_REGION_TICKS;
+        if (args.length >= 3) {
+            try {
+                ticks = Utils.clamp(Integer.parseInt(args[2]), 1, MAX_REGION_TICKS);
+            }
+            catch (NumberFormatException e) {
+                sender.sendMessage(Utils.formatMessage(this.invalidSubcommand));
+                return false;
+            }
+        }
+
+        //Check the sender's world if they have one, otherwise the default world
+        final World world = (sender instanceof Entity) ? ((Entity) sender).getWorld() : this.plugin.getServer().getWorlds().get(0);
+
+        sender.sendMessage(Utils.formatMessage(
+            this.benchRegionsHeader,
+            Math.min(world.getEntities().size(), RegionOwnershipCheck.MAX_ENTITIES),
+            world.getName(),
+            ticks
+        ));
+
+        RegionOwnershipCheck.run(this.plugin.getSchedulerBackend(), world, ticks, (result) -> sender.sendMessage(Utils.formatMessage(
+            this.benchRegionsResult,
+            result.isPassed() ? "&apassed" : "&cfailed",
+            result.getOwnedRuns(),
+            result.getEntityRuns(),
+            result.getForeignRejected(),
+            result.getForeignChecks(),
+            result.getGlobalRejected(),
+            result.getGlobalRuns()
+        )));
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.TreeMap;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import io.github.poorgrammerdev.scheduling.IScheduledTask;
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+
+/**
+ * <p>Stand-in scheduler backend that imitates region-threaded semantics without a server</p>
+ * <p>Time only moves forward when {@link #tick()} is called. Each tick runs due global tasks first, then due region tasks one region at a time,
+ * so code can be checked for touching entities outside of the region that is currently running through {@link #isOwnedByCurrentThread(Entity)}</p>
+ * <p>Everything runs on the calling thread; this is meant for debugging and testing, not for use on a live server</p>
+ * <p>Only compiled into builds made with the <code>bench</code> Maven profile</p>
+ * @author Thomas Tran
+ */
+public class LocalSchedulerBackend implements ISchedulerBackend {
+    /**
+     * Key used for tasks that run outside of any region
+     */
+    private static final String GLOBAL_REGION = "global";
+
+    /**
+     * Width of a region in chunks
+     */
+    private final int regionSizeChunks;
+
+    private final ArrayList<LocalTask> tasks;
+    private long currentTick;
+
+    /**
+     * Region whose tasks are currently running, or null outside of {@link #tick()}
+     */
+    private String currentRegion;
+
+    /**
+     * @param regionSizeChunks width of a region in chunks, at least 1
+     */
+    public LocalSchedulerBackend(final int regionSizeChunks) {
+        this.regionSizeChunks = Math.max(regionSizeChunks, 1);
+        this.tasks = new ArrayList<>();
+        this.currentTick = 0L;
+        this.currentRegion = null;
+    }
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    /**
+     * Advances time by one tick and runs everything that is due, global tasks first and then each region in turn
+     */
+    public void tick() {
+        ++this.currentTick;
+
+        //Collect due tasks by region; regions are resolved now since entities may have moved since scheduling
+        //Tasks scheduled while running wait for a later tick
+        final TreeMap<String, ArrayList<LocalTask>> dueByRegion = new TreeMap<>();
+        final ArrayList<LocalTask> dueGlobal = new ArrayList<>();
+
+        final Iterator<LocalTask> iterator = this.tasks.iterator();
+        while (iterator.hasNext()) {
+            final LocalTask task = iterator.next();
+            if (task.cancelled) {
+                iterator.remove();
+                continue;
+            }
+            if (task.nextRunTick > this.currentTick) continue;
+
+            //Entity tasks are dropped once their entity has been removed, like on a real region-threaded server
+            if (task.entity != null && !task.entity.isValid()) {
+                task.cancelled = true;
+                iterator.remove();
+                continue;
+            }
+
+            final String region = this.getRegion(task);
+            if (region.equals(GLOBAL_REGION)) dueGlobal.add(task);
+            else dueByRegion.computeIfAbsent(region, (key) -> new ArrayList<>()).add(task);
+        }
+
+        this.runAll(GLOBAL_REGION, dueGlobal);
+        dueByRegion.forEach(this::runAll);
+        this.currentRegion = null;
+
+        this.tasks.removeIf((task) -> task.cancelled);
+    }
+
+    /**
+     * @return amount of ticks that have been run
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * @return region whose tasks are currently running, or null if not inside {@link #tick()}
+     */
+    public String getCurrentRegion() {
+        return this.currentRegion;
+    }
+
+    /**
+     * @return amount of tasks waiting to run
+     */
+    public int getPendingCount() {
+        return this.tasks.size();
+    }
+
+    @Override
+    public IScheduledTask runLater(final Runnable task, final long delay) {
+        return this.add(new LocalTask(task, delay, 0L, null, null));
+    }
+
+    @Override
+    public IScheduledTask runTimer(final Runnable task, final long delay, final long period) {
+        return this.add(new LocalTask(task, delay, Math.max(period, 1L), null, null));
+    }
+
+    @Override
+    public IScheduledTask runAtEntity(final Entity entity, final Runnable task, final long delay) {
+        return this.add(new LocalTask(task, delay, 0L, entity, null));
+    }
+
+    @Override
+    public IScheduledTask runTimerAtEntity(final Entity entity, final Runnable task, final long delay, final long period) {
+        return this.add(new LocalTask(task, delay, Math.max(period, 1L), entity, null));
+    }
+
+    @Override
+    public IScheduledTask runAtLocation(final Location location, final Runnable task, final long delay) {
+        return this.add(new LocalTask(task, delay, 0L, null, location.clone()));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(final Entity entity) {
+        return this.currentRegion != null && this.currentRegion.equals(this.getRegion(entity.getLocation()));
+    }
+
+    private IScheduledTask add(final LocalTask task) {
+        this.tasks.add(task);
+        return task;
+    }
+
+    private void runAll(final String region, final ArrayList<LocalTask> due) {
+        this.currentRegion = region;
+        for (final LocalTask task : due) {
+            //May have been cancelled by an earlier task this tick
+            if (task.cancelled) continue;
+
+            task.runnable.run();
+
+            if (task.period > 0L) task.nextRunTick = this.currentTick + task.period;
+            else task.cancelled = true;
+        }
+    }
+
+    private String getRegion(final LocalTask task) {
+        if (task.entity != null) return this.getRegion(task.entity.getLocation());
+        if (task.location != null) return this.getRegion(task.location);
+        return GLOBAL_REGION;
+    }
+
+    /**
+     * @return name of the region containing a location, e.g. "world [0, -1]"
+     */
+    public String getRegion(final Location location) {
+        final String worldName = (location.getWorld() != null) ? location.getWorld().getName() : "unknown";
+        final int regionX = Math.floorDiv(location.getBlockX() >> 4, this.regionSizeChunks);
+        final int regionZ = Math.floorDiv(location.getBlockZ() >> 4, this.regionSizeChunks);
+        return worldName + " [" + regionX + ", " + regionZ + "]";
+    }
+
+    /**
+     * Task waiting in this backend
+     */
+    private class LocalTask implements IScheduledTask {
+        private final Runnable runnable;
+        private final long period;
+        private final Entity entity;
+        private final Location location;
+
+        private long nextRunTick;
+        private boolean cancelled;
+
+        private LocalTask(final Runnable runnable, final long delay, final long period, final Entity entity, final Location location) {
+            this.runnable = runnable;
+            this.period = period;
+            this.entity = entity;
+            this.location = location;
+
+            //Like region-threaded servers, nothing runs sooner than the next tick
+            this.nextRunTick = currentTick + Math.max(delay, 1L);
+            this.cancelled = false;
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+}
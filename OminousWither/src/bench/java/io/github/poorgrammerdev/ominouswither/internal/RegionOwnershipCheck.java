@@ -0,0 +1,165 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+import io.github.poorgrammerdev.scheduling.IScheduledTask;
+
+/**
+ * <p>Checks that entity tasks run on the region that owns their entity, using a {@link LocalSchedulerBackend} that is ticked by hand</p>
+ * <p>Every entity in the world gets a repeating entity task. Each time it runs, it checks that its own entity is owned by the running region
+ * and that the next entity is not if that one is in another region. A global task also checks that it owns no entity.
+ * The local backend is ticked once per server tick, so entities that walk between regions are followed.</p>
+ * <p>Runs on the main thread and reads every entity's location, so this should only be used on non-region-threaded servers</p>
+ * @author Thomas Tran
+ */
+public final class RegionOwnershipCheck {
+    /**
+     * Width of a region in chunks, matching the default region size of region-threaded servers
+     */
+    public static final int REGION_SIZE_CHUNKS = 16;
+
+    /**
+     * Max amount of entities given a task, so large worlds don't stall the tick
+     */
+    public static final int MAX_ENTITIES = 500;
+
+    private RegionOwnershipCheck() {}
+
+    /**
+     * Starts the check; the result is given to the callback on the main thread once it is done
+     * @param server backend of the plugin, used to tick the local backend every server tick
+     * @param world world whose entities are checked
+     * @param ticks amount of ticks to run the local backend for
+     * @param callback given the result once every tick has run
+     */
+    public static void run(final ISchedulerBackend server, final World world, final int ticks, final Consumer<Result> callback) {
+        final LocalSchedulerBackend local = new LocalSchedulerBackend(REGION_SIZE_CHUNKS);
+        final Result result = new Result();
+
+        final List<Entity> entities = world.getEntities();
+        final int count = Math.min(entities.size(), MAX_ENTITIES);
+        result.entities = count;
+
+        for (int i = 0; i < count; ++i) {
+            final Entity entity = entities.get(i);
+            final Entity next = entities.get((i + 1) % count);
+
+            local.runTimerAtEntity(entity, () -> {
+                ++result.entityRuns;
+                if (local.isOwnedByCurrentThread(entity) && local.getCurrentRegion().equals(local.getRegion(entity.getLocation()))) {
+                    ++result.ownedRuns;
+                }
+
+                //Only meaningful when the other entity is somewhere else right now
+                if (next.isValid() && !local.getCurrentRegion().equals(local.getRegion(next.getLocation()))) {
+                    ++result.foreignChecks;
+                    if (!local.isOwnedByCurrentThread(next)) ++result.foreignRejected;
+                }
+            }, 1L, 1L);
+        }
+
+        local.runTimer(() -> {
+            ++result.globalRuns;
+            for (int i = 0; i < count; ++i) {
+                final Entity entity = entities.get(i);
+                if (entity.isValid() && local.isOwnedByCurrentThread(entity)) return;
+            }
+            ++result.globalRejected;
+        }, 1L, 1L);
+
+        //Tick the local backend by hand once per server tick, then report
+        final IScheduledTask[] driver = new IScheduledTask[1];
+        driver[0] = server.runTimer(() -> {
+            local.tick();
+            if (local.getCurrentTick() < ticks) return;
+
+            driver[0].cancel();
+            result.pending = local.getPendingCount();
+            callback.accept(result);
+        }, 1L, 1L);
+    }
+
+    /**
+     * Counts gathered by the check; passed if every check of each type held
+     */
+    public static class Result {
+        private int entities;
+        private int entityRuns;
+        private int ownedRuns;
+        private int foreignChecks;
+        private int foreignRejected;
+        private int globalRuns;
+        private int globalRejected;
+        private int pending;
+
+        private Result() {}
+
+        /**
+         * @return amount of entities given a task
+         */
+        public int getEntities() {
+            return this.entities;
+        }
+
+        /**
+         * @return amount of times an entity task ran
+         */
+        public int getEntityRuns() {
+            return this.entityRuns;
+        }
+
+        /**
+         * @return amount of entity task runs that happened on the region owning their entity
+         */
+        public int getOwnedRuns() {
+            return this.ownedRuns;
+        }
+
+        /**
+         * @return amount of times an entity task looked at an entity in another region
+         */
+        public int getForeignChecks() {
+            return this.foreignChecks;
+        }
+
+        /**
+         * @return amount of those times where the entity in the other region was correctly not owned
+         */
+        public int getForeignRejected() {
+            return this.foreignRejected;
+        }
+
+        /**
+         * @return amount of times the global task ran
+         */
+        public int getGlobalRuns() {
+            return this.globalRuns;
+        }
+
+        /**
+         * @return amount of global task runs that correctly owned no entity
+         */
+        public int getGlobalRejected() {
+            return this.globalRejected;
+        }
+
+        /**
+         * @return amount of tasks left in the local backend once the check ended
+         */
+        public int getPending() {
+            return this.pending;
+        }
+
+        /**
+         * @return if every check held
+         */
+        public boolean isPassed() {
+            return this.ownedRuns == this.entityRuns && this.foreignRejected == this.foreignChecks && this.globalRejected == this.globalRuns;
+        }
+    }
+}
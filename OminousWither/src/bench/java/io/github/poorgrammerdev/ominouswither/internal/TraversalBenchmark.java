@@ -0,0 +1,219 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.bukkit.FluidCollisionMode;
+import org.bukkit.Location;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.util.BlockIterator;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * <p>Microbenchmark comparing the voxel walker behind {@link Utils}' line of sight and ground checks
+ * against the BlockIterator and rayTraceBlocks implementations they replaced</p>
+ * <p>Runs on the main thread against the real blocks around a location, so the results reflect the terrain there</p>
+ * @author Thomas Tran
+ */
+public final class TraversalBenchmark {
+    /**
+     * Max horizontal and vertical distance of the sampled points from the center
+     */
+    private static final double SAMPLE_RADIUS = 32.0D;
+
+    /**
+     * Seed used to pick the sampled points, so runs at the same location are comparable
+     */
+    private static final long SEED = 0x4F4D494EL;
+
+    private TraversalBenchmark() {}
+
+    /**
+     * Times each check with the old and new implementation over the same set of points
+     * @param center location to sample points around
+     * @param samples amount of checks to time per implementation
+     * @return one result per check, or an empty list if the location has no world
+     */
+    public static List<Result> run(final Location center, final int samples) {
+        final ArrayList<Result> results = new ArrayList<>();
+        final World world = center.getWorld();
+        if (world == null) return results;
+
+        //Pick every point up front so only the checks themselves are timed
+        final Random random = new Random(SEED);
+        final Location[] origins = new Location[samples];
+        final Location[] targets = new Location[samples];
+        for (int i = 0; i < samples; ++i) {
+            origins[i] = randomPoint(random, world, center);
+            targets[i] = randomPoint(random, world, center);
+        }
+
+        //Run everything once first so the JIT and chunk loading don't count against whichever runs first
+        final int warmup = Math.min(samples, 1000);
+        final boolean[] oldAnswers = new boolean[samples];
+        final boolean[] newAnswers = new boolean[samples];
+
+        results.add(time("line of sight", "rayTraceBlocks", samples, warmup, oldAnswers, newAnswers,
+            (i) -> legacyHasLineOfSight(origins[i], targets[i]),
+            (i) -> Utils.hasLineOfSight(origins[i], targets[i])
+        ));
+        results.add(time("breakable line of sight", "BlockIterator", samples, warmup, oldAnswers, newAnswers,
+            (i) -> legacyHasBreakableLineOfSight(origins[i], targets[i]),
+            (i) -> Utils.hasBreakableLineOfSight(origins[i], targets[i])
+        ));
+        results.add(time("ground check", "rayTraceBlocks", samples, warmup, oldAnswers, newAnswers,
+            (i) -> legacyIsOnGround(origins[i], 3.5D),
+            (i) -> Utils.isOnGround(origins[i], 3.5D)
+        ));
+        return results;
+    }
+
+    private static Result time(final String check, final String oldName, final int samples, final int warmup, final boolean[] oldAnswers, final boolean[] newAnswers, final Check oldCheck, final Check newCheck) {
+        for (int i = 0; i < warmup; ++i) {
+            oldCheck.test(i);
+            newCheck.test(i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < samples; ++i) {
+            oldAnswers[i] = oldCheck.test(i);
+        }
+        final long oldNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < samples; ++i) {
+            newAnswers[i] = newCheck.test(i);
+        }
+        final long newNanos = System.nanoTime() - start;
+
+        int agreements = 0;
+        for (int i = 0; i < samples; ++i) {
+            if (oldAnswers[i] == newAnswers[i]) ++agreements;
+        }
+
+        return new Result(check, oldName, oldNanos / (double) samples, newNanos / (double) samples, agreements / (double) samples);
+    }
+
+    private static Location randomPoint(final Random random, final World world, final Location center) {
+        final double y = Utils.clamp(center.getY() + (random.nextDouble() * 2.0D - 1.0D) * SAMPLE_RADIUS, world.getMinHeight(), world.getMaxHeight() - 1);
+        return new Location(
+            world,
+            center.getX() + (random.nextDouble() * 2.0D - 1.0D) * SAMPLE_RADIUS,
+            y,
+            center.getZ() + (random.nextDouble() * 2.0D - 1.0D) * SAMPLE_RADIUS
+        );
+    }
+
+    /**
+     * Previous implementation of {@link Utils#hasLineOfSight(Location, Location)}
+     */
+    private static boolean legacyHasLineOfSight(final Location origin, final Location target) {
+        final World world = origin.getWorld();
+        final double distance = origin.distance(target);
+        if (distance <= 0.0D) return true;
+
+        final Vector direction = target.clone().subtract(origin).toVector();
+        final RayTraceResult result = world.rayTraceBlocks(origin, direction, distance, FluidCollisionMode.NEVER, true);
+        if (result == null) return true;
+
+        final Block block = result.getHitBlock();
+        return (block == null || block.isPassable());
+    }
+
+    /**
+     * Previous implementation of {@link Utils#hasBreakableLineOfSight(Location, Location)}
+     */
+    private static boolean legacyHasBreakableLineOfSight(Location origin, final Location target) {
+        origin = origin.clone();
+        final Vector direction = target.clone().subtract(origin).toVector();
+        origin.setDirection(direction);
+
+        final int distance = (int) origin.distance(target);
+        if (distance <= 0) return true;
+        if (distance >= 128) return false;
+
+        final BlockIterator blockIterator = new BlockIterator(origin, 0.0D, distance);
+        while (blockIterator.hasNext()) {
+            final Block block = blockIterator.next();
+            if (block == null) return true;
+            if (Tag.WITHER_IMMUNE.isTagged(block.getType())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Previous implementation of {@link Utils#isOnGround(Location, double)}
+     */
+    private static boolean legacyIsOnGround(final Location location, final double range) {
+        final RayTraceResult result = location.getWorld().rayTraceBlocks(location, new Vector(0, -1, 0), range, FluidCollisionMode.NEVER, true);
+        if (result == null) return false;
+
+        final Block block = result.getHitBlock();
+        return (block != null && !block.isPassable());
+    }
+
+    @FunctionalInterface
+    private interface Check {
+        boolean test(int index);
+    }
+
+    /**
+     * Timing of one check with both implementations
+     */
+    public static class Result {
+        private final String check;
+        private final String oldName;
+        private final double oldNanosPerCheck;
+        private final double newNanosPerCheck;
+        private final double agreement;
+
+        private Result(final String check, final String oldName, final double oldNanosPerCheck, final double newNanosPerCheck, final double agreement) {
+            this.check = check;
+            this.oldName = oldName;
+            this.oldNanosPerCheck = oldNanosPerCheck;
+            this.newNanosPerCheck = newNanosPerCheck;
+            this.agreement = agreement;
+        }
+
+        /**
+         * @return name of the check that was timed
+         */
+        public String getCheck() {
+            return this.check;
+        }
+
+        /**
+         * @return name of the implementation that was replaced
+         */
+        public String getOldName() {
+            return this.oldName;
+        }
+
+        /**
+         * @return average nanoseconds per check with the old implementation
+         */
+        public double getOldNanosPerCheck() {
+            return this.oldNanosPerCheck;
+        }
+
+        /**
+         * @return average nanoseconds per check with the voxel walker
+         */
+        public double getNewNanosPerCheck() {
+            return this.newNanosPerCheck;
+        }
+
+        /**
+         * @return fraction of checks, in [0, 1], where both implementations gave the same answer
+         */
+        public double getAgreement() {
+            return this.agreement;
+        }
+    }
+}
@@ -31,10 +31,22 @@ import io.github.poorgrammerdev.ominouswither.mechanics.customskulls.ApocalypseS
 import io.github.poorgrammerdev.ominouswither.mechanics.customskulls.ExplosiveSkull;
 import io.github.poorgrammerdev.ominouswither.mechanics.customskulls.GravitySkull;
 import io.github.poorgrammerdev.ominouswither.commands.CooldownCommand;
+import io.github.poorgrammerdev.ominouswither.commands.OminousWitherCommand;
 import io.github.poorgrammerdev.ominouswither.commands.SummonCommand;
+import io.github.poorgrammerdev.ominouswither.coroutines.HomingProjectileBatch;
+import io.github.poorgrammerdev.ominouswither.coroutines.ParticleEmitters;
 import io.github.poorgrammerdev.ominouswither.internal.CoroutineManager;
-import io.github.poorgrammerdev.ominouswither.internal.WitherPDCTagger;
+import io.github.poorgrammerdev.ominouswither.internal.EntityBudgetGovernor;
+import io.github.poorgrammerdev.ominouswither.internal.LineOfSightCache;
+import io.github.poorgrammerdev.ominouswither.internal.ProjectileLifecycleManager;
+import io.github.poorgrammerdev.ominouswither.internal.TargetGrid;
+import io.github.poorgrammerdev.ominouswither.internal.TargetMotionTracker;
+import io.github.poorgrammerdev.ominouswither.internal.WitherRegistry;
+import io.github.poorgrammerdev.ominouswither.internal.WitherState;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStatsManager;
+import io.github.poorgrammerdev.scheduling.BukkitSchedulerBackend;
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+import io.github.poorgrammerdev.scheduling.RegionSchedulerBackend;
 
 public final class OminousWither extends JavaPlugin {
     private final NamespacedKey ominousWitherKey = new NamespacedKey(this, "is_ominous");
@@ -47,18 +59,42 @@ public final class OminousWither extends JavaPlugin {
 
     private final CoroutineManager coroutineManager;
     private final BossStatsManager bossStatsManager;
+    private final ParticleEmitters particleEmitters;
+    private final HomingProjectileBatch homingProjectiles;
+    private final ProjectileLifecycleManager projectileLifecycleManager;
+    private final EntityBudgetGovernor entityBudget;
+    private final TargetMotionTracker targetMotionTracker;
+    private final WitherRegistry witherRegistry;
+    private final TargetGrid targetGrid;
+    private final LineOfSightCache lineOfSightCache;
+    private ISchedulerBackend schedulerBackend;
 
     public OminousWither() {
         this.coroutineManager = new CoroutineManager();
         this.bossStatsManager = new BossStatsManager(this);
+        this.particleEmitters = new ParticleEmitters(this.coroutineManager);
+        this.homingProjectiles = new HomingProjectileBatch(this.coroutineManager);
+        this.projectileLifecycleManager = new ProjectileLifecycleManager(this.coroutineManager);
+        this.entityBudget = new EntityBudgetGovernor(this);
+        this.targetMotionTracker = new TargetMotionTracker(this);
+        this.witherRegistry = new WitherRegistry(this);
+        this.targetGrid = new TargetGrid(this);
+        this.lineOfSightCache = new LineOfSightCache(this.coroutineManager);
     }
 
     @Override
     public void onEnable() {
         //Config
         this.saveDefaultConfig();
+        this.schedulerBackend = this.createSchedulerBackend();
         this.coroutineManager.load(this);
         this.bossStatsManager.load();
+        this.witherRegistry.load();
+        this.targetGrid.load();
+        this.projectileLifecycleManager.load();
+        this.entityBudget.load();
+        this.targetMotionTracker.load();
+        this.lineOfSightCache.load();
 
         //Construct required objects
         //These objects have some sort of dependency aside from just registering, so must be made first and tracked
@@ -79,7 +115,10 @@ public final class OminousWither extends JavaPlugin {
             new ActivationDetector(this),
             new PhaseChangeDetector(this),
             loadDetector,
-            new WitherPDCTagger(this),
+            this.witherRegistry,
+            this.targetGrid,
+            this.entityBudget,
+            this.lineOfSightCache,
             new PreventFriendlyFire(this),
             new PreventExploits(this),
             new ExplosionResistance(this),
@@ -95,7 +134,8 @@ public final class OminousWither extends JavaPlugin {
             new Echoes(this),
             new Loot(this),
             new ShootingStars(this),
-            spawnCooldownManager
+            spawnCooldownManager,
+            this.coroutineManager
         );
 
         //Register commands
@@ -107,8 +147,12 @@ public final class OminousWither extends JavaPlugin {
         this.getCommand("cooldown").setExecutor(cooldownCommand);
         this.getCommand("cooldown").setTabCompleter(cooldownCommand);
 
+        final OminousWitherCommand ominousWitherCommand = new OminousWitherCommand(this);
+        this.getCommand("ominouswither").setExecutor(ominousWitherCommand);
+        this.getCommand("ominouswither").setTabCompleter(ominousWitherCommand);
+
         //Begin Coroutine Manager
-        this.coroutineManager.runTaskTimer(this, 0L, 1L);
+        this.schedulerBackend.runTimer(this.coroutineManager, 0L, 1L);
 
         //Call load event for all existing loaded OminousWithers
         loadDetector.onPluginEnable();
@@ -117,6 +161,12 @@ public final class OminousWither extends JavaPlugin {
         apocalypseHorsemen.onPluginEnable();
     }
 
+    @Override
+    public void onDisable() {
+        //Stop async task threads
+        this.coroutineManager.shutdown();
+    }
+
     /**
      * Gets the shared coroutine manager instance
      */
@@ -124,6 +174,69 @@ public final class OminousWither extends JavaPlugin {
        return this.coroutineManager; 
     }
 
+    /**
+     * Gets the shared per-world batches that display all persistent particle effects
+     */
+    public ParticleEmitters getParticleEmitters() {
+        return this.particleEmitters;
+    }
+
+    /**
+     * Gets the shared batch that steers all homing projectiles
+     */
+    public HomingProjectileBatch getHomingProjectiles() {
+        return this.homingProjectiles;
+    }
+
+    /**
+     * Gets the shared manager that removes custom projectiles once their lifespan is over
+     */
+    public ProjectileLifecycleManager getProjectileLifecycleManager() {
+        return this.projectileLifecycleManager;
+    }
+
+    /**
+     * Gets the shared governor that bounds the amount of live custom entities
+     */
+    public EntityBudgetGovernor getEntityBudget() {
+        return this.entityBudget;
+    }
+
+    /**
+     * Gets the shared tracker of recent movement of every Ominous Wither target
+     */
+    public TargetMotionTracker getTargetMotionTracker() {
+        return this.targetMotionTracker;
+    }
+
+    /**
+     * Gets the shared cache of line of sight results
+     */
+    public LineOfSightCache getLineOfSightCache() {
+        return this.lineOfSightCache;
+    }
+
+    /**
+     * Gets the scheduler backend that all of the plugin's server tasks go through
+     */
+    public ISchedulerBackend getSchedulerBackend() {
+        return this.schedulerBackend;
+    }
+
+    /**
+     * Gets the registry of all live Ominous Withers
+     */
+    public WitherRegistry getWitherRegistry() {
+        return this.witherRegistry;
+    }
+
+    /**
+     * Gets the shared spatial index of entities that Withers can target
+     */
+    public TargetGrid getTargetGrid() {
+        return this.targetGrid;
+    }
+
     /**
      * Gets the shared boss stats manager instance
      */
@@ -135,7 +248,25 @@ public final class OminousWither extends JavaPlugin {
      * Checks if a Wither is Ominous or not
      */
     public boolean isOminous(final Wither wither) {
-        return wither.getPersistentDataContainer().getOrDefault(this.ominousWitherKey, PersistentDataType.BOOLEAN, false);
+        return this.witherRegistry.get(wither) != null;
+    }
+
+    /**
+     * Checks if an Ominous Wither has entered the Second Phase
+     * @return false if in the first phase or if the Wither is not Ominous
+     */
+    public boolean isInSecondPhase(final Wither wither) {
+        final WitherState state = this.witherRegistry.get(wither);
+        return (state != null && state.isInSecondPhase());
+    }
+
+    /**
+     * Checks if an Ominous Wither has exploded and is no longer stationary and invulnerable
+     * @return false if still spawning in or if the Wither is not Ominous
+     */
+    public boolean isFullySpawned(final Wither wither) {
+        final WitherState state = this.witherRegistry.get(wither);
+        return (state != null && state.isFullySpawned());
     }
 
     /**
@@ -152,7 +283,8 @@ public final class OminousWither extends JavaPlugin {
      * @return Ominous Wither level or defaultValue if missing
      */
     public int getLevel(final Wither wither, final int defaultValue) {
-        return wither.getPersistentDataContainer().getOrDefault(this.levelKey, PersistentDataType.INTEGER, defaultValue);
+        final WitherState state = this.witherRegistry.get(wither);
+        return ((state != null) ? state.getLevel() : defaultValue);
     }
 
     /**
@@ -214,4 +346,27 @@ public final class OminousWither extends JavaPlugin {
             this.getServer().getPluginManager().registerEvents(listener, this);
         }
     }
+
+    /**
+     * Picks the scheduler backend based on the config
+     */
+    private ISchedulerBackend createSchedulerBackend() {
+        final String setting = this.getConfig().getString("scheduler_backend", "auto").toLowerCase();
+
+        //The coroutine loop still touches every Wither and projectile from one task, which is not region-safe,
+        //so "auto" stays on the Bukkit scheduler and the region scheduler is only used when asked for explicitly
+        if (setting.equals("region")) {
+            try {
+                return new RegionSchedulerBackend(this);
+            }
+            catch (IllegalStateException exception) {
+                this.getLogger().warning("Region scheduler could not be used, falling back to the Bukkit scheduler: " + exception.getMessage());
+            }
+        }
+        else if (!setting.equals("bukkit") && !setting.equals("auto")) {
+            this.getLogger().warning("Unknown scheduler_backend \"" + setting + "\", using the Bukkit scheduler");
+        }
+
+        return new BukkitSchedulerBackend(this);
+    }
 }
@@ -0,0 +1,364 @@
+package io.github.poorgrammerdev.ominouswither.commands;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.configuration.InvalidConfigurationException;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.AdaptiveBudgetController;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutineManager;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutineProfiler;
+import io.github.poorgrammerdev.ominouswither.internal.EntityBudgetGovernor;
+import io.github.poorgrammerdev.ominouswither.internal.LineOfSightCache;
+import io.github.poorgrammerdev.ominouswither.internal.SchedulerPartition;
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * Administrative command for inspecting the plugin's internal systems
+ * @author Thomas Tran
+ */
+public class OminousWitherCommand implements CommandExecutor, TabCompleter {
+    /**
+     * Max amount of profiler entries to show in chat; the full list is available through a dump
+     */
+    private static final int MAX_PROFILE_LINES = 10;
+
+    /**
+     * Max amount of scheduler partitions to show in chat
+     */
+    private static final int MAX_PARTITION_LINES = 10;
+
+    /**
+     * Handles the bench subcommand; only compiled into builds made with the bench profile, so it is looked up by name
+     * Its usage and permission are left out of plugin.yml for the same reason; undeclared permissions default to operators only
+     */
+    private static final String BENCH_SUBCOMMAND_CLASS = "io.github.poorgrammerdev.ominouswither.commands.BenchSubcommand";
+
+    private final OminousWither plugin;
+    private final CommandExecutor benchSubcommand;
+
+    //Messages
+    private final String missingSubcommand;
+    private final String invalidSubcommand;
+    private final String insufficientPermissionsSubcommand;
+    private final String schedulerStatus;
+    private final String schedulerPartition;
+    private final String entityBudgetStatus;
+    private final String lineOfSightCacheStatus;
+    private final String profileEmpty;
+    private final String profileHeader;
+    private final String profileEntry;
+    private final String profileTruncated;
+    private final String profileReset;
+    private final String profileDump;
+    private final String profileDumpFailed;
+    private final String statsReload;
+    private final String statsReloadFailed;
+    private final String benchUnavailable;
+
+    public OminousWitherCommand(OminousWither plugin) {
+        this.plugin = plugin;
+        this.benchSubcommand = loadBenchSubcommand(plugin);
+
+        this.missingSubcommand = plugin.getConfig().getString("messages.missing_subcommand", "");
+        this.invalidSubcommand = plugin.getConfig().getString("messages.invalid_subcommand", "");
+        this.insufficientPermissionsSubcommand = plugin.getConfig().getString("messages.insufficient_permissions_subcommand", "");
+        this.schedulerStatus = plugin.getConfig().getString("messages.scheduler_status", "");
+        this.schedulerPartition = plugin.getConfig().getString("messages.scheduler_partition", "");
+        this.entityBudgetStatus = plugin.getConfig().getString("messages.entity_budget_status", "");
+        this.lineOfSightCacheStatus = plugin.getConfig().getString("messages.line_of_sight_cache_status", "");
+        this.profileEmpty = plugin.getConfig().getString("messages.profile_empty", "");
+        this.profileHeader = plugin.getConfig().getString("messages.profile_header", "");
+        this.profileEntry = plugin.getConfig().getString("messages.profile_entry", "");
+        this.profileTruncated = plugin.getConfig().getString("messages.profile_truncated", "");
+        this.profileReset = plugin.getConfig().getString("messages.profile_reset", "");
+        this.profileDump = plugin.getConfig().getString("messages.profile_dump", "");
+        this.profileDumpFailed = plugin.getConfig().getString("messages.profile_dump_failed", "");
+        this.statsReload = plugin.getConfig().getString("messages.stats_reload", "");
+        this.statsReloadFailed = plugin.getConfig().getString("messages.stats_reload_failed", "");
+        this.benchUnavailable = plugin.getConfig().getString("messages.bench_unavailable", "");
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // /ominouswither status               | ominouswither.status
+        // /ominouswither profile              | ominouswither.profile
+        // /ominouswither profile reset        | ominouswither.profile
+        // /ominouswither profile dump         | ominouswither.profile
+        // /ominouswither reload               | ominouswither.reload
+        // /ominouswither bench [samples]      | ominouswither.bench (bench builds only)
+        // /ominouswither bench regions [ticks] | ominouswither.bench (bench builds only)
+
+        if (!command.getName().equalsIgnoreCase("ominouswither")) return false;
+
+        if (args.length < 1) {
+            sender.sendMessage(Utils.formatMessage(this.missingSubcommand));
+            return false;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "status":
+                return this.subcommandStatus(sender, command, label, args);
+
+            case "profile":
+                return this.subcommandProfile(sender, command, label, args);
+
+            case "reload":
+                return this.subcommandReload(sender, command, label, args);
+
+            case "bench":
+                return this.subcommandBench(sender, command, label, args);
+
+            default:
+                sender.sendMessage(Utils.formatMessage(this.invalidSubcommand));
+                return false;
+        }
+    }
+
+    private boolean subcommandStatus(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("ominouswither.status")) {
+            sender.sendMessage(Utils.formatMessage(this.insufficientPermissionsSubcommand));
+            return true;
+        }
+
+        final CoroutineManager coroutineManager = this.plugin.getCoroutineManager();
+        final AdaptiveBudgetController budgetController = coroutineManager.getBudgetController();
+
+        sender.sendMessage(Utils.formatMessage(
+            this.schedulerStatus,
+            budgetController.getBudgetNanos() / 1E6,
+            budgetController.getFloorNanos() / 1E6,
+            budgetController.getCeilingNanos() / 1E6,
+            budgetController.isEnabled() ? "adaptive" : "fixed",
+            budgetController.getSmoothedTickNanos() / 1E6,
+            coroutineManager.getBacklog(),
+            coroutineManager.getQueuedCount(),
+            coroutineManager.getStrictCount(),
+            coroutineManager.getLastStrictNanos() / 1E6
+        ));
+
+        //Per-partition breakdown, busiest first; empty partitions (i.e. the global one when idle) are skipped
+        final List<SchedulerPartition> partitions = new ArrayList<>(coroutineManager.getPartitions());
+        partitions.removeIf((partition) -> partition.getQueuedCount() <= 0);
+        partitions.sort((a, b) -> Integer.compare(b.getQueuedCount(), a.getQueuedCount()));
+
+        for (int i = 0; i < partitions.size() && i < MAX_PARTITION_LINES; ++i) {
+            final SchedulerPartition partition = partitions.get(i);
+            sender.sendMessage(Utils.formatMessage(
+                this.schedulerPartition,
+                partition.getKey(),
+                partition.getQueuedCount(),
+                partition.getBacklog(),
+                partition.getLastTickNanos() / 1E6
+            ));
+        }
+
+        //Custom entity counts, along with the busiest world and region
+        final EntityBudgetGovernor entityBudget = this.plugin.getEntityBudget();
+        final Map.Entry<String, Integer> busiestWorld = entityBudget.getWorldCounts().entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        final Map.Entry<String, Integer> busiestRegion = entityBudget.getRegionCounts().entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        sender.sendMessage(Utils.formatMessage(
+            this.entityBudgetStatus,
+            entityBudget.getTrackedCount(),
+            entityBudget.isEnabled() ? "enforced" : "not enforced",
+            (busiestWorld != null) ? busiestWorld.getKey() : "-",
+            (busiestWorld != null) ? busiestWorld.getValue() : 0,
+            (busiestRegion != null) ? busiestRegion.getKey() : "-",
+            (busiestRegion != null) ? busiestRegion.getValue() : 0,
+            entityBudget.getDeferredCount(),
+            entityBudget.getDroppedCount()
+        ));
+
+        //Line of sight cache effectiveness since the server started
+        final LineOfSightCache lineOfSightCache = this.plugin.getLineOfSightCache();
+        final long hits = lineOfSightCache.getHits();
+        final long misses = lineOfSightCache.getMisses();
+        sender.sendMessage(Utils.formatMessage(
+            this.lineOfSightCacheStatus,
+            lineOfSightCache.size(),
+            (hits + misses > 0L) ? (hits * 100.0D / (hits + misses)) : 0.0D,
+            hits,
+            misses
+        ));
+        return true;
+    }
+
+    private boolean subcommandProfile(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("ominouswither.profile")) {
+            sender.sendMessage(Utils.formatMessage(this.insufficientPermissionsSubcommand));
+            return true;
+        }
+
+        final CoroutineProfiler profiler = this.plugin.getCoroutineManager().getProfiler();
+
+        //View subcommand
+        if (args.length < 2) {
+            final List<CoroutineProfiler.Entry> entries = profiler.getSortedEntries();
+            if (entries.isEmpty()) {
+                sender.sendMessage(Utils.formatMessage(this.profileEmpty));
+                return true;
+            }
+
+            final long ticks = Math.max(profiler.getTicks(), 1L);
+            sender.sendMessage(Utils.formatMessage(
+                this.profileHeader,
+                profiler.getTicks(),
+                Duration.between(profiler.getResetTime(), Instant.now()).toSeconds()
+            ));
+
+            for (int i = 0; i < entries.size() && i < MAX_PROFILE_LINES; ++i) {
+                final CoroutineProfiler.Entry entry = entries.get(i);
+                sender.sendMessage(Utils.formatMessage(
+                    this.profileEntry,
+                    entry.getCoroutineName(),
+                    entry.getOwnerName(),
+                    (entry.getTotalNanos() / (double) ticks) / 1E6,
+                    entry.getInvocations(),
+                    entry.getPercentileNanos(0.50D) / 1E3,
+                    entry.getPercentileNanos(0.99D) / 1E3,
+                    entry.getMaxNanos() / 1E3
+                ));
+            }
+
+            if (entries.size() > MAX_PROFILE_LINES) {
+                sender.sendMessage(Utils.formatMessage(this.profileTruncated, entries.size() - MAX_PROFILE_LINES));
+            }
+            return true;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "reset":
+                profiler.reset();
+                sender.sendMessage(Utils.formatMessage(this.profileReset));
+                return true;
+
+            case "dump":
+                final String fileName = "coroutines-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv";
+                final File file = new File(new File(this.plugin.getDataFolder(), "profiles"), fileName);
+                try {
+                    profiler.dump(file);
+                }
+                catch (IOException e) {
+                    this.plugin.getLogger().warning("Failed to write coroutine profile to " + file.getPath() + ": " + e.getMessage());
+                    sender.sendMessage(Utils.formatMessage(this.profileDumpFailed));
+                    return true;
+                }
+
+                sender.sendMessage(Utils.formatMessage(this.profileDump, file.getPath()));
+                return true;
+
+            default:
+                sender.sendMessage(Utils.formatMessage(this.invalidSubcommand));
+                return false;
+        }
+    }
+
+    private boolean subcommandReload(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("ominouswither.reload")) {
+            sender.sendMessage(Utils.formatMessage(this.insufficientPermissionsSubcommand));
+            return true;
+        }
+
+        //Only the boss stats are rebuilt; other settings are still read once on startup
+        try {
+            this.plugin.getBossStatsManager().reload();
+        }
+        catch (IOException | InvalidConfigurationException | RuntimeException e) {
+            //Unreadable files, invalid YAML, missing or malformed entries, as well as formulas that Crunch fails to compile
+            this.plugin.getLogger().warning("Failed to reload boss stats: " + e.getMessage());
+            sender.sendMessage(Utils.formatMessage(this.statsReloadFailed, e.getMessage()));
+            return true;
+        }
+
+        sender.sendMessage(Utils.formatMessage(this.statsReload));
+        return true;
+    }
+
+    private boolean subcommandBench(CommandSender sender, Command command, String label, String[] args) {
+        if (!sender.hasPermission("ominouswither.bench")) {
+            sender.sendMessage(Utils.formatMessage(this.insufficientPermissionsSubcommand));
+            return true;
+        }
+
+        if (this.benchSubcommand == null) {
+            sender.sendMessage(Utils.formatMessage(this.benchUnavailable));
+            return true;
+        }
+
+        return this.benchSubcommand.onCommand(sender, command, label, args);
+    }
+
+    /**
+     * Sets up the bench subcommand if this build includes it
+     * @return the subcommand, or null if this build was made without the bench profile
+     */
+    private static CommandExecutor loadBenchSubcommand(OminousWither plugin) {
+        try {
+            return Class.forName(BENCH_SUBCOMMAND_CLASS).asSubclass(CommandExecutor.class).getConstructor(OminousWither.class).newInstance(plugin);
+        }
+        catch (ClassNotFoundException exception) {
+            return null;
+        }
+        catch (ReflectiveOperationException | ClassCastException exception) {
+            plugin.getLogger().warning("Could not set up the bench subcommand: " + exception);
+            return null;
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        // /ominouswither status               | ominouswither.status
+        // /ominouswither profile              | ominouswither.profile
+        // /ominouswither profile reset        | ominouswither.profile
+        // /ominouswither profile dump         | ominouswither.profile
+        // /ominouswither reload               | ominouswither.reload
+        // /ominouswither bench [samples]      | ominouswither.bench (bench builds only)
+        // /ominouswither bench regions [ticks] | ominouswither.bench (bench builds only)
+
+        final ArrayList<String> retUnfiltered = new ArrayList<>();
+
+        switch (args.length) {
+            case 1:
+                if (sender.hasPermission("ominouswither.status")) {
+                    retUnfiltered.add("status");
+                }
+                if (sender.hasPermission("ominouswither.profile")) {
+                    retUnfiltered.add("profile");
+                }
+                if (sender.hasPermission("ominouswither.reload")) {
+                    retUnfiltered.add("reload");
+                }
+                if (this.benchSubcommand != null && sender.hasPermission("ominouswither.bench")) {
+                    retUnfiltered.add("bench");
+                }
+                break;
+            case 2:
+                if (args[0].equalsIgnoreCase("profile") && sender.hasPermission("ominouswither.profile")) {
+                    retUnfiltered.add("reset");
+                    retUnfiltered.add("dump");
+                }
+                break;
+            default:
+                break;
+        }
+
+        return retUnfiltered
+            .stream()
+            .filter(val -> (val.toLowerCase().startsWith(args[args.length - 1].toLowerCase())))
+            .toList()
+        ;
+    }
+
+}
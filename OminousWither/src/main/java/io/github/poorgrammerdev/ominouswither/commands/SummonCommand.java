@@ -95,8 +95,9 @@ public class SummonCommand implements CommandExecutor, TabCompleter {
         }
 
         //Validate level
-        if (level <= 0 || level >= 6) {
-            sender.sendMessage(Utils.formatMessage(this.invalidLevelValue));
+        final int maxLevel = this.plugin.getBossStatsManager().getMaxLevel();
+        if (level <= 0 || level > maxLevel) {
+            sender.sendMessage(Utils.formatMessage(this.invalidLevelValue, maxLevel));
             return false;
         }
 
@@ -168,7 +169,8 @@ public class SummonCommand implements CommandExecutor, TabCompleter {
 
         //Level
         if (args.length == 4) {
-            for (int level = 1; level <= 5; ++level) {
+            final int maxLevel = this.plugin.getBossStatsManager().getMaxLevel();
+            for (int level = 1; level <= maxLevel; ++level) {
                 final String levelStr = Integer.toString(level);
                 if (levelStr.startsWith(args[3])) {
                     ret.add(levelStr);
@@ -0,0 +1,305 @@
+package io.github.poorgrammerdev.ominouswither.coroutines;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.TileState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Waterlogged;
+import org.bukkit.inventory.ItemStack;
+
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
+import io.github.poorgrammerdev.ominouswither.internal.LineOfSightCache;
+
+/**
+ * <p>Breaks every breakable block in a box over multiple ticks using the Coroutine system, instead of all in the same tick</p>
+ * <p>The box is planned once when the pipeline is made: blocks are read by material only and queued grouped by chunk section,
+ * so consecutive breaks touch the same section. At most a set amount of blocks are broken per tick.</p>
+ * <p>To save on neighbour updates, only blocks on the edge of the box or next to a block that isn't broken (e.g. a liquid or a Wither immune block)
+ * apply physics; the rest are cleared without it. This is an approximation: a block that is only next to interior blocks once the box is planned
+ * (e.g. a gravity block or an attachable block that appears there later) isn't updated until something else updates it.
+ * Blocks that do apply physics can change their neighbours, including ones just outside the box, so the line of sight cache is also told about
+ * the neighbouring chunk section whenever such a block is on a section's edge. Changes that spread further without an event (e.g. flowing water)
+ * are only picked up once the cached results expire.</p>
+ * <p>Most blocks are cleared and have their drops spawned directly. Blocks whose breaking does more than drop items are broken naturally instead:
+ * blocks with a block entity spill their contents, ores and sculk drop experience, and infested blocks release a silverfish.</p>
+ * @author Thomas Tran
+ */
+public class BlockBreakPipeline implements ICoroutine {
+    /**
+     * Blocks without a block entity that still do something once broken (dropping experience or spawning a silverfish)
+     */
+    private static final EnumSet<Material> AFTER_BREAK_EFFECTS = EnumSet.of(
+        Material.NETHER_QUARTZ_ORE,
+        Material.NETHER_GOLD_ORE,
+        Material.SCULK,
+        Material.INFESTED_STONE,
+        Material.INFESTED_COBBLESTONE,
+        Material.INFESTED_STONE_BRICKS,
+        Material.INFESTED_MOSSY_STONE_BRICKS,
+        Material.INFESTED_CRACKED_STONE_BRICKS,
+        Material.INFESTED_CHISELED_STONE_BRICKS,
+        Material.INFESTED_DEEPSLATE
+    );
+    static {
+        AFTER_BREAK_EFFECTS.addAll(Tag.COAL_ORES.getValues());
+        AFTER_BREAK_EFFECTS.addAll(Tag.DIAMOND_ORES.getValues());
+        AFTER_BREAK_EFFECTS.addAll(Tag.EMERALD_ORES.getValues());
+        AFTER_BREAK_EFFECTS.addAll(Tag.LAPIS_ORES.getValues());
+        AFTER_BREAK_EFFECTS.addAll(Tag.REDSTONE_ORES.getValues());
+    }
+
+    private final World world;
+    private final Predicate<Material> breakable;
+    private final LineOfSightCache lineOfSightCache;
+    private final int blocksPerTick;
+    private final Runnable onFirstBreak;
+
+    //Planned blocks, grouped by chunk section
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] zs;
+    private final boolean[] applyPhysics;
+    private final int size;
+
+    /**
+     * Index of the next block to break
+     */
+    private int next;
+    private int brokenCount;
+
+    /**
+     * Reused to drop items at the center of each broken block
+     */
+    private final Location dropLocation;
+
+    /**
+     * If each material seen so far has a block entity; having one depends only on the material,
+     * so a block's state only has to be read the first time its material is reached
+     */
+    private final EnumMap<Material, Boolean> hasBlockEntity;
+
+    /**
+     * Plans the blocks to break
+     * @param center center of the box
+     * @param rangeH horizontal distance from the center to break in each direction
+     * @param rangeV vertical distance from the center to break in each direction
+     * @param breakable which blocks may be broken; checked again when a block is reached since the world may have changed
+     * @param blocksPerTick max blocks broken per tick
+     * @param lineOfSightCache cache to notify of broken blocks, since blocks are broken without events
+     * @param onFirstBreak called once, the first tick any block is broken, or null
+     */
+    public BlockBreakPipeline(final Location center, final int rangeH, final int rangeV, final Predicate<Material> breakable, final int blocksPerTick, final LineOfSightCache lineOfSightCache, final Runnable onFirstBreak) {
+        this.world = center.getWorld();
+        this.breakable = breakable;
+        this.lineOfSightCache = lineOfSightCache;
+        this.blocksPerTick = Math.max(blocksPerTick, 1);
+        this.onFirstBreak = onFirstBreak;
+        this.dropLocation = new Location(this.world, 0, 0, 0);
+        this.hasBlockEntity = new EnumMap<>(Material.class);
+        this.next = 0;
+        this.brokenCount = 0;
+
+        final int minX = center.getBlockX() - rangeH;
+        final int minY = Math.max(center.getBlockY() - rangeV, this.world.getMinHeight());
+        final int minZ = center.getBlockZ() - rangeH;
+        final int maxX = center.getBlockX() + rangeH;
+        final int maxY = Math.min(center.getBlockY() + rangeV, this.world.getMaxHeight() - 1);
+        final int maxZ = center.getBlockZ() + rangeH;
+
+        final int sizeX = Math.max(maxX - minX + 1, 0);
+        final int sizeY = Math.max(maxY - minY + 1, 0);
+        final int sizeZ = Math.max(maxZ - minZ + 1, 0);
+        final int volume = sizeX * sizeY * sizeZ;
+
+        //Read the whole box once to know which blocks will be broken and which will stay
+        final boolean[] willBreak = new boolean[volume];
+        final boolean[] willStay = new boolean[volume];
+        for (int x = 0; x < sizeX; ++x) {
+            for (int y = 0; y < sizeY; ++y) {
+                for (int z = 0; z < sizeZ; ++z) {
+                    final Material material = this.world.getType(minX + x, minY + y, minZ + z);
+                    final int index = (x * sizeY + y) * sizeZ + z;
+                    willBreak[index] = breakable.test(material);
+                    willStay[index] = !willBreak[index] && !material.isAir();
+                }
+            }
+        }
+
+        int count = 0;
+        for (final boolean value : willBreak) {
+            if (value) ++count;
+        }
+
+        this.xs = new int[count];
+        this.ys = new int[count];
+        this.zs = new int[count];
+        this.applyPhysics = new boolean[count];
+
+        //Queue blocks one chunk section at a time
+        int slot = 0;
+        for (int sectionX = minX >> 4; sectionX <= maxX >> 4; ++sectionX) {
+            for (int sectionZ = minZ >> 4; sectionZ <= maxZ >> 4; ++sectionZ) {
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; ++sectionY) {
+                    final int fromX = Math.max(sectionX << 4, minX) - minX;
+                    final int toX = Math.min((sectionX << 4) + 15, maxX) - minX;
+                    final int fromY = Math.max(sectionY << 4, minY) - minY;
+                    final int toY = Math.min((sectionY << 4) + 15, maxY) - minY;
+                    final int fromZ = Math.max(sectionZ << 4, minZ) - minZ;
+                    final int toZ = Math.min((sectionZ << 4) + 15, maxZ) - minZ;
+
+                    for (int x = fromX; x <= toX; ++x) {
+                        for (int y = fromY; y <= toY; ++y) {
+                            for (int z = fromZ; z <= toZ; ++z) {
+                                if (!willBreak[(x * sizeY + y) * sizeZ + z]) continue;
+
+                                this.xs[slot] = minX + x;
+                                this.ys[slot] = minY + y;
+                                this.zs[slot] = minZ + z;
+                                this.applyPhysics[slot] = (
+                                    x == 0 || y == 0 || z == 0 || x == sizeX - 1 || y == sizeY - 1 || z == sizeZ - 1 ||
+                                    willStay[((x - 1) * sizeY + y) * sizeZ + z] || willStay[((x + 1) * sizeY + y) * sizeZ + z] ||
+                                    willStay[(x * sizeY + (y - 1)) * sizeZ + z] || willStay[(x * sizeY + (y + 1)) * sizeZ + z] ||
+                                    willStay[(x * sizeY + y) * sizeZ + (z - 1)] || willStay[(x * sizeY + y) * sizeZ + (z + 1)]
+                                );
+                                ++slot;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        this.size = slot;
+    }
+
+    /**
+     * @return amount of blocks planned to be broken
+     */
+    public int getPlannedCount() {
+        return this.size;
+    }
+
+    /**
+     * @return if every planned block has been handled, or the pipeline was cancelled
+     */
+    public boolean isFinished() {
+        return this.next >= this.size;
+    }
+
+    @Override
+    public boolean tick() {
+        final int end = Math.min(this.next + this.blocksPerTick, this.size);
+        final int brokenBefore = this.brokenCount;
+
+        for (; this.next < end; ++this.next) {
+            //Notify the cache once per section, after the previous section's blocks are gone
+            if (this.next > 0 && !this.isSameSection(this.next - 1, this.next)) this.invalidateSection(this.next - 1);
+
+            this.breakBlock(this.next);
+        }
+
+        //Also notify the cache of the section this tick ended in, since it may be checked before next tick
+        if (end > 0) this.invalidateSection(end - 1);
+
+        if (brokenBefore == 0 && this.brokenCount > 0 && this.onFirstBreak != null) this.onFirstBreak.run();
+        return !this.isFinished();
+    }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return CoroutinePriority.COMBAT;
+    }
+
+    /**
+     * Blocks that weren't reached yet are left standing
+     */
+    @Override
+    public void onCancel() {
+        this.next = this.size;
+    }
+
+    private void breakBlock(final int slot) {
+        final Block block = this.world.getBlockAt(this.xs[slot], this.ys[slot], this.zs[slot]);
+
+        //The block may have changed since the box was planned
+        final Material type = block.getType();
+        if (!this.breakable.test(type)) return;
+
+        //Blocks with a block entity (e.g. chests, furnaces) must break naturally so their contents are spilled instead of deleted,
+        //and so must blocks that drop experience or release a silverfish
+        if (AFTER_BREAK_EFFECTS.contains(type) || this.hasBlockEntity(block, type)) {
+            block.breakNaturally();
+            this.invalidateNeighbourSections(slot);
+            ++this.brokenCount;
+            return;
+        }
+
+        this.dropLocation.setX(this.xs[slot] + 0.5D);
+        this.dropLocation.setY(this.ys[slot] + 0.5D);
+        this.dropLocation.setZ(this.zs[slot] + 0.5D);
+        for (final ItemStack drop : block.getDrops()) {
+            this.world.dropItemNaturally(this.dropLocation, drop);
+        }
+
+        //Same as breaking naturally, waterlogged blocks leave their water behind; it must be updated so it can flow
+        final BlockData data = block.getBlockData();
+        final boolean waterlogged = (data instanceof Waterlogged && ((Waterlogged) data).isWaterlogged());
+        final boolean physics = (this.applyPhysics[slot] || waterlogged);
+        block.setType(waterlogged ? Material.WATER : Material.AIR, physics);
+        if (physics) this.invalidateNeighbourSections(slot);
+        ++this.brokenCount;
+    }
+
+    /**
+     * Only takes a snapshot of the block's state the first time its material is reached
+     */
+    private boolean hasBlockEntity(final Block block, final Material type) {
+        Boolean result = this.hasBlockEntity.get(type);
+        if (result == null) {
+            result = (block.getState() instanceof TileState);
+            this.hasBlockEntity.put(type, result);
+        }
+        return result;
+    }
+
+    private boolean isSameSection(final int slot1, final int slot2) {
+        return (
+            (this.xs[slot1] >> 4) == (this.xs[slot2] >> 4) &&
+            (this.ys[slot1] >> 4) == (this.ys[slot2] >> 4) &&
+            (this.zs[slot1] >> 4) == (this.zs[slot2] >> 4)
+        );
+    }
+
+    private void invalidateSection(final int slot) {
+        if (this.lineOfSightCache != null) {
+            this.lineOfSightCache.invalidate(this.world, this.xs[slot] >> 4, this.ys[slot] >> 4, this.zs[slot] >> 4);
+        }
+    }
+
+    /**
+     * Notifies the cache of the sections across each section edge that a block touches, since physics from the block can change its neighbours there
+     * The block's own section is notified by {@link #tick()}
+     */
+    private void invalidateNeighbourSections(final int slot) {
+        if (this.lineOfSightCache == null) return;
+
+        final int x = this.xs[slot], y = this.ys[slot], z = this.zs[slot];
+        final int sectionX = x >> 4, sectionY = y >> 4, sectionZ = z >> 4;
+
+        if ((x & 15) == 0) this.lineOfSightCache.invalidate(this.world, sectionX - 1, sectionY, sectionZ);
+        else if ((x & 15) == 15) this.lineOfSightCache.invalidate(this.world, sectionX + 1, sectionY, sectionZ);
+
+        if ((y & 15) == 0) this.lineOfSightCache.invalidate(this.world, sectionX, sectionY - 1, sectionZ);
+        else if ((y & 15) == 15) this.lineOfSightCache.invalidate(this.world, sectionX, sectionY + 1, sectionZ);
+
+        if ((z & 15) == 0) this.lineOfSightCache.invalidate(this.world, sectionX, sectionY, sectionZ - 1);
+        else if ((z & 15) == 15) this.lineOfSightCache.invalidate(this.world, sectionX, sectionY, sectionZ + 1);
+    }
+}
@@ -10,14 +10,17 @@ import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 
 /**
- * Makes an entity stare at another entity
+ * <p>Makes an entity stare at another entity</p>
+ * <p>Should be enqueued with the staring entity as its anchor so that it is cancelled when the entity is gone</p>
  * @author Thomas Tran
  */
 public class EntityStare implements ICoroutine {
     private final OminousWither plugin;
+    private final Entity starer;
     private final UUID starerID;
     private final UUID targetID;
     private final boolean isTargetPlayer;
@@ -35,6 +38,7 @@ public class EntityStare implements ICoroutine {
     public EntityStare(OminousWither plugin, Entity starer, Entity target, BiPredicate<UUID, UUID> stareCondition,
             BiPredicate<UUID, UUID> stopCondition) {
         this.plugin = plugin;
+        this.starer = starer;
         this.starerID = starer.getUniqueId();
         this.targetID = target.getUniqueId();
         this.isTargetPlayer = (target instanceof Player);
@@ -46,16 +50,17 @@ public class EntityStare implements ICoroutine {
     /**
      * Direct constructor, user must specify if target is a player
      * @param plugin instance of main plugin class
-     * @param starerID UUID of staring entity
+     * @param starer staring entity
      * @param targetID UUID of target entity (entity to be stared at)
      * @param isTargetPlayer is the target entity a player?
      * @param stareCondition when to stare (e.g. "will only stare when target is not sneaking") [1st UUID is the starer, 2nd UUID is the target]
      * @param stopCondition when to cancel the coroutine [1st UUID is the starer, 2nd UUID is the target]
      */
-    public EntityStare(OminousWither plugin, UUID starerID, UUID targetID, boolean isTargetPlayer,
+    public EntityStare(OminousWither plugin, Entity starer, UUID targetID, boolean isTargetPlayer,
             BiPredicate<UUID, UUID> stareCondition, BiPredicate<UUID, UUID> stopCondition) {
         this.plugin = plugin;
-        this.starerID = starerID;
+        this.starer = starer;
+        this.starerID = starer.getUniqueId();
         this.targetID = targetID;
         this.isTargetPlayer = isTargetPlayer;
         this.stareCondition = stareCondition;
@@ -64,9 +69,9 @@ public class EntityStare implements ICoroutine {
 
     @Override
     public boolean tick() {
-        //If starer can't be found, cancel coroutine
-        final Entity starer = plugin.getServer().getEntity(this.starerID);
-        if (starer == null) return false;
+        //If starer is gone, cancel coroutine
+        final Entity starer = this.starer;
+        if (!starer.isValid()) return false;
 
         //If target can't be found, cancel coroutine
         final Entity target = this.isTargetPlayer ? plugin.getServer().getPlayer(targetID) : plugin.getServer().getEntity(targetID);
@@ -88,5 +93,10 @@ public class EntityStare implements ICoroutine {
         //Test for stop condition
         return !this.stopCondition.test(this.starerID, this.targetID);
     }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return CoroutinePriority.COSMETIC;
+    }
     
 }
@@ -0,0 +1,227 @@
+package io.github.poorgrammerdev.ominouswither.coroutines;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Projectile;
+import org.bukkit.util.Vector;
+
+import io.github.poorgrammerdev.ominouswither.internal.CoroutineManager;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
+
+/**
+ * <p>Steers every homing projectile towards its target from a single strict coroutine</p>
+ * <p>Projectiles are stored in parallel arrays and updated in one loop each tick using reused scratch objects, so steering allocates nothing.
+ * Adding a projectile is constant time, and removal moves the last projectile into the freed slot.</p>
+ * <p>Projectiles without a target search every tick, as they did before batching. Re-searches for a better target are staggered:
+ * each projectile re-searches on its own offset within its search interval, so a barrage fired on the same tick doesn't search all at once</p>
+ * @author Thomas Tran
+ */
+public class HomingProjectileBatch implements ICoroutine {
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * Homing is disabled once a projectile is this close to its target (squared)
+     * Glitch: projectile reaches target but does not collide, causing glitchy spazzing movement as it continues to try to set its velocity towards the target
+     * Currrent patchwork solution: disable homing once distance threshold reached
+     */
+    public static final double DEACTIVATE_DISTANCE_SQ = 1.0D;
+
+    private final CoroutineManager coroutineManager;
+
+    //Projectile data, indexed by slot; only the first [size] slots are in use
+    private Projectile[] projectiles;
+    private LivingEntity[] targets;
+    private Function<Projectile, LivingEntity>[] targetFinders;
+    private double[] speeds;
+    private double[] lifespans;
+    private int[] searchIntervals;
+    private int[] searchCountdowns;
+    private boolean[] canChangeTarget;
+    private int size;
+
+    /**
+     * Incremented for every projectile added, used to spread out search offsets
+     */
+    private int sequence;
+
+    /**
+     * Reused to read entity locations and set velocities without allocating
+     */
+    private final Location scratchLocation;
+    private final Location scratchTargetLocation;
+    private final Vector scratchVelocity;
+
+    /**
+     * If this batch is currently in the Coroutine Manager's strict lane
+     */
+    private boolean scheduled;
+
+    public HomingProjectileBatch(final CoroutineManager coroutineManager) {
+        this.coroutineManager = coroutineManager;
+
+        this.projectiles = new Projectile[INITIAL_CAPACITY];
+        this.targets = new LivingEntity[INITIAL_CAPACITY];
+        this.targetFinders = newFunctionArray(INITIAL_CAPACITY);
+        this.speeds = new double[INITIAL_CAPACITY];
+        this.lifespans = new double[INITIAL_CAPACITY];
+        this.searchIntervals = new int[INITIAL_CAPACITY];
+        this.searchCountdowns = new int[INITIAL_CAPACITY];
+        this.canChangeTarget = new boolean[INITIAL_CAPACITY];
+        this.size = 0;
+        this.sequence = 0;
+
+        this.scratchLocation = new Location(null, 0, 0, 0);
+        this.scratchTargetLocation = new Location(null, 0, 0, 0);
+        this.scratchVelocity = new Vector();
+        this.scheduled = false;
+    }
+
+    /**
+     * Starts steering a projectile, beginning next tick
+     * @param projectile projectile to steer
+     * @param initialTarget target to home in on at first, or null to search for one
+     * @param speed constant speed to travel at
+     * @param lifespan homing stops once the projectile has lived for this many ticks
+     * @param searchInterval how often to search for a new target while one is already found
+     * @param canChangeTarget if a new target can be searched for after one has already been found
+     * @param targetFinder searches for a target around the projectile; may return null
+     */
+    public void add(final Projectile projectile, final LivingEntity initialTarget, final double speed, final double lifespan, final int searchInterval, final boolean canChangeTarget, final Function<Projectile, LivingEntity> targetFinder) {
+        if (this.size == this.projectiles.length) this.grow();
+
+        final int slot = this.size++;
+        final int interval = Math.max(searchInterval, 1);
+        this.projectiles[slot] = projectile;
+        this.targets[slot] = initialTarget;
+        this.targetFinders[slot] = targetFinder;
+        this.speeds[slot] = speed;
+        this.lifespans[slot] = lifespan;
+        this.searchIntervals[slot] = interval;
+        this.searchCountdowns[slot] = (this.sequence++ % interval);
+        this.canChangeTarget[slot] = canChangeTarget;
+
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.coroutineManager.enqueueStrict(this, HomingProjectileBatch.class, null);
+        }
+    }
+
+    /**
+     * @return amount of projectiles being steered
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean tick() {
+        //Iterates backwards so that removing a projectile only moves one that has already run this tick
+        for (int i = this.size - 1; i >= 0; --i) {
+            if (!this.steer(i)) this.remove(i);
+        }
+
+        //Leave the strict lane once empty; the next projectile added schedules this again
+        this.scheduled = (this.size > 0);
+        return this.scheduled;
+    }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return CoroutinePriority.COMBAT;
+    }
+
+    @Override
+    public void onCancel() {
+        this.scheduled = false;
+    }
+
+    /**
+     * Runs a single projectile for this tick
+     * @return if the projectile should keep homing
+     */
+    private boolean steer(final int slot) {
+        final Projectile projectile = this.projectiles[slot];
+
+        //Projectile must be still alive and within its homing lifespan
+        if (!projectile.isValid() || !projectile.isInWorld() || projectile.getTicksLived() >= this.lifespans[slot]) return false;
+
+        //Drop targets that are gone so a new one can be found
+        LivingEntity target = this.targets[slot];
+        if (target != null && (target.isDead() || !target.isInWorld())) {
+            target = null;
+            this.targets[slot] = null;
+        }
+
+        //Without a target, search every tick until one is found
+        //Re-searches for a better target are staggered on this projectile's own offset
+        final boolean searchDue = (--this.searchCountdowns[slot] < 0);
+        if (searchDue) this.searchCountdowns[slot] = this.searchIntervals[slot] - 1;
+
+        if (target == null || (searchDue && this.canChangeTarget[slot])) {
+            target = this.targetFinders[slot].apply(projectile);
+            this.targets[slot] = target;
+        }
+
+        //If target is still invalid, don't do anything this tick
+        if (target == null) return true;
+
+        final Location projectileLocation = projectile.getLocation(this.scratchLocation);
+        final Location targetLocation = target.getLocation(this.scratchTargetLocation);
+
+        final double dx = targetLocation.getX() - projectileLocation.getX();
+        final double dy = targetLocation.getY() + target.getEyeHeight() - projectileLocation.getY();
+        final double dz = targetLocation.getZ() - projectileLocation.getZ();
+        final double distanceSq = dx * dx + dy * dy + dz * dz;
+        if (distanceSq == 0.0D) return false;
+
+        //Move towards the target's eyes at a constant speed
+        final double scale = this.speeds[slot] / Math.sqrt(distanceSq);
+        projectile.setVelocity(this.scratchVelocity.setX(dx * scale).setY(dy * scale).setZ(dz * scale));
+
+        //Prevent strange collision glitch
+        return (distanceSq > DEACTIVATE_DISTANCE_SQ);
+    }
+
+    /**
+     * Removes a projectile by moving the last projectile into its slot
+     */
+    private void remove(final int slot) {
+        final int last = --this.size;
+        if (slot != last) {
+            this.projectiles[slot] = this.projectiles[last];
+            this.targets[slot] = this.targets[last];
+            this.targetFinders[slot] = this.targetFinders[last];
+            this.speeds[slot] = this.speeds[last];
+            this.lifespans[slot] = this.lifespans[last];
+            this.searchIntervals[slot] = this.searchIntervals[last];
+            this.searchCountdowns[slot] = this.searchCountdowns[last];
+            this.canChangeTarget[slot] = this.canChangeTarget[last];
+        }
+
+        //Clear references so removed entities can be garbage collected
+        this.projectiles[last] = null;
+        this.targets[last] = null;
+        this.targetFinders[last] = null;
+    }
+
+    private void grow() {
+        final int capacity = this.projectiles.length * 2;
+        this.projectiles = Arrays.copyOf(this.projectiles, capacity);
+        this.targets = Arrays.copyOf(this.targets, capacity);
+        this.targetFinders = Arrays.copyOf(this.targetFinders, capacity);
+        this.speeds = Arrays.copyOf(this.speeds, capacity);
+        this.lifespans = Arrays.copyOf(this.lifespans, capacity);
+        this.searchIntervals = Arrays.copyOf(this.searchIntervals, capacity);
+        this.searchCountdowns = Arrays.copyOf(this.searchCountdowns, capacity);
+        this.canChangeTarget = Arrays.copyOf(this.canChangeTarget, capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Projectile, LivingEntity>[] newFunctionArray(final int capacity) {
+        return (Function<Projectile, LivingEntity>[]) new Function[capacity];
+    }
+}
@@ -0,0 +1,384 @@
+package io.github.poorgrammerdev.ominouswither.coroutines;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.Vector;
+
+import io.github.poorgrammerdev.ominouswither.internal.CoroutineManager;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
+import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
+
+/**
+ * <p>Displays every persistent particle effect (auras, skull trails, spawn markers, shooting stars) of one world from a single coroutine</p>
+ * <p>Each world has its own batch, picked by {@link ParticleEmitters}, so that the batch is budgeted in that world's partition of the {@link CoroutineManager}</p>
+ * <p>Emitters are stored in parallel arrays and emitted in one loop each tick, without allocating a Location per particle.
+ * Adding and removing an emitter is constant time: removal moves the last emitter into the freed slot.</p>
+ * <p>Three kinds of emitter are supported:</p>
+ * <ul>
+ * <li>Tracking: follows an entity at an offset until it is gone or its stop condition trips</li>
+ * <li>Stationary: stays at a location until its stop condition trips</li>
+ * <li>Trail: moves at a constant velocity until its lifespan runs out or it enters a solid block</li>
+ * </ul>
+ * @author Thomas Tran
+ */
+public class ParticleEmitterBatch implements ICoroutine {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final byte KIND_TRACKING = 0;
+    private static final byte KIND_STATIONARY = 1;
+    private static final byte KIND_TRAIL = 2;
+
+    private final CoroutineManager coroutineManager;
+
+    /**
+     * World whose partition this batch is queued in, or null for the global partition
+     */
+    private final World world;
+
+    //Emitter data, indexed by slot; only the first [size] slots are in use
+    private Emitter[] handles;
+    private byte[] kinds;
+    private Entity[] entities;
+    private World[] worlds;
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private double[] velocityX;
+    private double[] velocityY;
+    private double[] velocityZ;
+    private int[] remainingTicks;
+    private int[] particleIndices;
+    private Predicate<Entity>[] stopConditions;
+    private int size;
+
+    //Distinct particles in use, shared between emitters and reference counted so unused entries can be reused
+    private ParticleInfo[] palette;
+    private int[] paletteReferences;
+    private final IdentityHashMap<ParticleInfo, Integer> paletteLookup;
+    private int paletteSize;
+
+    /**
+     * Reused to read entity locations without allocating
+     */
+    private final Location scratchLocation;
+
+    /**
+     * If this batch is currently in the Coroutine Manager's queue
+     */
+    private boolean scheduled;
+
+    public ParticleEmitterBatch(final CoroutineManager coroutineManager, final World world) {
+        this.coroutineManager = coroutineManager;
+        this.world = world;
+
+        this.handles = new Emitter[INITIAL_CAPACITY];
+        this.kinds = new byte[INITIAL_CAPACITY];
+        this.entities = new Entity[INITIAL_CAPACITY];
+        this.worlds = new World[INITIAL_CAPACITY];
+        this.x = new double[INITIAL_CAPACITY];
+        this.y = new double[INITIAL_CAPACITY];
+        this.z = new double[INITIAL_CAPACITY];
+        this.velocityX = new double[INITIAL_CAPACITY];
+        this.velocityY = new double[INITIAL_CAPACITY];
+        this.velocityZ = new double[INITIAL_CAPACITY];
+        this.remainingTicks = new int[INITIAL_CAPACITY];
+        this.particleIndices = new int[INITIAL_CAPACITY];
+        this.stopConditions = newPredicateArray(INITIAL_CAPACITY);
+        this.size = 0;
+
+        this.palette = new ParticleInfo[8];
+        this.paletteReferences = new int[8];
+        this.paletteLookup = new IdentityHashMap<>();
+        this.paletteSize = 0;
+
+        this.scratchLocation = new Location(null, 0, 0, 0);
+        this.scheduled = false;
+    }
+
+    /**
+     * Continuously displays a particle following an entity until it is gone or a stop condition is reached
+     * @param entity entity to track
+     * @param offset offset from the entity's location
+     * @param particleInfo the particle itself along with other summoning details
+     * @param stopCondition when to stop spawning the particle, checked after each spawn
+     * @return handle that can be used to stop the emitter
+     */
+    public Emitter track(final Entity entity, final Vector offset, final ParticleInfo particleInfo, final Predicate<Entity> stopCondition) {
+        final int slot = this.allocate(KIND_TRACKING, particleInfo, stopCondition);
+        this.entities[slot] = entity;
+        this.x[slot] = offset.getX();
+        this.y[slot] = offset.getY();
+        this.z[slot] = offset.getZ();
+        return this.handles[slot];
+    }
+
+    /**
+     * Continuously displays a stationary particle at a location until a stop condition is reached
+     * @param location where to spawn the particle
+     * @param particleInfo the particle itself along with other summoning details
+     * @param stopCondition when to stop spawning the particle, checked after each spawn
+     * @return handle that can be used to stop the emitter
+     */
+    public Emitter stationary(final Location location, final ParticleInfo particleInfo, final BooleanSupplier stopCondition) {
+        final int slot = this.allocate(KIND_STATIONARY, particleInfo, (entity) -> stopCondition.getAsBoolean());
+        this.setPosition(slot, location);
+        return this.handles[slot];
+    }
+
+    /**
+     * Displays a particle trail moving at a constant velocity until its lifespan runs out or it hits a solid block
+     * @param location starting location of the trail
+     * @param velocity distance moved per tick
+     * @param particleInfo the particle itself along with other summoning details
+     * @param lifespan max amount of ticks to display the trail for
+     * @return handle that can be used to stop the emitter
+     */
+    public Emitter trail(final Location location, final Vector velocity, final ParticleInfo particleInfo, final int lifespan) {
+        final int slot = this.allocate(KIND_TRAIL, particleInfo, null);
+        this.setPosition(slot, location);
+        this.velocityX[slot] = velocity.getX();
+        this.velocityY[slot] = velocity.getY();
+        this.velocityZ[slot] = velocity.getZ();
+        this.remainingTicks[slot] = lifespan;
+        return this.handles[slot];
+    }
+
+    /**
+     * @return amount of active emitters
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean tick() {
+        //Iterates backwards so that removing an emitter only moves one that has already run this tick
+        for (int i = this.size - 1; i >= 0; --i) {
+            //A stop condition may have cancelled other emitters, shrinking the batch
+            if (i >= this.size) continue;
+
+            //Stop conditions may also cancel their own emitter, so remove through the handle
+            final Emitter handle = this.handles[i];
+            if (!this.emit(i)) handle.cancel();
+        }
+
+        //Leave the queue once empty; the next emitter added schedules this again
+        this.scheduled = (this.size > 0);
+        return this.scheduled;
+    }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return CoroutinePriority.COSMETIC;
+    }
+
+    @Override
+    public void onCancel() {
+        this.scheduled = false;
+    }
+
+    /**
+     * Runs a single emitter for this tick
+     * @return if the emitter should keep running
+     */
+    private boolean emit(final int slot) {
+        final ParticleInfo particleInfo = this.palette[this.particleIndices[slot]];
+
+        switch (this.kinds[slot]) {
+            case KIND_TRACKING: {
+                final Entity entity = this.entities[slot];
+                if (!entity.isValid()) return false;
+
+                final World world = entity.getWorld();
+                if (world != null) {
+                    final Location location = entity.getLocation(this.scratchLocation);
+                    particleInfo.spawnParticle(world, location.getX() + this.x[slot], location.getY() + this.y[slot], location.getZ() + this.z[slot]);
+                }
+                return !this.stopConditions[slot].test(entity);
+            }
+
+            case KIND_STATIONARY: {
+                final World world = this.worlds[slot];
+                if (world != null) {
+                    particleInfo.spawnParticle(world, this.x[slot], this.y[slot], this.z[slot]);
+                }
+                return !this.stopConditions[slot].test(null);
+            }
+
+            case KIND_TRAIL: {
+                final World world = this.worlds[slot];
+
+                //Reached end of life or impassable block
+                if (this.remainingTicks[slot] <= 0 || world == null) return false;
+                if (!world.getBlockAt((int) Math.floor(this.x[slot]), (int) Math.floor(this.y[slot]), (int) Math.floor(this.z[slot])).isPassable()) return false;
+
+                //Otherwise display particle and keep moving
+                particleInfo.spawnParticle(world, this.x[slot], this.y[slot], this.z[slot]);
+                this.x[slot] += this.velocityX[slot];
+                this.y[slot] += this.velocityY[slot];
+                this.z[slot] += this.velocityZ[slot];
+                --this.remainingTicks[slot];
+                return true;
+            }
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Claims the next free slot, growing the arrays if needed, and schedules this batch if it is not already
+     * @return the claimed slot
+     */
+    private int allocate(final byte kind, final ParticleInfo particleInfo, final Predicate<Entity> stopCondition) {
+        if (this.size == this.handles.length) this.grow();
+
+        final int slot = this.size++;
+        this.handles[slot] = new Emitter(slot);
+        this.kinds[slot] = kind;
+        this.particleIndices[slot] = this.acquireParticle(particleInfo);
+        this.stopConditions[slot] = stopCondition;
+
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.coroutineManager.enqueueInWorld(this, ParticleEmitterBatch.class, this.world);
+        }
+        return slot;
+    }
+
+    private void setPosition(final int slot, final Location location) {
+        this.worlds[slot] = location.getWorld();
+        this.x[slot] = location.getX();
+        this.y[slot] = location.getY();
+        this.z[slot] = location.getZ();
+    }
+
+    /**
+     * Removes an emitter by moving the last emitter into its slot
+     */
+    private void remove(final int slot) {
+        this.releaseParticle(this.particleIndices[slot]);
+        this.handles[slot].slot = -1;
+
+        final int last = --this.size;
+        if (slot != last) {
+            this.handles[slot] = this.handles[last];
+            this.handles[slot].slot = slot;
+            this.kinds[slot] = this.kinds[last];
+            this.entities[slot] = this.entities[last];
+            this.worlds[slot] = this.worlds[last];
+            this.x[slot] = this.x[last];
+            this.y[slot] = this.y[last];
+            this.z[slot] = this.z[last];
+            this.velocityX[slot] = this.velocityX[last];
+            this.velocityY[slot] = this.velocityY[last];
+            this.velocityZ[slot] = this.velocityZ[last];
+            this.remainingTicks[slot] = this.remainingTicks[last];
+            this.particleIndices[slot] = this.particleIndices[last];
+            this.stopConditions[slot] = this.stopConditions[last];
+        }
+
+        //Clear references so removed entities and worlds can be garbage collected
+        this.handles[last] = null;
+        this.entities[last] = null;
+        this.worlds[last] = null;
+        this.stopConditions[last] = null;
+    }
+
+    private void grow() {
+        final int capacity = this.handles.length * 2;
+        this.handles = Arrays.copyOf(this.handles, capacity);
+        this.kinds = Arrays.copyOf(this.kinds, capacity);
+        this.entities = Arrays.copyOf(this.entities, capacity);
+        this.worlds = Arrays.copyOf(this.worlds, capacity);
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.z = Arrays.copyOf(this.z, capacity);
+        this.velocityX = Arrays.copyOf(this.velocityX, capacity);
+        this.velocityY = Arrays.copyOf(this.velocityY, capacity);
+        this.velocityZ = Arrays.copyOf(this.velocityZ, capacity);
+        this.remainingTicks = Arrays.copyOf(this.remainingTicks, capacity);
+        this.particleIndices = Arrays.copyOf(this.particleIndices, capacity);
+        this.stopConditions = Arrays.copyOf(this.stopConditions, capacity);
+    }
+
+    /**
+     * Gets the palette index of a particle, adding it if it is not in use yet
+     */
+    private int acquireParticle(final ParticleInfo particleInfo) {
+        final Integer existing = this.paletteLookup.get(particleInfo);
+        if (existing != null) {
+            ++this.paletteReferences[existing];
+            return existing;
+        }
+
+        //Reuse an unused entry if there is one, otherwise append
+        int index = -1;
+        for (int i = 0; i < this.paletteSize; ++i) {
+            if (this.paletteReferences[i] == 0) {
+                index = i;
+                break;
+            }
+        }
+        if (index == -1) {
+            if (this.paletteSize == this.palette.length) {
+                this.palette = Arrays.copyOf(this.palette, this.palette.length * 2);
+                this.paletteReferences = Arrays.copyOf(this.paletteReferences, this.paletteReferences.length * 2);
+            }
+            index = this.paletteSize++;
+        }
+
+        this.palette[index] = particleInfo;
+        this.paletteReferences[index] = 1;
+        this.paletteLookup.put(particleInfo, index);
+        return index;
+    }
+
+    private void releaseParticle(final int index) {
+        if (--this.paletteReferences[index] > 0) return;
+
+        this.paletteLookup.remove(this.palette[index]);
+        this.palette[index] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Entity>[] newPredicateArray(final int capacity) {
+        return (Predicate<Entity>[]) new Predicate[capacity];
+    }
+
+    /**
+     * Handle to a single emitter in the batch
+     */
+    public class Emitter {
+        /**
+         * Current slot of this emitter, or -1 once removed
+         */
+        private int slot;
+
+        private Emitter(final int slot) {
+            this.slot = slot;
+        }
+
+        /**
+         * Stops this emitter immediately
+         * Does nothing if it has already stopped
+         */
+        public void cancel() {
+            if (this.slot >= 0) remove(this.slot);
+        }
+
+        /**
+         * @return if this emitter is still running
+         */
+        public boolean isActive() {
+            return this.slot >= 0;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.poorgrammerdev.ominouswither.coroutines;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.Vector;
+
+import io.github.poorgrammerdev.ominouswither.internal.CoroutineManager;
+import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
+
+/**
+ * <p>Displays every persistent particle effect, keeping one {@link ParticleEmitterBatch} per world</p>
+ * <p>Emitters are added to the batch of the world they start in. Tracking emitters keep following their entity if it changes world,
+ * but stay budgeted in the world they started in.</p>
+ * @author Thomas Tran
+ */
+public class ParticleEmitters {
+    private final CoroutineManager coroutineManager;
+
+    /**
+     * Batch of each world that has had an emitter, keyed by the world's UUID; emitters without a world use the null key
+     */
+    private final HashMap<UUID, ParticleEmitterBatch> batches;
+
+    public ParticleEmitters(final CoroutineManager coroutineManager) {
+        this.coroutineManager = coroutineManager;
+        this.batches = new HashMap<>();
+    }
+
+    /**
+     * Continuously displays a particle following an entity until it is gone or a stop condition is reached
+     * @param entity entity to track
+     * @param offset offset from the entity's location
+     * @param particleInfo the particle itself along with other summoning details
+     * @param stopCondition when to stop spawning the particle, checked after each spawn
+     * @return handle that can be used to stop the emitter
+     */
+    public ParticleEmitterBatch.Emitter track(final Entity entity, final Vector offset, final ParticleInfo particleInfo, final Predicate<Entity> stopCondition) {
+        return this.getBatch(entity.getWorld()).track(entity, offset, particleInfo, stopCondition);
+    }
+
+    /**
+     * Continuously displays a stationary particle at a location until a stop condition is reached
+     * @param location where to spawn the particle
+     * @param particleInfo the particle itself along with other summoning details
+     * @param stopCondition when to stop spawning the particle, checked after each spawn
+     * @return handle that can be used to stop the emitter
+     */
+    public ParticleEmitterBatch.Emitter stationary(final Location location, final ParticleInfo particleInfo, final BooleanSupplier stopCondition) {
+        return this.getBatch(location.getWorld()).stationary(location, particleInfo, stopCondition);
+    }
+
+    /**
+     * Displays a particle trail moving at a constant velocity until its lifespan runs out or it hits a solid block
+     * @param location starting location of the trail
+     * @param velocity distance moved per tick
+     * @param particleInfo the particle itself along with other summoning details
+     * @param lifespan max amount of ticks to display the trail for
+     * @return handle that can be used to stop the emitter
+     */
+    public ParticleEmitterBatch.Emitter trail(final Location location, final Vector velocity, final ParticleInfo particleInfo, final int lifespan) {
+        return this.getBatch(location.getWorld()).trail(location, velocity, particleInfo, lifespan);
+    }
+
+    /**
+     * @return amount of active emitters across every world
+     */
+    public int size() {
+        int size = 0;
+        for (final ParticleEmitterBatch batch : this.batches.values()) {
+            size += batch.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the batch of a world, creating it if it does not exist yet
+     * @param world world of the emitter, or null if it has none
+     */
+    private ParticleEmitterBatch getBatch(final World world) {
+        final UUID key = (world != null) ? world.getUID() : null;
+        return this.batches.computeIfAbsent(key, (worldKey) -> new ParticleEmitterBatch(this.coroutineManager, world));
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.poorgrammerdev.ominouswither.coroutines;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.bukkit.Location;
+
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
+
+/**
+ * <p>Spawns a group of entities one at a time over multiple ticks using the Coroutine system, instead of all in the same tick</p>
+ * <p>Locations can be added while the pipeline is already running (e.g. as a {@link PassableLocationFinder} finds them).
+ * Once closed, the pipeline finishes after spawning whatever is left and reports how many spawns succeeded.</p>
+ * <p>Each spawn should be fully self-contained (entity, equipment and its visual effect) so nothing is seen half-spawned</p>
+ * @author Thomas Tran
+ */
+public class SpawnPipeline implements ICoroutine {
+    private final ArrayDeque<Location> pending;
+    private final Predicate<Location> spawner;
+
+    private Consumer<Integer> callback;
+    private boolean closed;
+    private boolean finished;
+    private int successCount;
+
+    /**
+     * Constructor
+     * @param spawner spawns a single unit at a location; returns if it succeeded
+     */
+    public SpawnPipeline(final Predicate<Location> spawner) {
+        this.pending = new ArrayDeque<>();
+        this.spawner = spawner;
+        this.callback = null;
+        this.closed = false;
+        this.finished = false;
+        this.successCount = 0;
+    }
+
+    /**
+     * Adds a location to spawn at; ignored once the pipeline is closed
+     * @param location location to spawn at
+     */
+    public void offer(final Location location) {
+        if (!this.closed) this.pending.add(location);
+    }
+
+    /**
+     * Stops accepting new locations; the pipeline finishes once the remaining ones are spawned
+     * @param callback called once finished (or cancelled); integer is how many spawns succeeded
+     */
+    public void close(final Consumer<Integer> callback) {
+        this.closed = true;
+        this.callback = callback;
+
+        //Already cancelled before being closed
+        if (this.finished && callback != null) callback.accept(this.successCount);
+    }
+
+    @Override
+    public boolean tick() {
+        //Spawn a single unit per operation
+        final Location location = this.pending.poll();
+        if (location != null && this.spawner.test(location)) {
+            ++this.successCount;
+        }
+
+        //Keep waiting for more locations until closed
+        if (!this.closed || !this.pending.isEmpty()) return true;
+
+        this.finish();
+        return false;
+    }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return CoroutinePriority.COMBAT;
+    }
+
+    /**
+     * Whatever was spawned before the cancellation is still reported so it can be cleaned up
+     */
+    @Override
+    public void onCancel() {
+        this.pending.clear();
+        this.closed = true;
+        this.finish();
+    }
+
+    private void finish() {
+        if (this.finished) return;
+        this.finished = true;
+
+        if (this.callback != null) this.callback.accept(this.successCount);
+    }
+}
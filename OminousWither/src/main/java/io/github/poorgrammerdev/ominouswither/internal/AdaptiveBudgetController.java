@@ -0,0 +1,119 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * <p>Adjusts the Coroutine Manager's per-tick CPU budget based on how long server ticks are actually taking</p>
+ * <p>The tick duration is measured as the wall-clock time between consecutive runs of the manager, smoothed over several ticks</p>
+ * <p>If ticks are running late, the budget shrinks multiplicatively. If ticks are on time and tasks are left waiting, the budget grows additively.</p>
+ * @author Thomas Tran
+ */
+public class AdaptiveBudgetController {
+    /**
+     * Weight given to the newest tick duration in the moving average
+     */
+    private static final double SMOOTHING = 0.2D;
+
+    /**
+     * How late (in nanoseconds) the average tick can run before it is considered overloaded
+     * Gives some leeway for scheduler jitter
+     */
+    private static final long TOLERANCE_NANOS = (long) (1.0D * 1E6);
+
+    /**
+     * Budget multiplier applied each tick while overloaded
+     */
+    private static final double DECREASE_FACTOR = 0.9D;
+
+    /**
+     * Budget added each tick while there is a backlog and ticks are on time
+     */
+    private static final long INCREASE_STEP_NANOS = (long) (0.05D * 1E6);
+
+    private boolean enabled;
+    private long floorNanos;
+    private long ceilingNanos;
+    private long targetTickNanos;
+
+    private long budgetNanos;
+    private long smoothedTickNanos;
+    private long lastRunTime;
+
+    public AdaptiveBudgetController() {
+        //Set to placeholder default values before the config is loaded in
+        this.enabled = false;
+        this.budgetNanos = (long) (2.5D * 1E6);
+        this.floorNanos = this.budgetNanos;
+        this.ceilingNanos = this.budgetNanos;
+        this.targetTickNanos = (long) (50.0D * 1E6);
+
+        this.smoothedTickNanos = 0L;
+        this.lastRunTime = 0L;
+    }
+
+    /**
+     * Load settings from config
+     * @param config plugin config
+     */
+    public void load(final FileConfiguration config) {
+        final long initialNanos = (long) (config.getDouble("max_task_millis_per_tick", 2.5D) * 1E6);
+
+        this.enabled = config.getBoolean("adaptive_task_budget.enabled", false);
+        this.floorNanos = Math.max((long) (config.getDouble("adaptive_task_budget.floor_millis", 0.5D) * 1E6), 0L);
+        this.ceilingNanos = Math.max((long) (config.getDouble("adaptive_task_budget.ceiling_millis", 10.0D) * 1E6), this.floorNanos);
+        this.targetTickNanos = (long) (Math.max(config.getDouble("adaptive_task_budget.target_tick_millis", 50.0D), 1.0D) * 1E6);
+
+        //Start at the configured static budget, bounded to the adaptive range if enabled
+        this.budgetNanos = this.enabled ? Math.min(Math.max(initialNanos, this.floorNanos), this.ceilingNanos) : initialNanos;
+    }
+
+    /**
+     * Record the start of a new tick and adjust the budget accordingly
+     * @param now current time from {@link System#nanoTime()}
+     * @param backlog how many tasks were left waiting at the end of the previous tick
+     */
+    public void update(final long now, final int backlog) {
+        //Measure tick duration; the first run has nothing to compare against
+        if (this.lastRunTime != 0L) {
+            final long delta = now - this.lastRunTime;
+            this.smoothedTickNanos = (this.smoothedTickNanos == 0L) ? delta : (long) ((SMOOTHING * delta) + ((1.0D - SMOOTHING) * this.smoothedTickNanos));
+        }
+        this.lastRunTime = now;
+
+        if (!this.enabled || this.smoothedTickNanos == 0L) return;
+
+        //Server is falling behind -> back off quickly
+        if (this.smoothedTickNanos > this.targetTickNanos + TOLERANCE_NANOS) {
+            this.budgetNanos = Math.max((long) (this.budgetNanos * DECREASE_FACTOR), this.floorNanos);
+        }
+        //Server is keeping up and we have work waiting -> take a little more
+        else if (backlog > 0) {
+            this.budgetNanos = Math.min(this.budgetNanos + INCREASE_STEP_NANOS, this.ceilingNanos);
+        }
+    }
+
+    /**
+     * @return if the budget is being adjusted, or is fixed at the configured value
+     */
+    public boolean isEnabled() {return this.enabled;}
+
+    /**
+     * @return current per-tick budget in nanoseconds
+     */
+    public long getBudgetNanos() {return this.budgetNanos;}
+
+    /**
+     * @return lowest budget the controller can shrink to, in nanoseconds
+     */
+    public long getFloorNanos() {return this.floorNanos;}
+
+    /**
+     * @return highest budget the controller can grow to, in nanoseconds
+     */
+    public long getCeilingNanos() {return this.ceilingNanos;}
+
+    /**
+     * @return moving average of the measured tick duration in nanoseconds, or 0 if not yet measured
+     */
+    public long getSmoothedTickNanos() {return this.smoothedTickNanos;}
+}
@@ -0,0 +1,90 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * <p>Adapts an {@link IAsyncCoroutine} to run in the Coroutine Manager's queues</p>
+ * <p>Each tick, this either prepares a new cycle (if an async slot is free), waits for the computation, or commits the result.
+ * Within a group, results are committed in the same order that their cycles were prepared.</p>
+ * @author Thomas Tran
+ */
+class AsyncCoroutineTask<T> implements ICoroutine {
+    private final CoroutineManager manager;
+    private final IAsyncCoroutine<T> task;
+    private final CoroutineGroup group;
+
+    /**
+     * Computation of the current cycle, or null if not yet prepared
+     */
+    private CompletableFuture<T> future;
+
+    AsyncCoroutineTask(final CoroutineManager manager, final IAsyncCoroutine<T> task, final CoroutineGroup group) {
+        this.manager = manager;
+        this.task = task;
+        this.group = group;
+        this.future = null;
+    }
+
+    @Override
+    public boolean tick() {
+        //Prepare phase: wait for a free slot before submitting
+        if (this.future == null) {
+            if (!this.manager.tryAcquireAsyncSlot()) return true;
+
+            this.future = this.task.prepare(this.manager.getAsyncExecutor());
+            if (this.group != null) this.group.getCommitOrder().add(this);
+            return true;
+        }
+
+        //Wait for computation, and for earlier cycles in the same group to commit first
+        if (!this.future.isDone()) return true;
+        if (this.group != null && this.group.getCommitOrder().peek() != this) return true;
+
+        final CompletableFuture<T> completed = this.future;
+        this.release();
+
+        //Commit phase
+        final T result;
+        try {
+            result = completed.join();
+        }
+        catch (CompletionException | CancellationException exception) {
+            this.manager.logAsyncFailure(this.task, exception);
+            return false;
+        }
+
+        return this.task.commit(result);
+    }
+
+    @Override
+    public CoroutinePriority getPriority() {
+        return this.task.getPriority();
+    }
+
+    @Override
+    public void onCancel() {
+        if (this.future != null) {
+            this.future.cancel(false);
+            this.release();
+        }
+        this.task.onCancel();
+    }
+
+    /**
+     * @return the wrapped task
+     */
+    IAsyncCoroutine<T> getTask() {
+        return this.task;
+    }
+
+    /**
+     * Frees this cycle's async slot and its place in the group's commit order
+     */
+    private void release() {
+        this.future = null;
+        this.manager.releaseAsyncSlot();
+        if (this.group != null) this.group.getCommitOrder().remove(this);
+    }
+}
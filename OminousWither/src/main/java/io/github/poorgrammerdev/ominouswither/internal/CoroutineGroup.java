@@ -0,0 +1,57 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+
+import org.bukkit.entity.Entity;
+
+/**
+ * <p>Set of tasks in the {@link CoroutineManager} that are bound to the lifetime of a single entity</p>
+ * <p>The group does not hold references to its tasks; each task checks its group's flag when it is next run</p>
+ * @author Thomas Tran
+ */
+class CoroutineGroup {
+    private final UUID key;
+    private final Entity anchor;
+
+    private boolean cancelled;
+
+    /**
+     * Amount of tasks in this group that are still scheduled
+     */
+    private int size;
+
+    /**
+     * Async tasks of this group in the order that their computations were submitted
+     * Results are committed in this order
+     */
+    private final ArrayDeque<AsyncCoroutineTask<?>> commitOrder;
+
+    CoroutineGroup(final Entity anchor) {
+        this.key = anchor.getUniqueId();
+        this.anchor = anchor;
+        this.cancelled = false;
+        this.size = 0;
+        this.commitOrder = new ArrayDeque<>();
+    }
+
+    UUID getKey() {return this.key;}
+    Entity getAnchor() {return this.anchor;}
+    boolean isCancelled() {return this.cancelled;}
+    void cancel() {this.cancelled = true;}
+    ArrayDeque<AsyncCoroutineTask<?>> getCommitOrder() {return this.commitOrder;}
+
+    /**
+     * @return if the anchor entity has died, been removed, or been unloaded
+     */
+    boolean isAnchorLost() {
+        return !this.anchor.isValid();
+    }
+
+    void increment() {++this.size;}
+
+    /**
+     * @return remaining amount of scheduled tasks in this group
+     */
+    int decrement() {return --this.size;}
+}
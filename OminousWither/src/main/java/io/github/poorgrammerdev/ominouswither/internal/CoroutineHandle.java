@@ -0,0 +1,71 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+/**
+ * <p>Handle to a task scheduled in the {@link CoroutineManager}</p>
+ * <p>Cancelling a task (or the group it belongs to) only sets a flag; the task is discarded the next time the manager reaches it in the queue</p>
+ * @author Thomas Tran
+ */
+public class CoroutineHandle {
+    private final ICoroutine coroutine;
+    private final CoroutineProfiler.Entry profile;
+    private final CoroutineGroup group;
+    private SchedulerPartition partition;
+
+    private boolean cancelled;
+    private boolean done;
+
+    CoroutineHandle(final ICoroutine coroutine, final CoroutineProfiler.Entry profile, final CoroutineGroup group, final SchedulerPartition partition) {
+        this.coroutine = coroutine;
+        this.profile = profile;
+        this.group = group;
+        this.partition = partition;
+
+        this.cancelled = false;
+        this.done = false;
+    }
+
+    /**
+     * Stops the task from running again
+     * Does nothing if the task has already finished
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @return if this task or its group has been cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled || (this.group != null && this.group.isCancelled());
+    }
+
+    /**
+     * @return if this task has finished running or has been discarded after cancellation
+     */
+    public boolean isDone() {
+        return this.done;
+    }
+
+    ICoroutine getCoroutine() {return this.coroutine;}
+    CoroutineProfiler.Entry getProfile() {return this.profile;}
+    CoroutineGroup getGroup() {return this.group;}
+
+    /**
+     * @return partition this task is queued in, or null for strict tasks
+     */
+    SchedulerPartition getPartition() {return this.partition;}
+
+    /**
+     * Moves this task to another partition; only called by the manager while the task is out of every queue
+     */
+    void setPartition(final SchedulerPartition partition) {
+        this.partition = partition;
+    }
+
+    /**
+     * Marks this task as no longer scheduled
+     */
+    void markDone() {
+        this.done = true;
+    }
+}
@@ -1,62 +1,827 @@
 package io.github.poorgrammerdev.ominouswither.internal;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherUnloadEvent;
 
 /**
- * Manages running operations of tasks that have been split across multiple ticks with a CPU time limitation
+ * <p>Manages running operations of tasks that have been split across multiple ticks with a CPU time limitation</p>
+ * <p>Tasks are split into priority classes ({@link CoroutinePriority}), each with its own queue.
+ * The budget is shared between classes by weighted virtual runtime: the class that has consumed the least time relative to its weight runs next.</p>
+ * <p>Any class with waiting tasks is guaranteed to run at least once every few ticks, even when the budget is exhausted.
+ * If the previous tick could not finish all non-sheddable work, sheddable (cosmetic) classes are skipped outside of that guarantee.</p>
+ * <p>The budget itself can be adjusted every tick by an {@link AdaptiveBudgetController} based on the measured server tick time.</p>
+ * <p>Every operation is timed and recorded to a {@link CoroutineProfiler}, grouped by coroutine class and the mechanic that scheduled it.</p>
+ * <p>Tasks can be anchored to an entity, grouping them by its UUID. The whole group is cancelled in constant time when the entity dies, unloads, or is removed,
+ * so tasks do not have to look up their entity every tick to find out if it still exists.</p>
+ * <p>Tasks implementing {@link IAsyncCoroutine} run their computation on a small thread pool and commit the result here,
+ * with a cap on how many computations can be in progress at once.</p>
+ * <p>Delayed and periodic actions are kept in a {@link TimingWheel} and cost nothing until they are due.
+ * Tasks can also sleep between operations through {@link ICoroutine#getNextDelay()} instead of polling every tick.</p>
+ * <p>Queues are partitioned by the world of the task's anchor entity, and optionally further by chunk region ({@link SchedulerPartition}).
+ * An anchored task's partition is looked up again every time it is queued, so it follows its entity between worlds and regions.
+ * Unanchored tasks go in a global partition, unless they are given a world through {@link #enqueueInWorld(ICoroutine, Class, World)}.
+ * Each partition with waiting tasks receives an equal share of the budget, with time left unused by one partition passed on to the next,
+ * so a fight in one world cannot starve tasks in another.</p>
+ * <p>Tasks that must be tick-accurate (e.g. animations, projectile steering) go in the strict lane instead, which runs every task every tick outside of the budget.
+ * This multiplexes them all onto this single Bukkit task rather than each registering their own.</p>
+ * <p>The manager itself is started as a repeating task through the plugin's {@link io.github.poorgrammerdev.scheduling.ISchedulerBackend}.</p>
  * Please note that these tasks are running on the Main thread; they are not async.
  * Referencing code from this thread: https://www.spigotmc.org/threads/guide-on-workload-distribution-or-how-to-handle-heavy-splittable-tasks.409003/
  */
-public class CoroutineManager extends BukkitRunnable {
-    private int maxNanosPerTick;
+public class CoroutineManager implements Runnable, Listener {
+    private final AdaptiveBudgetController budgetController;
+    private final CoroutineProfiler profiler;
+    private int maxStarvationTicks;
+    private int maxAsyncInFlight;
+
+    /**
+     * Width of a partition region in chunks, or 0 to only partition by world
+     */
+    private int regionSizeChunks;
+
+    /**
+     * Runs computations of async tasks; never touches the world
+     */
+    private final ThreadPoolExecutor asyncExecutor;
+
+    /**
+     * How many async computations have been submitted but not yet committed or discarded
+     */
+    private int asyncInFlight;
+
+    private Logger logger;
+
+    /**
+     * Partitions that have scheduled tasks, keyed by world name (and region, if enabled)
+     */
+    private final HashMap<String, SchedulerPartition> partitions;
+
+    /**
+     * Partition for tasks that are not anchored to an entity; never removed
+     */
+    private final SchedulerPartition globalPartition;
+
+    /**
+     * Partitions with work in the current tick; kept between ticks to avoid reallocating
+     */
+    private final ArrayList<SchedulerPartition> activePartitions;
+
+    /**
+     * Groups of tasks that are bound to an entity, keyed by the entity's UUID
+     */
+    private final HashMap<UUID, CoroutineGroup> groups;
+
+    /**
+     * Holds delayed and periodic actions, as well as sleeping tasks
+     */
+    private final TimingWheel timingWheel;
+
+    /**
+     * Tasks in the strict lane, run every tick regardless of budget
+     */
+    private final ArrayList<CoroutineHandle> strictTasks;
+
+    /**
+     * Strict tasks added since the last strict pass; they join at the start of the next one
+     */
+    private final ArrayList<CoroutineHandle> pendingStrictTasks;
+
+    /**
+     * Time spent in the strict lane during the last tick
+     */
+    private long lastStrictNanos;
+
+    /**
+     * Incremented every time the manager runs
+     */
+    private long currentTick;
+
+    /**
+     * How many tasks were left waiting at the end of the previous tick, across all partitions
+     */
+    private int backlog;
 
     public CoroutineManager() {
-        //Set to a placeholder default value before the config is loaded in
-        this.maxNanosPerTick = (int) (2.5D * 1E6);
+        this.budgetController = new AdaptiveBudgetController();
+        this.profiler = new CoroutineProfiler();
+
+        //Set to placeholder default values before the config is loaded in
+        this.maxStarvationTicks = 20;
+        this.maxAsyncInFlight = 8;
+        this.regionSizeChunks = 0;
+        this.asyncInFlight = 0;
+        this.logger = null;
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadFactory threadFactory = (runnable) -> {
+            final Thread thread = new Thread(runnable, "OminousWither-Async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.asyncExecutor = new ThreadPoolExecutor(2, 2, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        this.asyncExecutor.allowCoreThreadTimeOut(true);
+
+        this.partitions = new HashMap<>();
+        this.globalPartition = new SchedulerPartition("global", 0L);
+        this.partitions.put(this.globalPartition.getKey(), this.globalPartition);
+        this.activePartitions = new ArrayList<>();
+        this.groups = new HashMap<>();
+        this.timingWheel = new TimingWheel();
+        this.strictTasks = new ArrayList<>();
+        this.pendingStrictTasks = new ArrayList<>();
+        this.lastStrictNanos = 0L;
+
+        this.currentTick = 0L;
+        this.backlog = 0;
     }
 
     public void load(final OminousWither plugin) {
-        this.maxNanosPerTick = (int) (plugin.getConfig().getDouble("max_task_millis_per_tick", 2.5D) * 1E6);
+        this.budgetController.load(plugin.getConfig());
+        this.maxStarvationTicks = Math.max(plugin.getConfig().getInt("max_coroutine_starvation_ticks", 20), 1);
+        this.maxAsyncInFlight = Math.max(plugin.getConfig().getInt("max_async_tasks_in_flight", 8), 1);
+        this.regionSizeChunks = Math.max(plugin.getConfig().getInt("coroutine_partition_region_chunks", 0), 0);
+        this.logger = plugin.getLogger();
+
+        //Pool size must be changed in an order that keeps the core size at or below the max size
+        final int threads = Math.max(plugin.getConfig().getInt("async_task_threads", 2), 1);
+        if (threads > this.asyncExecutor.getMaximumPoolSize()) {
+            this.asyncExecutor.setMaximumPoolSize(threads);
+            this.asyncExecutor.setCorePoolSize(threads);
+        }
+        else {
+            this.asyncExecutor.setCorePoolSize(threads);
+            this.asyncExecutor.setMaximumPoolSize(threads);
+        }
     }
 
     /**
-     * Queue of scheduled tasks' operations to run
+     * Stops the async thread pool; computations still in progress are interrupted and their results dropped
+     * Call this when the plugin is disabled
      */
-    private final ConcurrentLinkedQueue<ICoroutine> scheduledTasks = new ConcurrentLinkedQueue<ICoroutine>(); 
+    public void shutdown() {
+        this.asyncExecutor.shutdownNow();
+    }
 
     @Override
     public void run() {
-        final long stopTime = System.nanoTime() + this.maxNanosPerTick;
-        
-        // Maximum tasks that can be run in one tick is one entire run through of the queue
-        final int maxLength = this.scheduledTasks.size();
-        for (int i = 0; i < maxLength; ++i) {
-            final ICoroutine coroutine;
-            
-            // Checks if we have exceeded allowed time
-            // And gets the next task to run; if no more tasks, return
-            if (System.nanoTime() > stopTime || ((coroutine = this.scheduledTasks.poll()) == null)) return;
+        final long startTime = System.nanoTime();
+        this.budgetController.update(startTime, this.backlog);
+
+        final long stopTime = startTime + this.budgetController.getBudgetNanos();
+        ++this.currentTick;
+        this.profiler.recordTick();
+
+        // Cancel groups whose entity is gone; a single check per group instead of one per task
+        this.sweepGroups();
+
+        // Run timers that are due this tick; this also wakes sleeping tasks so they can run below
+        this.runTimers();
+
+        // Strict lane: every task runs once, regardless of the budget
+        this.runStrictTasks();
+
+        // Find partitions with work this tick; idle ones are settled immediately
+        final ArrayList<SchedulerPartition> active = this.activePartitions;
+        for (final SchedulerPartition partition : this.partitions.values()) {
+            partition.beginTick(this.currentTick);
+
+            if (partition.hasPending()) active.add(partition);
+            else partition.endTick();
+        }
+
+        // Split the remaining budget evenly between active partitions
+        // Each partition's share is recalculated when it starts so that time left over by earlier partitions carries forward
+        // The starting partition rotates every tick so no partition is always last in line
+        final int count = active.size();
+        final int offset = (count > 0) ? (int) (this.currentTick % count) : 0;
+        for (int i = 0; i < count; ++i) {
+            final SchedulerPartition partition = active.get((i + offset) % count);
 
-            //Run task operation
-            final boolean shouldBeRescheduled = coroutine.tick();
+            final long partitionStartTime = System.nanoTime();
+            final long partitionStopTime = partitionStartTime + Math.max(stopTime - partitionStartTime, 0L) / (count - i);
+            this.runPartition(partition, partitionStopTime);
+            partition.setLastTickNanos(System.nanoTime() - partitionStartTime);
+        }
+        active.clear();
+
+        // Total backlog across every partition, used to grow the budget
+        this.backlog = 0;
+        for (final SchedulerPartition partition : this.partitions.values()) {
+            this.backlog += partition.getBacklog();
+        }
+    }
+
+    /**
+     * Runs a partition's tasks until its share of the budget is used up
+     * @param partition partition to run
+     * @param stopTime time from {@link System#nanoTime()} to stop at
+     */
+    private void runPartition(final SchedulerPartition partition, final long stopTime) {
+        //Read before this tick's run through overwrites it
+        final boolean shedSheddable = partition.wasOverloaded();
 
-            //Schedule again if necessary
-            if (shouldBeRescheduled) {
-                enqueue(coroutine);
+        // Starvation guarantee: a class that hasn't run in too long gets one task regardless of budget
+        // Iterates in priority order so combat work is serviced first
+        for (final SchedulerPartition.PriorityClass priorityClass : partition.getClasses()) {
+            if (priorityClass.pending > 0 && (this.currentTick - priorityClass.lastServicedTick) > this.maxStarvationTicks) {
+                this.runNext(priorityClass);
             }
         }
+
+        // Fair share: repeatedly run the class with the least weighted runtime until we exceed the allowed time
+        SchedulerPartition.PriorityClass next;
+        while (System.nanoTime() <= stopTime && (next = partition.pickNext(shedSheddable)) != null) {
+            this.runNext(next);
+        }
+
+        // Determine if this partition has fallen behind on work that cannot be shed
+        partition.endTick();
+    }
+
+    /**
+     * @return controller that determines this manager's per-tick budget
+     */
+    public AdaptiveBudgetController getBudgetController() {
+        return this.budgetController;
+    }
+
+    /**
+     * @return how many tasks were left waiting at the end of the previous tick
+     */
+    public int getBacklog() {
+        return this.backlog;
+    }
+
+    /**
+     * @return total amount of tasks currently scheduled across all partitions and priority classes
+     */
+    public int getQueuedCount() {
+        int count = 0;
+        for (final SchedulerPartition partition : this.partitions.values()) {
+            count += partition.getQueuedCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return read-only view of all partitions that currently have scheduled tasks, including the global partition
+     */
+    public Collection<SchedulerPartition> getPartitions() {
+        return Collections.unmodifiableCollection(this.partitions.values());
+    }
+
+    /**
+     * <p>Adds a task to the queue of its priority class</p>
+     * <p>For profiling, the owner is inferred as the class enclosing the task's class (e.g. the mechanic an anonymous coroutine was written in).
+     * Reusable coroutines should use {@link #enqueue(ICoroutine, Class)} instead.</p>
+     * @param task task to add
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueue(final ICoroutine task) {
+        return this.enqueue(task, getDefaultOwner(task), null);
+    }
+
+    /**
+     * Adds a task to the queue of its priority class
+     * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueue(final ICoroutine task, final Class<?> owner) {
+        return this.enqueue(task, owner, null);
+    }
+
+    /**
+     * <p>Adds a task to the queue of its priority class, bound to the lifetime of an entity</p>
+     * <p>The owner is inferred the same way as {@link #enqueue(ICoroutine)}</p>
+     * @param task task to add
+     * @param anchor entity that the task belongs to
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueue(final ICoroutine task, final Entity anchor) {
+        return this.enqueue(task, getDefaultOwner(task), anchor);
+    }
+
+    /**
+     * <p>Adds a task to the queue of its priority class, bound to the lifetime of an entity</p>
+     * <p>The task is cancelled once the anchor dies, unloads, or is removed, or once {@link #cancelGroup(UUID)} is called with its UUID</p>
+     * <p>The task is queued in the partition of the anchor's current location every time it is queued, or the global partition if there is no anchor</p>
+     * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @param anchor entity that the task belongs to, or null if it does not belong to one
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueue(final ICoroutine task, final Class<?> owner, final Entity anchor) {
+        final CoroutineGroup group = (anchor != null) ? this.getGroup(anchor) : null;
+        if (group != null) group.increment();
+
+        final SchedulerPartition partition = this.getPartition(anchor);
+        partition.increment();
+
+        final CoroutineHandle handle = new CoroutineHandle(task, this.profiler.getEntry(task.getClass(), owner), group, partition);
+        this.schedule(handle);
+        return handle;
+    }
+
+    /**
+     * <p>Adds a task that is not anchored to an entity to the queue of its priority class, in the partition of a world</p>
+     * <p>Meant for batches that only work in one world (e.g. cosmetic effects), so their time is taken from that world's share of the budget
+     * instead of the global partition's. The partition covers the whole world, even if it is also split by region.</p>
+     * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @param world world that the task works in, or null for the global partition
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueueInWorld(final ICoroutine task, final Class<?> owner, final World world) {
+        final SchedulerPartition partition = (world != null) ? this.getPartition(world.getName()) : this.globalPartition;
+        partition.increment();
+
+        final CoroutineHandle handle = new CoroutineHandle(task, this.profiler.getEntry(task.getClass(), owner), null, partition);
+        this.schedule(handle);
+        return handle;
+    }
+
+    /**
+     * <p>Adds an async task to the queue of its priority class</p>
+     * <p>The owner is inferred the same way as {@link #enqueue(ICoroutine)}</p>
+     * @param task task to add
+     * @return handle that can be used to cancel the task
+     */
+    public <T> CoroutineHandle enqueueAsync(final IAsyncCoroutine<T> task) {
+        return this.enqueueAsync(task, getDefaultOwner(task), null);
+    }
+
+    /**
+     * Adds an async task to the queue of its priority class
+     * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @return handle that can be used to cancel the task
+     */
+    public <T> CoroutineHandle enqueueAsync(final IAsyncCoroutine<T> task, final Class<?> owner) {
+        return this.enqueueAsync(task, owner, null);
+    }
+
+    /**
+     * <p>Adds an async task to the queue of its priority class, optionally bound to the lifetime of an entity</p>
+     * <p>Async tasks bound to the same entity commit their results in the order their computations were submitted</p>
+     * <p>Only the main thread portions (prepare and commit) count towards the tick budget and profiling</p>
+     * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @param anchor entity that the task belongs to, or null if it does not belong to one
+     * @return handle that can be used to cancel the task
+     */
+    public <T> CoroutineHandle enqueueAsync(final IAsyncCoroutine<T> task, final Class<?> owner, final Entity anchor) {
+        final CoroutineGroup group = (anchor != null) ? this.getGroup(anchor) : null;
+        if (group != null) group.increment();
+
+        final SchedulerPartition partition = this.getPartition(anchor);
+        partition.increment();
+
+        final AsyncCoroutineTask<T> adapter = new AsyncCoroutineTask<>(this, task, group);
+        final CoroutineHandle handle = new CoroutineHandle(adapter, this.profiler.getEntry(task.getClass(), owner), group, partition);
+        this.schedule(handle);
+        return handle;
     }
 
     /**
-     * Adds a task to the queue
+     * <p>Adds a task to the strict lane, where it runs exactly once every tick (starting next tick) until it finishes or is cancelled</p>
+     * <p>Strict tasks do not count towards the tick budget and ignore {@link ICoroutine#getPriority()} and {@link ICoroutine#getNextDelay()}.
+     * Only use this for work that must be tick-accurate.</p>
      * @param task task to add
+     * @param owner mechanic that scheduled the task, used as a label for profiling
+     * @param anchor entity that the task belongs to, or null if it does not belong to one
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueueStrict(final ICoroutine task, final Class<?> owner, final Entity anchor) {
+        final CoroutineGroup group = (anchor != null) ? this.getGroup(anchor) : null;
+        if (group != null) group.increment();
+
+        final CoroutineHandle handle = new CoroutineHandle(task, this.profiler.getEntry(task.getClass(), owner), group, null);
+        this.pendingStrictTasks.add(handle);
+        return handle;
+    }
+
+    /**
+     * <p>Adds a task to the strict lane, bound to the lifetime of an entity</p>
+     * <p>The owner is inferred the same way as {@link #enqueue(ICoroutine)}</p>
+     * @param task task to add
+     * @param anchor entity that the task belongs to, or null if it does not belong to one
+     * @return handle that can be used to cancel the task
+     */
+    public CoroutineHandle enqueueStrict(final ICoroutine task, final Entity anchor) {
+        return this.enqueueStrict(task, getDefaultOwner(task), anchor);
+    }
+
+    /**
+     * @return amount of times the manager has run; effectively the current server tick as seen by this plugin
      */
-    public void enqueue(final ICoroutine task) {
-        this.scheduledTasks.add(task);
+    public long getCurrentTick() {
+        return this.currentTick;
     }
-    
+
+    /**
+     * @return amount of tasks in the strict lane
+     */
+    public int getStrictCount() {
+        return this.strictTasks.size() + this.pendingStrictTasks.size();
+    }
+
+    /**
+     * @return time in nanoseconds spent running the strict lane during the last tick
+     */
+    public long getLastStrictNanos() {
+        return this.lastStrictNanos;
+    }
+
+    /**
+     * <p>Runs an action once after a delay</p>
+     * <p>Timers are run at the start of the Coroutine Manager's tick and do not count towards the tick budget; keep them short
+     * (e.g. enqueue a task if heavier work is needed)</p>
+     * @param delay ticks to wait, at least 1
+     * @param action action to run
+     * @return handle that can be used to cancel the action
+     */
+    public TimerHandle scheduleAfter(final int delay, final Runnable action) {
+        final TimerHandle handle = new TimerHandle(() -> {
+            action.run();
+            return false;
+        }, 0);
+        this.timingWheel.schedule(handle, delay);
+        return handle;
+    }
+
+    /**
+     * <p>Runs an action repeatedly at a fixed interval until it returns false or is cancelled</p>
+     * <p>Timers are run at the start of the Coroutine Manager's tick and do not count towards the tick budget; keep them short</p>
+     * @param delay ticks to wait before the first run, at least 1
+     * @param period ticks between runs, at least 1
+     * @param action action to run; returns if it should run again
+     * @return handle that can be used to cancel the action
+     */
+    public TimerHandle scheduleEvery(final int delay, final int period, final BooleanSupplier action) {
+        final TimerHandle handle = new TimerHandle(action, Math.max(period, 1));
+        this.timingWheel.schedule(handle, delay);
+        return handle;
+    }
+
+    /**
+     * Cancels all tasks bound to an entity
+     * Tasks are discarded the next time they are reached in the queue
+     * @param key UUID of the anchor entity
+     */
+    public void cancelGroup(final UUID key) {
+        final CoroutineGroup group = this.groups.remove(key);
+        if (group != null) group.cancel();
+    }
+
+    /**
+     * @return profiler that records the time spent by each type of task
+     */
+    public CoroutineProfiler getProfiler() {
+        return this.profiler;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onUnload(final OminousWitherUnloadEvent event) {
+        this.cancelGroup(event.getWither().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onDeath(final EntityDeathEvent event) {
+        this.cancelGroup(event.getEntity().getUniqueId());
+    }
+
+    /**
+     * @return amount of async computations that have been submitted but not yet committed
+     */
+    public int getAsyncInFlight() {
+        return this.asyncInFlight;
+    }
+
+    /**
+     * Reserves a slot for a new async computation
+     * @return if a slot was available
+     */
+    boolean tryAcquireAsyncSlot() {
+        if (this.asyncInFlight >= this.maxAsyncInFlight) return false;
+
+        ++this.asyncInFlight;
+        return true;
+    }
+
+    void releaseAsyncSlot() {
+        --this.asyncInFlight;
+    }
+
+    Executor getAsyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    void logAsyncFailure(final IAsyncCoroutine<?> task, final Exception exception) {
+        if (this.logger == null) return;
+
+        final Throwable cause = (exception.getCause() != null) ? exception.getCause() : exception;
+        this.logger.warning("Async task " + task.getClass().getName() + " failed: " + cause);
+    }
+
+    /**
+     * Gets the group of an entity, creating it if it does not exist yet
+     */
+    private CoroutineGroup getGroup(final Entity anchor) {
+        final UUID key = anchor.getUniqueId();
+        CoroutineGroup group = this.groups.get(key);
+
+        //Group belongs to an old instance of this entity (e.g. reloaded before the sweep noticed) -> retire it
+        if (group != null && group.getAnchor() != anchor && group.isAnchorLost()) {
+            group.cancel();
+            group = null;
+        }
+
+        if (group == null) {
+            group = new CoroutineGroup(anchor);
+            this.groups.put(key, group);
+        }
+        return group;
+    }
+
+    /**
+     * Gets the partition for a task anchored to an entity, creating it if it does not exist yet
+     * @param anchor anchor entity, or null for the global partition
+     */
+    private SchedulerPartition getPartition(final Entity anchor) {
+        if (anchor == null) return this.globalPartition;
+
+        final World world = anchor.getWorld();
+        if (world == null) return this.globalPartition;
+
+        String key = world.getName();
+        if (this.regionSizeChunks > 0) {
+            final Location location = anchor.getLocation();
+            final int regionX = Math.floorDiv(location.getBlockX() >> 4, this.regionSizeChunks);
+            final int regionZ = Math.floorDiv(location.getBlockZ() >> 4, this.regionSizeChunks);
+            key = key + " [" + regionX + ", " + regionZ + "]";
+        }
+
+        return this.getPartition(key);
+    }
+
+    /**
+     * Gets a partition by its key, creating it if it does not exist yet
+     */
+    private SchedulerPartition getPartition(final String key) {
+        return this.partitions.computeIfAbsent(key, (partitionKey) -> new SchedulerPartition(partitionKey, this.currentTick));
+    }
+
+    /**
+     * Removes a task from a partition's count, removing the partition once it is empty
+     */
+    private void releasePartition(final SchedulerPartition partition) {
+        if (partition.decrement() <= 0 && partition != this.globalPartition) {
+            this.partitions.remove(partition.getKey(), partition);
+        }
+    }
+
+    /**
+     * Cancels and removes all groups whose anchor entity no longer exists
+     */
+    private void sweepGroups() {
+        final Iterator<CoroutineGroup> iterator = this.groups.values().iterator();
+        while (iterator.hasNext()) {
+            final CoroutineGroup group = iterator.next();
+            if (group.isAnchorLost()) {
+                group.cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Advances the timing wheel and runs everything that is due
+     * An action that throws is logged and not rescheduled, without affecting the others
+     */
+    private void runTimers() {
+        this.timingWheel.advance();
+
+        TimerHandle handle;
+        while ((handle = this.timingWheel.pollDue()) != null) {
+            if (handle.isCancelled()) continue;
+
+            boolean repeat;
+            try {
+                repeat = handle.fire();
+            }
+            catch (RuntimeException exception) {
+                if (this.logger != null) this.logger.warning("Scheduled timer threw an exception: " + exception);
+                repeat = false;
+            }
+
+            if (repeat) this.timingWheel.schedule(handle, handle.getPeriod());
+        }
+    }
+
+    /**
+     * Runs every task in the strict lane once, removing those that have finished or been cancelled
+     * A task that throws is logged and removed, without affecting the others
+     */
+    private void runStrictTasks() {
+        final long laneStartTime = System.nanoTime();
+
+        //Tasks added during this pass (e.g. by events fired from a strict task) wait for the next tick
+        if (!this.pendingStrictTasks.isEmpty()) {
+            this.strictTasks.addAll(this.pendingStrictTasks);
+            this.pendingStrictTasks.clear();
+        }
+
+        //Compact in place: tasks that continue are shifted down over those that have finished
+        final ArrayList<CoroutineHandle> tasks = this.strictTasks;
+        final int size = tasks.size();
+        int kept = 0;
+        int next = 0;
+        try {
+            while (next < size) {
+                final CoroutineHandle handle = tasks.get(next++);
+
+                boolean keep = false;
+                if (handle.isCancelled()) {
+                    this.discard(handle);
+                }
+                else {
+                    final long startTime = System.nanoTime();
+                    try {
+                        keep = handle.getCoroutine().tick();
+                    }
+                    catch (RuntimeException exception) {
+                        this.logTaskFailure(handle, exception);
+                        keep = false;
+                    }
+                    handle.getProfile().record(System.nanoTime() - startTime);
+
+                    if (!keep) this.finish(handle);
+                }
+
+                if (keep) tasks.set(kept++, handle);
+            }
+        }
+        finally {
+            //If the pass was cut short, tasks that weren't reached yet are kept for next tick
+            while (next < size) {
+                tasks.set(kept++, tasks.get(next++));
+            }
+
+            //Drop the tail left behind by compaction
+            tasks.subList(kept, size).clear();
+        }
+
+        this.lastStrictNanos = System.nanoTime() - laneStartTime;
+    }
+
+    private void schedule(final CoroutineHandle handle) {
+        handle.getPartition().schedule(handle);
+    }
+
+    /**
+     * Queues a task again after it has run or slept
+     * Anchored tasks are moved to the partition of their entity's current location first, in case it has changed world or region since
+     */
+    private void reschedule(final CoroutineHandle handle) {
+        final CoroutineGroup group = handle.getGroup();
+        if (group != null && !group.isCancelled()) {
+            final SchedulerPartition previous = handle.getPartition();
+            final SchedulerPartition current = this.getPartition(group.getAnchor());
+
+            if (current != previous) {
+                //Count in the new partition first so that a shared key is never removed in between
+                current.increment();
+                this.releasePartition(previous);
+                handle.setPartition(current);
+            }
+        }
+
+        this.schedule(handle);
+    }
+
+    /**
+     * Finishes a cancelled task and lets it clean up
+     * A cleanup that throws is logged, since the task is already removed either way
+     */
+    private void discard(final CoroutineHandle handle) {
+        this.finish(handle);
+
+        try {
+            handle.getCoroutine().onCancel();
+        }
+        catch (RuntimeException exception) {
+            this.logTaskFailure(handle, exception);
+        }
+    }
+
+    private void logTaskFailure(final CoroutineHandle handle, final RuntimeException exception) {
+        if (this.logger != null) this.logger.log(Level.WARNING, "Task " + handle.getCoroutine().getClass().getName() + " threw an exception and was removed", exception);
+    }
+
+    /**
+     * Marks a task as no longer scheduled, removing its group and partition once they are empty
+     */
+    private void finish(final CoroutineHandle handle) {
+        handle.markDone();
+
+        final SchedulerPartition partition = handle.getPartition();
+        if (partition != null) this.releasePartition(partition);
+
+        final CoroutineGroup group = handle.getGroup();
+        if (group != null && group.decrement() <= 0 && !group.isCancelled()) {
+            this.groups.remove(group.getKey(), group);
+        }
+    }
+
+    /**
+     * Runs a single operation from a class's queue and charges the time spent to that class
+     * Cancelled tasks that are reached are discarded without counting as an operation
+     * @param priorityClass class to run from
+     */
+    private void runNext(final SchedulerPartition.PriorityClass priorityClass) {
+        CoroutineHandle handle;
+        while (true) {
+            handle = priorityClass.queue.poll();
+            if (handle == null) {
+                priorityClass.pending = 0;
+                return;
+            }
+            --priorityClass.pending;
+
+            if (!handle.isCancelled()) break;
+
+            //Discard cancelled task
+            this.discard(handle);
+            if (priorityClass.pending <= 0) return;
+        }
+
+        //Run task operation; a task that throws is logged and dropped
+        final long startTime = System.nanoTime();
+        boolean shouldBeRescheduled;
+        try {
+            shouldBeRescheduled = handle.getCoroutine().tick();
+        }
+        catch (RuntimeException exception) {
+            this.logTaskFailure(handle, exception);
+            shouldBeRescheduled = false;
+        }
+        final long elapsed = System.nanoTime() - startTime;
+
+        priorityClass.virtualRuntime += elapsed / priorityClass.priority.getWeight();
+        priorityClass.lastServicedTick = this.currentTick;
+        handle.getProfile().record(elapsed);
+
+        //Schedule again if necessary, sleeping in the timing wheel if the task asked for a delay
+        //Timers run before the partitions in each tick, so a task woken on tick T + delay also runs on tick T + delay
+        if (shouldBeRescheduled) {
+            final int delay = handle.getCoroutine().getNextDelay();
+            if (delay > 1) {
+                final CoroutineHandle sleeping = handle;
+                this.timingWheel.schedule(new TimerHandle(() -> {
+                    this.reschedule(sleeping);
+                    return false;
+                }, 0), delay);
+            }
+            else {
+                this.reschedule(handle);
+            }
+        }
+        else {
+            this.finish(handle);
+        }
+    }
+
+    /**
+     * Profiling owner of a task when not specified: the class it was written in, or itself if it is a top level class
+     */
+    private static Class<?> getDefaultOwner(final Object task) {
+        final Class<?> enclosingClass = task.getClass().getEnclosingClass();
+        return (enclosingClass != null) ? enclosingClass : task.getClass();
+    }
+
 }
@@ -0,0 +1,42 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+/**
+ * <p>Scheduling class of a coroutine</p>
+ * <p>Each class receives a share of the per-tick budget proportional to its weight</p>
+ * @author Thomas Tran
+ */
+public enum CoroutinePriority {
+    /**
+     * Work that directly affects the fight (e.g. flight, attacks, health boundaries)
+     */
+    COMBAT(4, false),
+
+    /**
+     * Supporting behaviour that isn't time critical (e.g. location searches, spawn tracking)
+     */
+    AI(2, false),
+
+    /**
+     * Purely visual work; this is the first to be shed when the server is overloaded
+     */
+    COSMETIC(1, true),
+    ;
+
+    private final int weight;
+    private final boolean sheddable;
+
+    private CoroutinePriority(final int weight, final boolean sheddable) {
+        this.weight = weight;
+        this.sheddable = sheddable;
+    }
+
+    /**
+     * @return relative share of the tick budget this class receives
+     */
+    public int getWeight() {return this.weight;}
+
+    /**
+     * @return if this class can be skipped (outside of starvation guarantees) when the previous tick ran over budget
+     */
+    public boolean isSheddable() {return this.sheddable;}
+}
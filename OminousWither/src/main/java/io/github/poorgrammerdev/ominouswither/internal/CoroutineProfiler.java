@@ -0,0 +1,209 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * <p>Aggregates CPU time spent by the Coroutine Manager, grouped by coroutine class and the mechanic that scheduled it</p>
+ * <p>Totals and invocation counts cover everything since the last reset, while latency percentiles are taken from a window of recent samples</p>
+ * @author Thomas Tran
+ */
+public class CoroutineProfiler {
+    /**
+     * Amount of recent tick() durations kept per entry for percentile calculations
+     */
+    private static final int SAMPLE_WINDOW = 1024;
+
+    /**
+     * Entries keyed by coroutine class, then by owner class
+     */
+    private final HashMap<Class<?>, HashMap<Class<?>, Entry>> entries;
+
+    private long ticks;
+    private Instant resetTime;
+
+    public CoroutineProfiler() {
+        this.entries = new HashMap<>();
+        this.ticks = 0L;
+        this.resetTime = Instant.now();
+    }
+
+    /**
+     * Gets the entry for a coroutine type and owner, creating it if it does not exist yet
+     * @param coroutineClass class of the coroutine
+     * @param owner class of the mechanic that scheduled the coroutine
+     * @return entry to record samples to
+     */
+    public Entry getEntry(final Class<?> coroutineClass, final Class<?> owner) {
+        return this.entries
+            .computeIfAbsent(coroutineClass, (key) -> new HashMap<>())
+            .computeIfAbsent(owner, (key) -> new Entry(getDisplayName(coroutineClass), getDisplayName(owner)))
+        ;
+    }
+
+    /**
+     * Records that the Coroutine Manager has run for another tick
+     */
+    public void recordTick() {
+        ++this.ticks;
+    }
+
+    /**
+     * Clears all collected data
+     * Entries are cleared in place as scheduled coroutines keep references to them
+     */
+    public void reset() {
+        for (final HashMap<Class<?>, Entry> ownerMap : this.entries.values()) {
+            for (final Entry entry : ownerMap.values()) {
+                entry.reset();
+            }
+        }
+        this.ticks = 0L;
+        this.resetTime = Instant.now();
+    }
+
+    /**
+     * @return all entries that have been invoked at least once, sorted by total time spent descending
+     */
+    public List<Entry> getSortedEntries() {
+        final ArrayList<Entry> ret = new ArrayList<>();
+        for (final HashMap<Class<?>, Entry> ownerMap : this.entries.values()) {
+            for (final Entry entry : ownerMap.values()) {
+                if (entry.getInvocations() > 0) ret.add(entry);
+            }
+        }
+
+        ret.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return ret;
+    }
+
+    /**
+     * Writes all collected data to a CSV file
+     * @param file file to write to; parent directories are created if needed
+     * @throws IOException if the file could not be written
+     */
+    public void dump(final File file) throws IOException {
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent.getPath());
+        }
+
+        try (final PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            writer.println("coroutine,owner,invocations,total_nanos,nanos_per_tick,mean_nanos,p50_nanos,p99_nanos,max_nanos");
+            for (final Entry entry : this.getSortedEntries()) {
+                writer.println(
+                    entry.getCoroutineName() + "," +
+                    entry.getOwnerName() + "," +
+                    entry.getInvocations() + "," +
+                    entry.getTotalNanos() + "," +
+                    (this.ticks > 0 ? entry.getTotalNanos() / this.ticks : 0L) + "," +
+                    entry.getMeanNanos() + "," +
+                    entry.getPercentileNanos(0.50D) + "," +
+                    entry.getPercentileNanos(0.99D) + "," +
+                    entry.getMaxNanos()
+                );
+            }
+        }
+    }
+
+    /**
+     * @return how many ticks the Coroutine Manager has run since the last reset
+     */
+    public long getTicks() {return this.ticks;}
+
+    /**
+     * @return when data was last reset
+     */
+    public Instant getResetTime() {return this.resetTime;}
+
+    /**
+     * Gets a readable name for a class, using the enclosing class for anonymous classes
+     * e.g. an anonymous ICoroutine inside LifeDrain becomes "LifeDrain$1"
+     */
+    private static String getDisplayName(final Class<?> clazz) {
+        if (clazz == null) return "Unknown";
+
+        final String name = clazz.getName();
+        final int index = name.lastIndexOf('.');
+        return (index >= 0) ? name.substring(index + 1) : name;
+    }
+
+    /**
+     * Collected data for a single coroutine type and owner pair
+     */
+    public static class Entry {
+        private final String coroutineName;
+        private final String ownerName;
+
+        private long totalNanos;
+        private long invocations;
+        private long maxNanos;
+
+        /**
+         * Ring buffer of recent durations
+         */
+        private final long[] samples;
+        private int sampleIndex;
+        private int sampleCount;
+
+        private Entry(final String coroutineName, final String ownerName) {
+            this.coroutineName = coroutineName;
+            this.ownerName = ownerName;
+            this.samples = new long[SAMPLE_WINDOW];
+            this.reset();
+        }
+
+        /**
+         * Records a single tick() call
+         * @param nanos time taken in nanoseconds
+         */
+        public void record(final long nanos) {
+            this.totalNanos += nanos;
+            ++this.invocations;
+            if (nanos > this.maxNanos) this.maxNanos = nanos;
+
+            this.samples[this.sampleIndex] = nanos;
+            this.sampleIndex = (this.sampleIndex + 1) % SAMPLE_WINDOW;
+            if (this.sampleCount < SAMPLE_WINDOW) ++this.sampleCount;
+        }
+
+        private void reset() {
+            this.totalNanos = 0L;
+            this.invocations = 0L;
+            this.maxNanos = 0L;
+            this.sampleIndex = 0;
+            this.sampleCount = 0;
+        }
+
+        /**
+         * Gets a latency percentile from the recent sample window
+         * @param percentile value in the interval [0,1]
+         * @return duration in nanoseconds, or 0 if there are no samples
+         */
+        public long getPercentileNanos(final double percentile) {
+            if (this.sampleCount == 0) return 0L;
+
+            final long[] sorted = Arrays.copyOf(this.samples, this.sampleCount);
+            Arrays.sort(sorted);
+
+            final int index = (int) Math.ceil(percentile * this.sampleCount) - 1;
+            return sorted[Math.min(Math.max(index, 0), this.sampleCount - 1)];
+        }
+
+        public long getMeanNanos() {
+            return (this.invocations > 0) ? this.totalNanos / this.invocations : 0L;
+        }
+
+        public String getCoroutineName() {return this.coroutineName;}
+        public String getOwnerName() {return this.ownerName;}
+        public long getTotalNanos() {return this.totalNanos;}
+        public long getInvocations() {return this.invocations;}
+        public long getMaxNanos() {return this.maxNanos;}
+    }
+}
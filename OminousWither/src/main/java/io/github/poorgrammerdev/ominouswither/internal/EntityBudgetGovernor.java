@@ -0,0 +1,419 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Wither;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.ProjectileHitEvent;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+
+/**
+ * <p>Bounds the amount of custom entities (minions, horsemen, barrage skulls) that Ominous Withers can have alive at once</p>
+ * <p>Live entities are counted per Wither, per chunk region and per world. Mechanics ask for a budget before spawning and are given as much
+ * as every ceiling allows; the rest is either dropped (e.g. fewer duplicate skulls) or retried a little later (e.g. minions).</p>
+ * <p>Granted budget is reserved right away, since spawns are spread over several ticks and overlapping requests would otherwise all be given
+ * the same room. Each spawned entity takes over one reserved slot, and whatever wasn't spawned must be released once the spawns are done.</p>
+ * <p>Entities are counted against the region their spawn was requested in, by UUID, until they die or are removed.
+ * Persistent entities (e.g. minions) stay counted while their chunk is unloaded, since they come back when it loads again.
+ * Counts are not saved, so entities from before a restart are not counted.</p>
+ * @author Thomas Tran
+ */
+public class EntityBudgetGovernor implements Listener {
+    /**
+     * How often (in ticks) entities that were removed without dying are cleared
+     */
+    private static final int SWEEP_PERIOD = 20;
+
+    /**
+     * Ticks a reservation is held for at most; bounds how long budget stays taken if a mechanic never releases it (e.g. it was cancelled)
+     */
+    private static final int RESERVATION_LIFESPAN = 200;
+
+    /**
+     * Minimum time between warnings about a ceiling being reached
+     */
+    private static final long WARNING_COOLDOWN_MILLIS = 60000L;
+
+    private final OminousWither plugin;
+
+    private boolean enabled;
+    private int maxPerWither;
+    private int maxPerRegion;
+    private int maxPerWorld;
+    private int regionSizeChunks;
+    private int retryDelay;
+    private int maxRetries;
+
+    //Keyed by UUID since an entity that unloads and loads again is given a new wrapper object
+    private final HashMap<UUID, Counted> tracked;
+    private final HashMap<UUID, Integer> witherCounts;
+    private final HashMap<String, Integer> regionCounts;
+    private final HashMap<String, Integer> worldCounts;
+    private final ArrayList<Reservation> reservations;
+
+    private int deferredCount;
+    private long droppedCount;
+    private long lastWarningMillis;
+
+    public EntityBudgetGovernor(final OminousWither plugin) {
+        this.plugin = plugin;
+
+        this.tracked = new HashMap<>();
+        this.witherCounts = new HashMap<>();
+        this.regionCounts = new HashMap<>();
+        this.worldCounts = new HashMap<>();
+        this.reservations = new ArrayList<>();
+
+        //Set to placeholder default values before the config is loaded in
+        this.enabled = false;
+        this.deferredCount = 0;
+        this.droppedCount = 0L;
+        this.lastWarningMillis = 0L;
+    }
+
+    /**
+     * Reads the ceilings from the config and starts clearing removed entities; call after the coroutine manager has been loaded
+     */
+    public void load() {
+        this.enabled = this.plugin.getConfig().getBoolean("entity_budget.enabled", true);
+        this.maxPerWither = Math.max(this.plugin.getConfig().getInt("entity_budget.max_per_wither", 48), 0);
+        this.maxPerRegion = Math.max(this.plugin.getConfig().getInt("entity_budget.max_per_region", 96), 0);
+        this.maxPerWorld = Math.max(this.plugin.getConfig().getInt("entity_budget.max_per_world", 256), 0);
+        this.regionSizeChunks = Math.max(this.plugin.getConfig().getInt("entity_budget.region_size_chunks", 8), 1);
+        this.retryDelay = Math.max(this.plugin.getConfig().getInt("entity_budget.retry_delay", 40), 1);
+        this.maxRetries = Math.max(this.plugin.getConfig().getInt("entity_budget.max_retries", 5), 0);
+
+        this.plugin.getCoroutineManager().scheduleEvery(SWEEP_PERIOD, SWEEP_PERIOD, () -> {
+            this.sweep();
+            return true;
+        });
+    }
+
+    /**
+     * Asks for room to spawn custom entities and reserves as much as is allowed
+     * @param owner Ominous Wither the entities would belong to
+     * @param location where the entities would be spawned
+     * @param amount amount of entities wanted
+     * @return reservation of between 0 and amount entities; must be {@link #release(Reservation) released} once done spawning
+     */
+    public Reservation request(final Wither owner, final Location location, final int amount) {
+        return this.reserve(owner, location, this.getAllowed(owner, location, amount));
+    }
+
+    /**
+     * Frees whatever part of a reservation wasn't taken over by a spawned entity; does nothing if it was already released or expired
+     * @param reservation reservation given by {@link #request(Wither, Location, int)} or to a budgeted spawner
+     */
+    public void release(final Reservation reservation) {
+        if (reservation.remaining <= 0) return;
+
+        this.adjust(reservation.key, -reservation.remaining);
+        reservation.remaining = 0;
+        this.reservations.remove(reservation);
+    }
+
+    /**
+     * <p>Spawns as much of a group as the budget allows right away, and retries the rest after a delay</p>
+     * <p>Whatever is still left after the configured amount of retries, or once the owner is gone, is dropped</p>
+     * @param owner Ominous Wither the entities belong to
+     * @param location where the entities are spawned
+     * @param amount amount of units to spawn
+     * @param cost amount of entities each unit is made of (e.g. 2 for a horse and its rider)
+     * @param spawner spawns the given amount of units; must {@link #track(Entity, Reservation) track} everything it spawns against
+     * the given reservation, and {@link #release(Reservation) release} it once done
+     */
+    public void spawnBudgeted(final Wither owner, final Location location, final int amount, final int cost, final ObjIntConsumer<Reservation> spawner) {
+        this.spawnBudgeted(owner, location, amount, Math.max(cost, 1), spawner, 0);
+    }
+
+    private void spawnBudgeted(final Wither owner, final Location location, final int amount, final int cost, final ObjIntConsumer<Reservation> spawner, final int attempt) {
+        //Only whole units are reserved
+        final int allowed = this.getAllowed(owner, location, amount * cost) / cost;
+        if (allowed > 0) spawner.accept(this.reserve(owner, location, allowed * cost), allowed);
+
+        final int remaining = amount - allowed;
+        if (remaining <= 0) return;
+
+        if (attempt >= this.maxRetries) {
+            this.droppedCount += remaining;
+            return;
+        }
+
+        this.deferredCount += remaining;
+        this.plugin.getCoroutineManager().scheduleAfter(this.retryDelay, () -> {
+            this.deferredCount -= remaining;
+
+            if (!owner.isValid()) {
+                this.droppedCount += remaining;
+                return;
+            }
+            this.spawnBudgeted(owner, location, remaining, cost, spawner, attempt + 1);
+        });
+    }
+
+    /**
+     * Counts a spawned custom entity against its owner, region and world until it dies or is removed
+     * @param entity spawned entity
+     * @param reservation reservation the entity was spawned under; one reserved slot is taken over, or the entity is counted on top if none are left
+     */
+    public void track(final Entity entity, final Reservation reservation) {
+        if (reservation.key == null || this.tracked.containsKey(entity.getUniqueId())) return;
+
+        this.tracked.put(entity.getUniqueId(), new Counted(entity, reservation.key));
+        if (reservation.remaining > 0) {
+            if (--reservation.remaining == 0) this.reservations.remove(reservation);
+        }
+        else {
+            this.adjust(reservation.key, 1);
+        }
+    }
+
+    /**
+     * @return amount of custom entities currently counted
+     */
+    public int getTrackedCount() {
+        return this.tracked.size();
+    }
+
+    /**
+     * @return amount of custom entities currently counted against a Wither
+     */
+    public int getCount(final Wither owner) {
+        return this.witherCounts.getOrDefault(owner.getUniqueId(), 0);
+    }
+
+    /**
+     * @return read-only view of the custom entity count of each region that has any, keyed by world name and region coordinates
+     */
+    public Map<String, Integer> getRegionCounts() {
+        return Collections.unmodifiableMap(this.regionCounts);
+    }
+
+    /**
+     * @return read-only view of the custom entity count of each world that has any, keyed by world name
+     */
+    public Map<String, Integer> getWorldCounts() {
+        return Collections.unmodifiableMap(this.worldCounts);
+    }
+
+    /**
+     * @return amount of entities waiting to be retried
+     */
+    public int getDeferredCount() {
+        return this.deferredCount;
+    }
+
+    /**
+     * @return amount of entities that were never spawned because the budget stayed full
+     */
+    public long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    /**
+     * @return if the ceilings are being enforced
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onDeath(final EntityDeathEvent event) {
+        this.release(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onProjectileHit(final ProjectileHitEvent event) {
+        this.release(event.getEntity());
+    }
+
+    /**
+     * Clears entities that were removed without dying (e.g. despawned, or removed by another mechanic) and expired reservations
+     * Persistent entities in unloaded chunks are kept
+     */
+    private void sweep() {
+        final Iterator<Map.Entry<UUID, Counted>> iterator = this.tracked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<UUID, Counted> entry = iterator.next();
+            final Counted counted = entry.getValue();
+            if (counted.entity.isValid() || this.isUnloaded(counted.entity)) continue;
+
+            //Entity may have loaded back in under a new wrapper
+            final Entity current = this.plugin.getServer().getEntity(entry.getKey());
+            if (current != null && current.isValid()) {
+                counted.entity = current;
+                continue;
+            }
+
+            iterator.remove();
+            this.adjust(counted.key, -1);
+        }
+
+        final long tick = this.plugin.getCoroutineManager().getCurrentTick();
+        this.reservations.removeIf((reservation) -> {
+            if (tick < reservation.expiryTick) return false;
+
+            this.adjust(reservation.key, -reservation.remaining);
+            reservation.remaining = 0;
+            return true;
+        });
+    }
+
+    private void release(final Entity entity) {
+        final Counted counted = this.tracked.remove(entity.getUniqueId());
+        if (counted != null) this.adjust(counted.key, -1);
+    }
+
+    /**
+     * @return if the entity is persistent and was last seen in a chunk that is now unloaded, so it will come back once the chunk loads
+     */
+    private boolean isUnloaded(final Entity entity) {
+        if (!entity.isPersistent()) return false;
+
+        final Location location = entity.getLocation();
+        final World world = location.getWorld();
+        return world != null && !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * @return amount of entities that may be spawned right now, between 0 and amount
+     */
+    private int getAllowed(final Wither owner, final Location location, final int amount) {
+        if (!this.enabled || amount <= 0) return Math.max(amount, 0);
+
+        final World world = location.getWorld();
+        if (world == null) return 0;
+
+        int allowed = amount;
+        allowed = Math.min(allowed, this.maxPerWither - this.witherCounts.getOrDefault(owner.getUniqueId(), 0));
+        allowed = Math.min(allowed, this.maxPerRegion - this.regionCounts.getOrDefault(this.getRegionKey(location), 0));
+        allowed = Math.min(allowed, this.maxPerWorld - this.worldCounts.getOrDefault(world.getName(), 0));
+        allowed = Math.max(allowed, 0);
+
+        if (allowed < amount) this.warn(location);
+        return allowed;
+    }
+
+    /**
+     * Counts an amount of entities that are about to be spawned against the owner, region and world
+     */
+    private Reservation reserve(final Wither owner, final Location location, final int amount) {
+        final World world = location.getWorld();
+        if (world == null) return new Reservation(null, 0, 0L);
+
+        final Reservation reservation = new Reservation(
+            new Tracked(owner.getUniqueId(), this.getRegionKey(location), world.getName()),
+            amount,
+            this.plugin.getCoroutineManager().getCurrentTick() + RESERVATION_LIFESPAN
+        );
+        if (amount > 0) {
+            this.adjust(reservation.key, amount);
+            this.reservations.add(reservation);
+        }
+        return reservation;
+    }
+
+    private void adjust(final Tracked entry, final int delta) {
+        increment(this.witherCounts, entry.ownerID, delta);
+        increment(this.regionCounts, entry.regionKey, delta);
+        increment(this.worldCounts, entry.worldName, delta);
+    }
+
+    /**
+     * Warns that a ceiling was reached, at most once per cooldown
+     */
+    private void warn(final Location location) {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastWarningMillis < WARNING_COOLDOWN_MILLIS) return;
+        this.lastWarningMillis = now;
+
+        this.plugin.getLogger().warning(
+            "Entity budget reached near " + this.getRegionKey(location) + " (" + this.tracked.size() + " custom entities alive); spawns are being reduced or delayed"
+        );
+    }
+
+    /**
+     * @return world name and region coordinates, formatted the same way as scheduler partitions
+     */
+    private String getRegionKey(final Location location) {
+        final World world = location.getWorld();
+        final int regionX = Math.floorDiv(location.getBlockX() >> 4, this.regionSizeChunks);
+        final int regionZ = Math.floorDiv(location.getBlockZ() >> 4, this.regionSizeChunks);
+        return ((world != null) ? world.getName() : "null") + " [" + regionX + ", " + regionZ + "]";
+    }
+
+    /**
+     * Adds to a count, removing it once it reaches zero so the maps only hold what is in use
+     */
+    private static <K> void increment(final HashMap<K, Integer> counts, final K key, final int delta) {
+        final int count = counts.getOrDefault(key, 0) + delta;
+        if (count > 0) counts.put(key, count);
+        else counts.remove(key);
+    }
+
+    /**
+     * Budget set aside for entities that are about to be spawned
+     */
+    public static class Reservation {
+        private final Tracked key;
+        private final int amount;
+        private final long expiryTick;
+        private int remaining;
+
+        private Reservation(final Tracked key, final int amount, final long expiryTick) {
+            this.key = key;
+            this.amount = amount;
+            this.expiryTick = expiryTick;
+            this.remaining = amount;
+        }
+
+        /**
+         * @return amount of entities that may be spawned under this reservation
+         */
+        public int getAmount() {
+            return this.amount;
+        }
+    }
+
+    /**
+     * Counted entity, and the owner, region and world it is counted against
+     */
+    private static class Counted {
+        private final Tracked key;
+
+        /**
+         * Latest wrapper object of the entity
+         */
+        private Entity entity;
+
+        private Counted(final Entity entity, final Tracked key) {
+            this.entity = entity;
+            this.key = key;
+        }
+    }
+
+    private static class Tracked {
+        private final UUID ownerID;
+        private final String regionKey;
+        private final String worldName;
+
+        private Tracked(final UUID ownerID, final String regionKey, final String worldName) {
+            this.ownerID = ownerID;
+            this.regionKey = regionKey;
+            this.worldName = worldName;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Represents a task whose heavy computation can run off of the main thread</p>
+ * <p>Each cycle is split into two phases:</p>
+ * <ul>
+ * <li>Prepare (main thread): read everything needed from the world into immutable inputs and submit the computation to the given executor</li>
+ * <li>Commit (main thread): apply the finished result to the world, once the computation is complete</li>
+ * </ul>
+ * <p>The computation itself must not touch the world or any other Bukkit state.</p>
+ * @param <T> type of the computed result
+ * @author Thomas Tran
+ */
+public interface IAsyncCoroutine<T> {
+    /**
+     * Snapshot inputs and begin the off-thread computation
+     * @param executor executor to run the computation on, e.g. {@link CompletableFuture#supplyAsync(java.util.function.Supplier, Executor)}
+     * @return future of the computed result
+     */
+    public CompletableFuture<T> prepare(Executor executor);
+
+    /**
+     * Apply a finished result
+     * @param result result of the computation from {@link #prepare(Executor)}
+     * @return if the task should be rescheduled to prepare another cycle
+     */
+    public boolean commit(T result);
+
+    /**
+     * Scheduling class of this task; determines its share of the tick budget and if it can be shed under load
+     * @return priority class, defaults to {@link CoroutinePriority#AI}
+     */
+    public default CoroutinePriority getPriority() {
+        return CoroutinePriority.AI;
+    }
+
+    /**
+     * Called once if this task is discarded because it or its group was cancelled, instead of finishing by itself
+     * Any computation still in progress has its result dropped
+     */
+    public default void onCancel() {}
+
+}
@@ -1,7 +1,7 @@
 package io.github.poorgrammerdev.ominouswither.internal;
 
 /**
- * Represents a task that's split across multiple ticks 
+ * Represents a task that's split across multiple ticks
  * Referencing code from this thread: https://www.spigotmc.org/threads/guide-on-workload-distribution-or-how-to-handle-heavy-splittable-tasks.409003/
  */
 public interface ICoroutine {
@@ -11,4 +11,28 @@ public interface ICoroutine {
      */
     public boolean tick();
 
+    /**
+     * Scheduling class of this task; determines its share of the tick budget and if it can be shed under load
+     * @return priority class, defaults to {@link CoroutinePriority#AI}
+     */
+    public default CoroutinePriority getPriority() {
+        return CoroutinePriority.AI;
+    }
+
+    /**
+     * <p>How long to wait before the next operation, checked each time {@link #tick()} asks to be rescheduled</p>
+     * <p>Tasks that only need to act every so often (e.g. waiting on a cooldown) should return a larger value instead of polling every tick;
+     * they sleep in the Coroutine Manager's timing wheel and cost nothing until they wake</p>
+     * @return ticks until the next operation, defaults to 1 (the next tick)
+     */
+    public default int getNextDelay() {
+        return 1;
+    }
+
+    /**
+     * Called once if this task is discarded because it or its group was cancelled, instead of finishing by itself
+     * Use this for cleanup that would otherwise happen when the task notices its entity is gone
+     */
+    public default void onCancel() {}
+
 }
@@ -0,0 +1,357 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * <p>Short-lived cache of line of sight results, keyed by the block each end of the line is in</p>
+ * <p>Withers and their targets rarely move more than a fraction of a block per tick, so the same pair of blocks is checked many ticks in a row.
+ * A result is reused until it expires, either end moves to another block, or a block changes in any chunk section the line passes through.</p>
+ * <p>Blocks changed without an event (e.g. {@link Block#breakNaturally()}) must be reported with {@link #invalidate(Block)}.
+ * Must only be used from the main thread.</p>
+ * @author Thomas Tran
+ */
+public class LineOfSightCache implements Listener {
+    /**
+     * Ticks a result is reused for, even if nothing invalidates it; bounds how stale a result can be when a change is missed
+     */
+    private static final int ENTRY_LIFESPAN = 20;
+
+    /**
+     * How often (in ticks) expired results are cleared
+     */
+    private static final int SWEEP_PERIOD = 100;
+
+    private final CoroutineManager coroutineManager;
+    private final HashMap<UUID, WorldCache> caches;
+
+    /**
+     * Reused to look up entries without allocating a key
+     */
+    private final Key probe;
+
+    private long hits;
+    private long misses;
+
+    public LineOfSightCache(final CoroutineManager coroutineManager) {
+        this.coroutineManager = coroutineManager;
+        this.caches = new HashMap<>();
+        this.probe = new Key();
+        this.hits = 0L;
+        this.misses = 0L;
+    }
+
+    /**
+     * Starts clearing expired results; call after the coroutine manager has been loaded
+     */
+    public void load() {
+        this.coroutineManager.scheduleEvery(SWEEP_PERIOD, SWEEP_PERIOD, () -> {
+            final long tick = this.coroutineManager.getCurrentTick();
+            this.caches.values().removeIf((cache) -> cache.sweep(tick));
+            return true;
+        });
+    }
+
+    /**
+     * Cached {@link Utils#hasBreakableLineOfSight(Location, Location)}
+     */
+    public boolean hasBreakableLineOfSight(final Location origin, final Location target) {
+        return this.get(origin, target, true);
+    }
+
+    /**
+     * Cached {@link Utils#hasLineOfSight(Location, Location)}
+     */
+    public boolean hasLineOfSight(final Location origin, final Location target) {
+        return this.get(origin, target, false);
+    }
+
+    /**
+     * Drops every result whose line passes through the chunk section of a block that was changed without an event
+     */
+    public void invalidate(final Block block) {
+        this.invalidate(block.getWorld(), block.getX() >> 4, block.getY() >> 4, block.getZ() >> 4);
+    }
+
+    /**
+     * Drops every result whose line passes through a chunk section, for when many blocks in it were changed without an event
+     */
+    public void invalidate(final World world, final int sectionX, final int sectionY, final int sectionZ) {
+        final WorldCache cache = this.caches.get(world.getUID());
+        if (cache != null) cache.invalidate(sectionX, sectionY, sectionZ);
+    }
+
+    /**
+     * @return amount of results currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (final WorldCache cache : this.caches.values()) {
+            size += cache.entries.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return amount of checks answered from the cache
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return amount of checks that had to walk the line
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockBreak(final BlockBreakEvent event) {
+        this.invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockPlace(final BlockPlaceEvent event) {
+        this.invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockExplode(final BlockExplodeEvent event) {
+        this.invalidate(event.getBlock());
+        this.invalidateAll(event.blockList());
+    }
+
+    //Wither skulls and Withers breaking blocks as they fly are the most common changes during a fight
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onEntityExplode(final EntityExplodeEvent event) {
+        this.invalidateAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onEntityChangeBlock(final EntityChangeBlockEvent event) {
+        this.invalidate(event.getBlock());
+    }
+
+    @EventHandler
+    private void onWorldUnload(final WorldUnloadEvent event) {
+        this.caches.remove(event.getWorld().getUID());
+    }
+
+    private void invalidateAll(final List<Block> blocks) {
+        for (final Block block : blocks) {
+            this.invalidate(block);
+        }
+    }
+
+    private boolean get(final Location origin, final Location target, final boolean breakable) {
+        final World world = origin.getWorld();
+        if (world == null || !world.equals(target.getWorld())) return false;
+
+        final long tick = this.coroutineManager.getCurrentTick();
+        WorldCache cache = this.caches.get(world.getUID());
+        if (cache == null) {
+            cache = new WorldCache();
+            this.caches.put(world.getUID(), cache);
+        }
+
+        this.probe.set(origin, target, breakable);
+        final Entry cached = cache.entries.get(this.probe);
+        if (cached != null && cached.valid && tick < cached.expiryTick) {
+            ++this.hits;
+            return cached.result;
+        }
+
+        ++this.misses;
+        final boolean result = breakable ? Utils.hasBreakableLineOfSight(origin, target) : Utils.hasLineOfSight(origin, target);
+
+        //Results for a pair are replaced rather than updated so the old entry can't be reached from any section it was indexed in
+        if (cached != null) cached.valid = false;
+
+        final Entry entry = new Entry(result, tick + ENTRY_LIFESPAN);
+        cache.entries.put(this.probe.copy(), entry);
+        cache.index(entry, origin, target);
+        return result;
+    }
+
+    /**
+     * Packs chunk section coordinates into a single key
+     */
+    private static long sectionKey(final int sectionX, final int sectionY, final int sectionZ) {
+        return ((sectionX & 0x3FFFFFL) << 42) | ((sectionZ & 0x3FFFFFL) << 20) | (sectionY & 0xFFFFFL);
+    }
+
+    private static class WorldCache {
+        private final HashMap<Key, Entry> entries;
+
+        /**
+         * Every entry whose line passes through a chunk section, keyed by that section
+         */
+        private final HashMap<Long, ArrayList<Entry>> sections;
+
+        private WorldCache() {
+            this.entries = new HashMap<>();
+            this.sections = new HashMap<>();
+        }
+
+        private void invalidate(final int sectionX, final int sectionY, final int sectionZ) {
+            final ArrayList<Entry> entries = this.sections.remove(sectionKey(sectionX, sectionY, sectionZ));
+            if (entries == null) return;
+
+            for (final Entry entry : entries) {
+                entry.valid = false;
+            }
+        }
+
+        /**
+         * Records every chunk section the line passes through, found by walking the section grid with 3D-DDA
+         */
+        private void index(final Entry entry, final Location origin, final Location target) {
+            final double fromX = origin.getX() / 16.0D;
+            final double fromY = origin.getY() / 16.0D;
+            final double fromZ = origin.getZ() / 16.0D;
+            final double dx = target.getX() / 16.0D - fromX;
+            final double dy = target.getY() / 16.0D - fromY;
+            final double dz = target.getZ() / 16.0D - fromZ;
+
+            int x = origin.getBlockX() >> 4;
+            int y = origin.getBlockY() >> 4;
+            int z = origin.getBlockZ() >> 4;
+            final int endX = target.getBlockX() >> 4;
+            final int endY = target.getBlockY() >> 4;
+            final int endZ = target.getBlockZ() >> 4;
+
+            final int stepX = (dx > 0.0D) ? 1 : -1;
+            final int stepY = (dy > 0.0D) ? 1 : -1;
+            final int stepZ = (dz > 0.0D) ? 1 : -1;
+            final double deltaX = (dx != 0.0D) ? Math.abs(1.0D / dx) : Double.POSITIVE_INFINITY;
+            final double deltaY = (dy != 0.0D) ? Math.abs(1.0D / dy) : Double.POSITIVE_INFINITY;
+            final double deltaZ = (dz != 0.0D) ? Math.abs(1.0D / dz) : Double.POSITIVE_INFINITY;
+            double nextX = (dx != 0.0D) ? (((dx > 0.0D) ? (x + 1 - fromX) : (fromX - x)) * deltaX) : Double.POSITIVE_INFINITY;
+            double nextY = (dy != 0.0D) ? (((dy > 0.0D) ? (y + 1 - fromY) : (fromY - y)) * deltaY) : Double.POSITIVE_INFINITY;
+            double nextZ = (dz != 0.0D) ? (((dz > 0.0D) ? (z + 1 - fromZ) : (fromZ - z)) * deltaZ) : Double.POSITIVE_INFINITY;
+
+            while (true) {
+                this.sections.computeIfAbsent(sectionKey(x, y, z), (key) -> new ArrayList<>()).add(entry);
+                if (x == endX && y == endY && z == endZ) return;
+
+                if (nextX <= nextY && nextX <= nextZ) {
+                    if (nextX > 1.0D) return;
+                    x += stepX;
+                    nextX += deltaX;
+                }
+                else if (nextY <= nextZ) {
+                    if (nextY > 1.0D) return;
+                    y += stepY;
+                    nextY += deltaY;
+                }
+                else {
+                    if (nextZ > 1.0D) return;
+                    z += stepZ;
+                    nextZ += deltaZ;
+                }
+            }
+        }
+
+        /**
+         * Clears expired and invalidated results
+         * @return if this cache is now empty
+         */
+        private boolean sweep(final long tick) {
+            this.entries.values().removeIf((entry) -> (!entry.valid || tick >= entry.expiryTick));
+            this.sections.values().removeIf((entries) -> {
+                entries.removeIf((entry) -> (!entry.valid || tick >= entry.expiryTick));
+                return entries.isEmpty();
+            });
+            return this.entries.isEmpty();
+        }
+    }
+
+    private static class Entry {
+        private final boolean result;
+        private final long expiryTick;
+        private boolean valid;
+
+        private Entry(final boolean result, final long expiryTick) {
+            this.result = result;
+            this.expiryTick = expiryTick;
+            this.valid = true;
+        }
+    }
+
+    /**
+     * Block coordinates of both ends of a line, and which check it was
+     */
+    private static class Key {
+        private int originX;
+        private int originY;
+        private int originZ;
+        private int targetX;
+        private int targetY;
+        private int targetZ;
+        private boolean breakable;
+
+        private void set(final Location origin, final Location target, final boolean breakable) {
+            this.originX = origin.getBlockX();
+            this.originY = origin.getBlockY();
+            this.originZ = origin.getBlockZ();
+            this.targetX = target.getBlockX();
+            this.targetY = target.getBlockY();
+            this.targetZ = target.getBlockZ();
+            this.breakable = breakable;
+        }
+
+        private Key copy() {
+            final Key key = new Key();
+            key.originX = this.originX;
+            key.originY = this.originY;
+            key.originZ = this.originZ;
+            key.targetX = this.targetX;
+            key.targetY = this.targetY;
+            key.targetZ = this.targetZ;
+            key.breakable = this.breakable;
+            return key;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) return true;
+            if (!(object instanceof Key)) return false;
+
+            final Key other = (Key) object;
+            return (
+                this.originX == other.originX && this.originY == other.originY && this.originZ == other.originZ &&
+                this.targetX == other.targetX && this.targetY == other.targetY && this.targetZ == other.targetZ &&
+                this.breakable == other.breakable
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.originX;
+            hash = 31 * hash + this.originY;
+            hash = 31 * hash + this.originZ;
+            hash = 31 * hash + this.targetX;
+            hash = 31 * hash + this.targetY;
+            hash = 31 * hash + this.targetZ;
+            return 31 * hash + (this.breakable ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.bukkit.entity.Projectile;
+
+/**
+ * <p>Removes custom projectiles once their lifespan is over</p>
+ * <p>Each projectile is registered once with the absolute tick it expires on and kept in a min-heap ordered by that tick.
+ * Every tick only the top of the heap is looked at, so a projectile costs nothing until it actually expires, and expiring one is O(log n).</p>
+ * <p>Projectiles that are gone before they expire (e.g. they hit something) are simply discarded when they reach the top</p>
+ * @author Thomas Tran
+ */
+public class ProjectileLifecycleManager {
+    private final CoroutineManager coroutineManager;
+    private final PriorityQueue<Entry> expiries;
+
+    /**
+     * Incremented for every projectile registered so projectiles expiring on the same tick are removed in the order they were registered
+     */
+    private long sequence;
+
+    public ProjectileLifecycleManager(final CoroutineManager coroutineManager) {
+        this.coroutineManager = coroutineManager;
+        this.expiries = new PriorityQueue<>((entry1, entry2) -> (
+            (entry1.expiryTick != entry2.expiryTick) ? Long.compare(entry1.expiryTick, entry2.expiryTick) : Long.compare(entry1.sequence, entry2.sequence)
+        ));
+        this.sequence = 0L;
+    }
+
+    /**
+     * Starts checking for expired projectiles; call after the coroutine manager has been loaded
+     */
+    public void load() {
+        this.coroutineManager.scheduleEvery(1, 1, () -> {
+            this.expire();
+            return true;
+        });
+    }
+
+    /**
+     * Registers a projectile to be removed once it has lived for its lifespan
+     * @param projectile projectile to register
+     * @param lifespan total ticks the projectile may live for, counted from when it was spawned
+     * @param onExpire called right before the projectile is removed for expiring, or null; not called if it is gone before then
+     */
+    public void register(final Projectile projectile, final double lifespan, final Consumer<Projectile> onExpire) {
+        final long remaining = Math.max((long) Math.ceil(lifespan - projectile.getTicksLived()), 0L);
+        this.expiries.add(new Entry(projectile, this.coroutineManager.getCurrentTick() + remaining, this.sequence++, onExpire));
+    }
+
+    /**
+     * @return amount of projectiles waiting to expire, including ones that are already gone but haven't been discarded yet
+     */
+    public int size() {
+        return this.expiries.size();
+    }
+
+    /**
+     * Removes every projectile whose expiry tick has been reached
+     */
+    private void expire() {
+        final long tick = this.coroutineManager.getCurrentTick();
+
+        Entry entry;
+        while ((entry = this.expiries.peek()) != null && entry.expiryTick <= tick) {
+            this.expiries.poll();
+
+            //Already gone (hit something, unloaded, or removed by something else)
+            if (!entry.projectile.isValid()) continue;
+
+            if (entry.onExpire != null) entry.onExpire.accept(entry.projectile);
+            entry.projectile.remove();
+        }
+    }
+
+    private static class Entry {
+        private final Projectile projectile;
+        private final long expiryTick;
+        private final long sequence;
+        private final Consumer<Projectile> onExpire;
+
+        private Entry(final Projectile projectile, final long expiryTick, final long sequence, final Consumer<Projectile> onExpire) {
+            this.projectile = projectile;
+            this.expiryTick = expiryTick;
+            this.sequence = sequence;
+            this.onExpire = onExpire;
+        }
+    }
+}
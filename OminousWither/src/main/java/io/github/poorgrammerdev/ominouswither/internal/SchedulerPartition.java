@@ -0,0 +1,212 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>Independent set of priority queues in the {@link CoroutineManager}, covering a single world (or a region of one)</p>
+ * <p>Each partition receives its own share of the tick budget and tracks its own backlog,
+ * so heavy work in one place does not delay tasks everywhere else</p>
+ * @author Thomas Tran
+ */
+public class SchedulerPartition {
+    private final String key;
+
+    /**
+     * Scheduling state of each priority class, indexed by ordinal
+     */
+    private final PriorityClass[] classes;
+
+    /**
+     * Amount of tasks that are scheduled in this partition, including sleeping ones
+     */
+    private int size;
+
+    /**
+     * If the previous tick ended with non-sheddable work still waiting
+     */
+    private boolean wasOverloaded;
+
+    /**
+     * How many tasks were left waiting at the end of the previous tick
+     */
+    private int backlog;
+
+    /**
+     * Time spent running this partition's tasks during the last tick that it had work
+     */
+    private long lastTickNanos;
+
+    /**
+     * @param key name of the world (and region, if enabled) this partition covers
+     * @param currentTick tick the manager is on; new classes count as serviced at this tick
+     */
+    SchedulerPartition(final String key, final long currentTick) {
+        this.key = key;
+
+        final CoroutinePriority[] priorities = CoroutinePriority.values();
+        this.classes = new PriorityClass[priorities.length];
+        for (int i = 0; i < priorities.length; ++i) {
+            this.classes[i] = new PriorityClass(priorities[i], currentTick);
+        }
+
+        this.size = 0;
+        this.wasOverloaded = false;
+        this.backlog = 0;
+        this.lastTickNanos = 0L;
+    }
+
+    /**
+     * @return name of the world (and region, if enabled) this partition covers
+     */
+    public String getKey() {return this.key;}
+
+    /**
+     * @return how many tasks were left waiting at the end of the previous tick
+     */
+    public int getBacklog() {return this.backlog;}
+
+    /**
+     * @return time in nanoseconds spent running this partition's tasks during the last tick that it had work
+     */
+    public long getLastTickNanos() {return this.lastTickNanos;}
+
+    /**
+     * @return amount of tasks currently queued across all priority classes
+     */
+    public int getQueuedCount() {
+        int count = 0;
+        for (final PriorityClass priorityClass : this.classes) {
+            count += priorityClass.queue.size();
+        }
+        return count;
+    }
+
+    PriorityClass[] getClasses() {return this.classes;}
+    boolean wasOverloaded() {return this.wasOverloaded;}
+    void setLastTickNanos(final long lastTickNanos) {this.lastTickNanos = lastTickNanos;}
+
+    void increment() {++this.size;}
+
+    /**
+     * @return remaining amount of scheduled tasks in this partition
+     */
+    int decrement() {return --this.size;}
+
+    /**
+     * @return if any task is left in this tick's run through
+     */
+    boolean hasPending() {
+        for (final PriorityClass priorityClass : this.classes) {
+            if (priorityClass.pending > 0) return true;
+        }
+        return false;
+    }
+
+    void schedule(final CoroutineHandle handle) {
+        this.classes[handle.getCoroutine().getPriority().ordinal()].queue.add(handle);
+    }
+
+    /**
+     * <p>Prepares for a new tick</p>
+     * <p>Maximum tasks that can be run in one tick is one entire run through of each queue.
+     * Rescheduled tasks are placed at the back and wait for the next tick.</p>
+     * @param currentTick tick the manager is on
+     */
+    void beginTick(final long currentTick) {
+        for (final PriorityClass priorityClass : this.classes) {
+            priorityClass.pending = priorityClass.queue.size();
+        }
+        this.normalizeVirtualRuntimes(currentTick);
+    }
+
+    /**
+     * Records if this partition has fallen behind on work that cannot be shed
+     */
+    void endTick() {
+        this.wasOverloaded = false;
+        this.backlog = 0;
+        for (final PriorityClass priorityClass : this.classes) {
+            if (!priorityClass.priority.isSheddable() && priorityClass.pending > 0) {
+                this.wasOverloaded = true;
+            }
+            this.backlog += Math.max(priorityClass.pending, 0);
+        }
+    }
+
+    /**
+     * Gets the class with pending work that has consumed the least weighted runtime
+     * Ties go to the higher priority class
+     * @param shedSheddable if sheddable classes should be skipped
+     * @return class to run next, or null if there is no pending work
+     */
+    PriorityClass pickNext(final boolean shedSheddable) {
+        PriorityClass best = null;
+        for (final PriorityClass priorityClass : this.classes) {
+            if (priorityClass.pending <= 0) continue;
+            if (shedSheddable && priorityClass.priority.isSheddable()) continue;
+
+            if (best == null || priorityClass.virtualRuntime < best.virtualRuntime) {
+                best = priorityClass;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * <p>Shifts virtual runtimes so the smallest among active classes is zero</p>
+     * <p>Idle classes are reset so they rejoin on equal footing instead of bursting through saved-up credit</p>
+     */
+    private void normalizeVirtualRuntimes(final long currentTick) {
+        long minimum = Long.MAX_VALUE;
+        for (final PriorityClass priorityClass : this.classes) {
+            if (priorityClass.pending > 0 && priorityClass.virtualRuntime < minimum) {
+                minimum = priorityClass.virtualRuntime;
+            }
+        }
+
+        for (final PriorityClass priorityClass : this.classes) {
+            if (priorityClass.pending > 0) {
+                priorityClass.virtualRuntime -= minimum;
+            }
+            else {
+                priorityClass.virtualRuntime = 0L;
+                priorityClass.lastServicedTick = currentTick;
+            }
+        }
+    }
+
+    /**
+     * Queue and scheduling bookkeeping for a single priority class
+     */
+    static class PriorityClass {
+        final CoroutinePriority priority;
+
+        /**
+         * Queue of scheduled tasks' operations to run
+         */
+        final ConcurrentLinkedQueue<CoroutineHandle> queue;
+
+        /**
+         * Nanoseconds spent running this class divided by its weight
+         */
+        long virtualRuntime;
+
+        /**
+         * Last tick that a task of this class was run
+         */
+        long lastServicedTick;
+
+        /**
+         * How many tasks remain in this class's run through for the current tick
+         */
+        int pending;
+
+        private PriorityClass(final CoroutinePriority priority, final long currentTick) {
+            this.priority = priority;
+            this.queue = new ConcurrentLinkedQueue<CoroutineHandle>();
+            this.virtualRuntime = 0L;
+            this.lastServicedTick = currentTick;
+            this.pending = 0;
+        }
+    }
+}
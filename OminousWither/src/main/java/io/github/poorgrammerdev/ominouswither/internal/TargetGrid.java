@@ -0,0 +1,471 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Wither;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * <p>Per-world uniform spatial hash of every living entity that is hostile to the Wither</p>
+ * <p>Wither friends, minions and Withers are left out. Players are kept regardless of game mode, along with whether they can currently be targeted,
+ * so mechanics that only care about nearby players can use the grid as well.</p>
+ * <p>Only the chunks that queries touch are indexed. Each query first brings the chunks under its box up to date, at most once per chunk per tick:
+ * the chunk's entities are walked, and only entities that changed cell are moved. Entries recorded in the chunk that weren't found in it have
+ * moved out, died or unloaded, and are moved or dropped. Whether an entity is a friend or minion is only checked the first time it is seen.</p>
+ * <p>Positions are as of the first query touching their chunk each tick. Entries in chunks that stop being queried are dropped after a while.
+ * Must only be used from the main thread.</p>
+ * @author Thomas Tran
+ */
+public class TargetGrid implements Listener {
+    /**
+     * Side length of a cell in blocks
+     */
+    private static final int CELL_SIZE = 8;
+
+    /**
+     * Grids of worlds and entries that haven't been queried or seen in this many ticks are dropped so they don't hold onto entities
+     */
+    private static final int EXPIRY_TICKS = 200;
+
+    private final OminousWither plugin;
+    private final HashMap<UUID, WorldGrid> grids;
+
+    public TargetGrid(final OminousWither plugin) {
+        this.plugin = plugin;
+        this.grids = new HashMap<>();
+    }
+
+    /**
+     * Starts clearing unused grids and entries; call after the coroutine manager has been loaded
+     */
+    public void load() {
+        this.plugin.getCoroutineManager().scheduleEvery(EXPIRY_TICKS, EXPIRY_TICKS, () -> {
+            final long tick = this.plugin.getCoroutineManager().getCurrentTick();
+            this.grids.values().removeIf((grid) -> (tick - grid.lastQueriedTick > EXPIRY_TICKS));
+            this.grids.values().forEach((grid) -> grid.prune(tick));
+            return true;
+        });
+    }
+
+    @EventHandler
+    private void onWorldUnload(final WorldUnloadEvent event) {
+        this.grids.remove(event.getWorld().getUID());
+    }
+
+    /**
+     * Gets the closest targetable entity to a location
+     * @param center location to search around
+     * @param radius how far to search
+     * @return closest targetable entity, or null if there is none in range
+     */
+    public LivingEntity getNearest(final Location center, final double radius) {
+        final WorldGrid grid = this.getGrid(center);
+        if (grid == null) return null;
+
+        final double radiusSq = radius * radius;
+        Entry nearest = null;
+        double nearestDistanceSq = Double.MAX_VALUE;
+
+        final ArrayList<Entry> candidates = grid.collect(center, radius, radius, radius, true, false);
+        for (final Entry entry : candidates) {
+            final double distanceSq = entry.distanceSquared(center);
+            if (distanceSq <= radiusSq && distanceSq < nearestDistanceSq) {
+                nearest = entry;
+                nearestDistanceSq = distanceSq;
+            }
+        }
+
+        return (nearest != null) ? nearest.entity : null;
+    }
+
+    /**
+     * Gets the closest targetable entities to a location
+     * @param center location to search around
+     * @param radius how far to search
+     * @param k maximum amount of entities to return
+     * @return up to k targetable entities in range, closest first
+     */
+    public List<LivingEntity> getNearest(final Location center, final double radius, final int k) {
+        final ArrayList<LivingEntity> result = new ArrayList<>();
+        final WorldGrid grid = this.getGrid(center);
+        if (grid == null || k <= 0) return result;
+
+        final double radiusSq = radius * radius;
+        final ArrayList<Entry> candidates = grid.collect(center, radius, radius, radius, true, false);
+        candidates.removeIf((entry) -> (entry.distanceSquared(center) > radiusSq));
+        candidates.sort((entry1, entry2) -> Double.compare(entry1.distanceSquared(center), entry2.distanceSquared(center)));
+
+        for (int i = 0; i < Math.min(k, candidates.size()); ++i) {
+            result.add(candidates.get(i).entity);
+        }
+        return result;
+    }
+
+    /**
+     * Gets every targetable entity within a sphere
+     * @param center center of the sphere
+     * @param radius radius of the sphere
+     * @return targetable entities in range, in no particular order
+     */
+    public List<LivingEntity> getInRadius(final Location center, final double radius) {
+        final ArrayList<LivingEntity> result = new ArrayList<>();
+        final WorldGrid grid = this.getGrid(center);
+        if (grid == null) return result;
+
+        final double radiusSq = radius * radius;
+        for (final Entry entry : grid.collect(center, radius, radius, radius, true, false)) {
+            if (entry.distanceSquared(center) <= radiusSq) result.add(entry.entity);
+        }
+        return result;
+    }
+
+    /**
+     * Gets every targetable entity within a box
+     * @param center center of the box
+     * @param radiusX half of the box's width along the X axis
+     * @param radiusY half of the box's height
+     * @param radiusZ half of the box's width along the Z axis
+     * @return targetable entities in range, in no particular order
+     */
+    public List<LivingEntity> getInBox(final Location center, final double radiusX, final double radiusY, final double radiusZ) {
+        final ArrayList<LivingEntity> result = new ArrayList<>();
+        final WorldGrid grid = this.getGrid(center);
+        if (grid == null) return result;
+
+        for (final Entry entry : grid.collect(center, radiusX, radiusY, radiusZ, true, false)) {
+            result.add(entry.entity);
+        }
+        return result;
+    }
+
+    /**
+     * Gets every player within a box, regardless of if they can be targeted
+     * @param center center of the box
+     * @param radiusX half of the box's width along the X axis
+     * @param radiusY half of the box's height
+     * @param radiusZ half of the box's width along the Z axis
+     * @return players in range, in no particular order
+     */
+    public List<Player> getPlayersInBox(final Location center, final double radiusX, final double radiusY, final double radiusZ) {
+        final ArrayList<Player> result = new ArrayList<>();
+        final WorldGrid grid = this.getGrid(center);
+        if (grid == null) return result;
+
+        for (final Entry entry : grid.collect(center, radiusX, radiusY, radiusZ, false, true)) {
+            result.add((Player) entry.entity);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the grid of a location's world
+     * @return grid, or null if the location has no world
+     */
+    private WorldGrid getGrid(final Location center) {
+        final World world = center.getWorld();
+        if (world == null) return null;
+
+        final WorldGrid grid = this.grids.computeIfAbsent(world.getUID(), (uid) -> new WorldGrid(world));
+        grid.lastQueriedTick = this.plugin.getCoroutineManager().getCurrentTick();
+        return grid;
+    }
+
+    private static long getChunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static long getCellKey(final int cellX, final int cellY, final int cellZ) {
+        //26 bits for each horizontal axis and 12 for the vertical one, which covers the whole world at this cell size
+        return ((long) (cellX & 0x3FFFFFF) << 38) | ((long) (cellZ & 0x3FFFFFF) << 12) | (long) (cellY & 0xFFF);
+    }
+
+    private static int getCell(final double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    /**
+     * An entity tracked by a world's grid
+     */
+    private static class Entry {
+        private final LivingEntity entity;
+
+        /**
+         * If the entity is a Wither friend, minion or Wither; these are remembered so they don't have to be checked again, but are never put in a cell
+         */
+        private final boolean excluded;
+        private final boolean player;
+
+        private boolean targetable;
+        private double x;
+        private double y;
+        private double z;
+
+        /**
+         * Key of the cell this entry is in, and its position in that cell's list
+         */
+        private long cellKey;
+        private int cellIndex;
+
+        /**
+         * Key of the chunk this entry is in, and its position in that chunk's list
+         */
+        private long chunkKey;
+        private int chunkIndex;
+
+        /**
+         * Tick this entity was last seen in the world, used to find entities that are gone
+         */
+        private long lastSeenTick;
+
+        private Entry(final LivingEntity entity, final boolean excluded) {
+            this.entity = entity;
+            this.excluded = excluded;
+            this.player = (entity instanceof Player);
+            this.cellIndex = -1;
+            this.chunkIndex = -1;
+        }
+
+        private double distanceSquared(final Location location) {
+            final double dx = this.x - location.getX();
+            final double dy = this.y - location.getY();
+            final double dz = this.z - location.getZ();
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+
+    /**
+     * Spatial hash of a single world
+     */
+    private class WorldGrid {
+        private final World world;
+        private final IdentityHashMap<LivingEntity, Entry> entries;
+        private final HashMap<Long, ArrayList<Entry>> cells;
+        private final HashMap<Long, ArrayList<Entry>> chunks;
+        private final Location scratch;
+        private long lastQueriedTick;
+
+        /**
+         * Chunks brought up to date in {@link #refreshedTick}
+         */
+        private final HashSet<Long> refreshed;
+        private long refreshedTick;
+
+        private WorldGrid(final World world) {
+            this.world = world;
+            this.entries = new IdentityHashMap<>();
+            this.cells = new HashMap<>();
+            this.chunks = new HashMap<>();
+            this.scratch = new Location(null, 0, 0, 0);
+            this.lastQueriedTick = -1L;
+            this.refreshed = new HashSet<>();
+            this.refreshedTick = -1L;
+        }
+
+        /**
+         * Brings every chunk under a box up to date, skipping chunks that already were this tick
+         */
+        private void refresh(final double minX, final double maxX, final double minZ, final double maxZ, final long tick) {
+            if (this.refreshedTick != tick) {
+                this.refreshed.clear();
+                this.refreshedTick = tick;
+            }
+
+            final int maxChunkX = ((int) Math.floor(maxX)) >> 4, maxChunkZ = ((int) Math.floor(maxZ)) >> 4;
+            for (int chunkX = ((int) Math.floor(minX)) >> 4; chunkX <= maxChunkX; ++chunkX) {
+                for (int chunkZ = ((int) Math.floor(minZ)) >> 4; chunkZ <= maxChunkZ; ++chunkZ) {
+                    final long chunkKey = getChunkKey(chunkX, chunkZ);
+                    if (this.refreshed.add(chunkKey)) this.refreshChunk(chunkX, chunkZ, chunkKey, tick);
+                }
+            }
+        }
+
+        /**
+         * Walks a chunk's living entities once, then moves or drops entries recorded in the chunk that weren't found in it
+         */
+        private void refreshChunk(final int chunkX, final int chunkZ, final long chunkKey, final long tick) {
+            //Checked first so queries never load chunks
+            if (this.world.isChunkLoaded(chunkX, chunkZ)) {
+                for (final Entity entity : this.world.getChunkAt(chunkX, chunkZ).getEntities()) {
+                    if (entity instanceof LivingEntity) this.refreshEntity((LivingEntity) entity, tick);
+                }
+            }
+
+            final ArrayList<Entry> chunk = this.chunks.get(chunkKey);
+            if (chunk == null) return;
+
+            //Iterates backwards so that moving an entry out of this chunk only moves one that has already been checked
+            for (int i = chunk.size() - 1; i >= 0; --i) {
+                if (i >= chunk.size()) continue;
+
+                final Entry entry = chunk.get(i);
+                if (entry.lastSeenTick == tick) continue;
+
+                //Still around, so it moved out of this chunk; otherwise it has died, unloaded, or left the world
+                if (entry.entity.isValid() && entry.entity.getWorld().equals(this.world)) this.refreshEntity(entry.entity, tick);
+                else this.remove(entry);
+            }
+        }
+
+        /**
+         * Records an entity's current position, moving its entry if it changed cell or chunk
+         */
+        private void refreshEntity(final LivingEntity entity, final long tick) {
+            Entry entry = this.entries.get(entity);
+            if (entry == null) {
+                entry = new Entry(entity, this.isExcluded(entity));
+                this.entries.put(entity, entry);
+            }
+
+            entry.lastSeenTick = tick;
+            if (entry.excluded) return;
+
+            entity.getLocation(this.scratch);
+            entry.x = this.scratch.getX();
+            entry.y = this.scratch.getY();
+            entry.z = this.scratch.getZ();
+            entry.targetable = !entity.isDead() && !entity.isInvulnerable() && (!entry.player || Utils.isTargetable((Player) entity));
+
+            final long cellKey = getCellKey(getCell(entry.x), getCell(entry.y), getCell(entry.z));
+            if (entry.cellIndex == -1 || entry.cellKey != cellKey) {
+                this.removeFromCell(entry);
+                this.addToCell(entry, cellKey);
+            }
+
+            final long chunkKey = getChunkKey(this.scratch.getBlockX() >> 4, this.scratch.getBlockZ() >> 4);
+            if (entry.chunkIndex == -1 || entry.chunkKey != chunkKey) {
+                this.removeFromChunk(entry);
+                this.addToChunk(entry, chunkKey);
+            }
+        }
+
+        /**
+         * Drops entries that haven't been seen in a while, since their chunks are no longer being queried
+         */
+        private void prune(final long tick) {
+            final Iterator<Entry> iterator = this.entries.values().iterator();
+            while (iterator.hasNext()) {
+                final Entry entry = iterator.next();
+                if (tick - entry.lastSeenTick <= EXPIRY_TICKS) continue;
+
+                this.removeFromCell(entry);
+                this.removeFromChunk(entry);
+                iterator.remove();
+            }
+        }
+
+        private void remove(final Entry entry) {
+            this.removeFromCell(entry);
+            this.removeFromChunk(entry);
+            this.entries.remove(entry.entity);
+        }
+
+        /**
+         * Gathers entries whose position lies within a box
+         * @param targetableOnly only include entries that can currently be targeted
+         * @param playersOnly only include players
+         */
+        private ArrayList<Entry> collect(final Location center, final double radiusX, final double radiusY, final double radiusZ, final boolean targetableOnly, final boolean playersOnly) {
+            final ArrayList<Entry> result = new ArrayList<>();
+
+            final double minX = center.getX() - radiusX, maxX = center.getX() + radiusX;
+            final double minY = center.getY() - radiusY, maxY = center.getY() + radiusY;
+            final double minZ = center.getZ() - radiusZ, maxZ = center.getZ() + radiusZ;
+            this.refresh(minX, maxX, minZ, maxZ, this.lastQueriedTick);
+
+            final int maxCellX = getCell(maxX), maxCellY = getCell(maxY), maxCellZ = getCell(maxZ);
+            for (int cellX = getCell(minX); cellX <= maxCellX; ++cellX) {
+                for (int cellZ = getCell(minZ); cellZ <= maxCellZ; ++cellZ) {
+                    for (int cellY = getCell(minY); cellY <= maxCellY; ++cellY) {
+                        final ArrayList<Entry> cell = this.cells.get(getCellKey(cellX, cellY, cellZ));
+                        if (cell == null) continue;
+
+                        for (final Entry entry : cell) {
+                            if (targetableOnly && !entry.targetable) continue;
+                            if (playersOnly && !entry.player) continue;
+
+                            if (entry.x < minX || entry.x > maxX || entry.y < minY || entry.y > maxY || entry.z < minZ || entry.z > maxZ) continue;
+
+                            result.add(entry);
+                        }
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        private boolean isExcluded(final LivingEntity entity) {
+            return (
+                Tag.ENTITY_TYPES_WITHER_FRIENDS.isTagged(entity.getType()) ||
+                (entity instanceof Wither) ||
+                plugin.isMinion(entity)
+            );
+        }
+
+        private void addToCell(final Entry entry, final long cellKey) {
+            final ArrayList<Entry> cell = this.cells.computeIfAbsent(cellKey, (key) -> new ArrayList<>());
+            entry.cellKey = cellKey;
+            entry.cellIndex = cell.size();
+            cell.add(entry);
+        }
+
+        /**
+         * Removes an entry from its cell in constant time by moving the cell's last entry into its slot
+         */
+        private void removeFromCell(final Entry entry) {
+            if (entry.cellIndex == -1) return;
+
+            final ArrayList<Entry> cell = this.cells.get(entry.cellKey);
+            final Entry last = cell.remove(cell.size() - 1);
+            if (last != entry) {
+                cell.set(entry.cellIndex, last);
+                last.cellIndex = entry.cellIndex;
+            }
+            if (cell.isEmpty()) this.cells.remove(entry.cellKey);
+
+            entry.cellIndex = -1;
+        }
+
+        private void addToChunk(final Entry entry, final long chunkKey) {
+            final ArrayList<Entry> chunk = this.chunks.computeIfAbsent(chunkKey, (key) -> new ArrayList<>());
+            entry.chunkKey = chunkKey;
+            entry.chunkIndex = chunk.size();
+            chunk.add(entry);
+        }
+
+        /**
+         * Removes an entry from its chunk in constant time, the same way as {@link #removeFromCell(Entry)}
+         */
+        private void removeFromChunk(final Entry entry) {
+            if (entry.chunkIndex == -1) return;
+
+            final ArrayList<Entry> chunk = this.chunks.get(entry.chunkKey);
+            final Entry last = chunk.remove(chunk.size() - 1);
+            if (last != entry) {
+                chunk.set(entry.chunkIndex, last);
+                last.chunkIndex = entry.chunkIndex;
+            }
+            if (chunk.isEmpty()) this.chunks.remove(entry.chunkKey);
+
+            entry.chunkIndex = -1;
+        }
+    }
+
+}
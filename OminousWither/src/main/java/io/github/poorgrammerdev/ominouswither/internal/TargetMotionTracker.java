@@ -0,0 +1,300 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Wither;
+import org.bukkit.entity.Wither.Head;
+import org.bukkit.util.Vector;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+
+/**
+ * <p>Records the recent positions of every entity that an Ominous Wither is targeting, so attacks can predict where they are going</p>
+ * <p>Positions are sampled once per tick into a fixed-size ring buffer of primitive coordinates per entity.
+ * Velocity is estimated with a least-squares fit over the buffer, which also works for entities on the ground, whose velocity can't be read directly.</p>
+ * <p>The fits for every tracked entity are done together off of the main thread as an {@link IAsyncCoroutine}: the buffers are copied on the main thread,
+ * fitted on the Coroutine Manager's async threads, and the estimates are written back on the main thread. Estimates are therefore a tick or two behind the samples.</p>
+ * @author Thomas Tran
+ */
+public class TargetMotionTracker {
+    /**
+     * Amount of ticks of movement kept for each entity
+     * Larger values give smoother estimates that are slower to react to changes in direction
+     */
+    public static final int WINDOW = 10;
+
+    /**
+     * Minimum amount of samples needed before a velocity can be estimated
+     */
+    public static final int MIN_SAMPLES = 3;
+
+    /**
+     * Entities that haven't been targeted in this many ticks stop being tracked
+     */
+    private static final int EXPIRY_TICKS = 40;
+
+    private static final Head[] HEADS = Head.values();
+
+    private final OminousWither plugin;
+
+    //A player who re-logs comes back as a new wrapper object and starts a new track; the old one is dropped after EXPIRY_TICKS
+    private final IdentityHashMap<LivingEntity, Track> tracks;
+    private final Location scratch;
+
+    public TargetMotionTracker(final OminousWither plugin) {
+        this.plugin = plugin;
+        this.tracks = new IdentityHashMap<>();
+        this.scratch = new Location(null, 0, 0, 0);
+    }
+
+    /**
+     * Starts sampling every tick; call after the coroutine manager and Wither registry have been loaded
+     */
+    public void load() {
+        this.plugin.getCoroutineManager().scheduleEvery(1, 1, () -> {
+            this.sample();
+            return true;
+        });
+        this.plugin.getCoroutineManager().enqueueAsync(new VelocityFit(), TargetMotionTracker.class);
+    }
+
+    /**
+     * Estimates an entity's velocity from its recent movement
+     * @param entity entity to look up; only entities targeted by an Ominous Wither are tracked
+     * @param result vector to write the velocity into, in blocks per tick
+     * @return if a velocity has been estimated from enough recorded movement yet; result is left untouched if not
+     */
+    public boolean getVelocity(final LivingEntity entity, final Vector result) {
+        final Track track = this.tracks.get(entity);
+        if (track == null || !track.estimated) return false;
+
+        result.setX(track.velocityX);
+        result.setY(track.velocityY);
+        result.setZ(track.velocityZ);
+        return true;
+    }
+
+    /**
+     * @return amount of entities being tracked
+     */
+    public int size() {
+        return this.tracks.size();
+    }
+
+    /**
+     * Records the position of every targeted entity and drops entities that are no longer targeted
+     */
+    private void sample() {
+        final long tick = this.plugin.getCoroutineManager().getCurrentTick();
+
+        for (final WitherState state : this.plugin.getWitherRegistry().getStates()) {
+            final Wither wither = state.getWither();
+            for (final Head head : HEADS) {
+                final LivingEntity target = wither.getTarget(head);
+                if (target == null) continue;
+
+                Track track = this.tracks.get(target);
+                if (track == null) {
+                    track = new Track();
+                    this.tracks.put(target, track);
+                }
+
+                //Multiple heads or Withers can share a target; only record it once per tick
+                if (track.lastSampledTick == tick) continue;
+
+                //Samples must be consecutive ticks for the fit to be meaningful; fits still in progress are of the old run
+                if (track.lastSampledTick != tick - 1) {
+                    track.count = 0;
+                    track.estimated = false;
+                    ++track.run;
+                }
+
+                target.getLocation(this.scratch);
+                track.add(this.scratch.getX(), this.scratch.getY(), this.scratch.getZ());
+                track.lastSampledTick = tick;
+            }
+        }
+
+        final Iterator<Map.Entry<LivingEntity, Track>> iterator = this.tracks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<LivingEntity, Track> entry = iterator.next();
+            if (!entry.getKey().isValid() || tick - entry.getValue().lastSampledTick > EXPIRY_TICKS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Ring buffer of an entity's recent positions
+     */
+    private static class Track {
+        private final double[] x;
+        private final double[] y;
+        private final double[] z;
+
+        /**
+         * Slot the next sample is written to, and amount of valid samples
+         */
+        private int next;
+        private int count;
+        private long lastSampledTick;
+
+        /**
+         * Incremented every time the samples restart, so fits of an earlier run are not applied
+         */
+        private int run;
+
+        /**
+         * Latest committed estimate, in blocks per tick
+         */
+        private boolean estimated;
+        private double velocityX;
+        private double velocityY;
+        private double velocityZ;
+
+        private Track() {
+            this.x = new double[WINDOW];
+            this.y = new double[WINDOW];
+            this.z = new double[WINDOW];
+            this.next = 0;
+            this.count = 0;
+            this.lastSampledTick = Long.MIN_VALUE;
+            this.run = 0;
+            this.estimated = false;
+        }
+
+        private void add(final double x, final double y, final double z) {
+            this.x[this.next] = x;
+            this.y[this.next] = y;
+            this.z[this.next] = z;
+            this.next = (this.next + 1) % WINDOW;
+            if (this.count < WINDOW) ++this.count;
+        }
+
+        /**
+         * Copies one axis' valid samples from oldest to newest
+         */
+        private void copy(final double[] values, final double[] destination, final int offset) {
+            final int oldest = (this.next - this.count + WINDOW) % WINDOW;
+            for (int i = 0; i < this.count; ++i) {
+                destination[offset + i] = values[(oldest + i) % WINDOW];
+            }
+        }
+    }
+
+    /**
+     * Copy of the buffers of every track with enough samples, taken on the main thread and fitted off of it
+     */
+    private static class FitBatch {
+        private final Track[] tracks;
+        private final int[] runs;
+        private final int[] counts;
+
+        /**
+         * Samples of each track in order x, y, z, each axis oldest to newest in a slot of WINDOW values
+         */
+        private final double[] samples;
+
+        /**
+         * Fitted velocity of each track in order x, y, z; only written by the fit
+         */
+        private final double[] velocities;
+
+        private FitBatch(final int size) {
+            this.tracks = new Track[size];
+            this.runs = new int[size];
+            this.counts = new int[size];
+            this.samples = new double[size * 3 * WINDOW];
+            this.velocities = new double[size * 3];
+        }
+
+        /**
+         * Runs off of the main thread; only reads the copied samples
+         */
+        private FitBatch fit() {
+            for (int i = 0; i < this.tracks.length; ++i) {
+                for (int axis = 0; axis < 3; ++axis) {
+                    this.velocities[i * 3 + axis] = slope(this.samples, (i * 3 + axis) * WINDOW, this.counts[i]);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Least-squares slope of one axis against time, over samples ordered from oldest to newest
+         * @return change per tick
+         */
+        private static double slope(final double[] values, final int offset, final int n) {
+            final double meanTime = (n - 1) / 2.0D;
+
+            double meanValue = 0.0D;
+            for (int i = 0; i < n; ++i) {
+                meanValue += values[offset + i];
+            }
+            meanValue /= n;
+
+            double covariance = 0.0D;
+            double variance = 0.0D;
+            for (int i = 0; i < n; ++i) {
+                final double time = i - meanTime;
+                covariance += time * (values[offset + i] - meanValue);
+                variance += time * time;
+            }
+
+            return (variance > 0.0D) ? (covariance / variance) : 0.0D;
+        }
+    }
+
+    /**
+     * Repeatedly copies the buffers, fits them off of the main thread and commits the estimates
+     */
+    private class VelocityFit implements IAsyncCoroutine<FitBatch> {
+        @Override
+        public CompletableFuture<FitBatch> prepare(final Executor executor) {
+            int size = 0;
+            for (final Track track : tracks.values()) {
+                if (track.count >= MIN_SAMPLES) ++size;
+            }
+
+            final FitBatch batch = new FitBatch(size);
+            if (size == 0) return CompletableFuture.completedFuture(batch);
+
+            int i = 0;
+            for (final Track track : tracks.values()) {
+                if (track.count < MIN_SAMPLES) continue;
+
+                batch.tracks[i] = track;
+                batch.runs[i] = track.run;
+                batch.counts[i] = track.count;
+                track.copy(track.x, batch.samples, (i * 3) * WINDOW);
+                track.copy(track.y, batch.samples, (i * 3 + 1) * WINDOW);
+                track.copy(track.z, batch.samples, (i * 3 + 2) * WINDOW);
+                ++i;
+            }
+
+            return CompletableFuture.supplyAsync(batch::fit, executor);
+        }
+
+        @Override
+        public boolean commit(final FitBatch batch) {
+            for (int i = 0; i < batch.tracks.length; ++i) {
+                final Track track = batch.tracks[i];
+
+                //Samples restarted while this was being fitted
+                if (track.run != batch.runs[i]) continue;
+
+                track.velocityX = batch.velocities[i * 3];
+                track.velocityY = batch.velocities[i * 3 + 1];
+                track.velocityZ = batch.velocities[i * 3 + 2];
+                track.estimated = true;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * <p>Handle to a delayed or periodic action scheduled in the {@link TimingWheel}</p>
+ * <p>Also serves as the node of the wheel slot's linked list so that cancelling is constant time</p>
+ * @author Thomas Tran
+ */
+public class TimerHandle {
+    private final BooleanSupplier action;
+    private final int period;
+
+    private boolean cancelled;
+
+    /**
+     * Tick that this is due at
+     */
+    long expiresAt;
+
+    //Doubly linked list pointers within a wheel slot; null when not in a slot
+    TimerHandle prev;
+    TimerHandle next;
+
+    TimerHandle(final BooleanSupplier action, final int period) {
+        this.action = action;
+        this.period = period;
+        this.cancelled = false;
+        this.expiresAt = 0L;
+        this.prev = null;
+        this.next = null;
+    }
+
+    /**
+     * Stops the action from running (again)
+     */
+    public void cancel() {
+        this.cancelled = true;
+        this.unlink();
+    }
+
+    /**
+     * @return if this has been cancelled
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Runs the action
+     * @return if the action should run again after its period
+     */
+    boolean fire() {
+        return this.action.getAsBoolean() && this.period > 0 && !this.cancelled;
+    }
+
+    int getPeriod() {return this.period;}
+
+    /**
+     * @return if this is currently in a wheel slot
+     */
+    boolean isLinked() {
+        return this.next != null;
+    }
+
+    /**
+     * Removes this from the slot that it's in, if any
+     */
+    void unlink() {
+        if (this.next == null) return;
+
+        this.prev.next = this.next;
+        this.next.prev = this.prev;
+        this.prev = null;
+        this.next = null;
+    }
+
+    /**
+     * Inserts this at the end of a slot's list
+     * @param head sentinel node of the slot
+     */
+    void linkBefore(final TimerHandle head) {
+        this.next = head;
+        this.prev = head.prev;
+        head.prev.next = this;
+        head.prev = this;
+    }
+
+    /**
+     * Creates an empty list sentinel for a wheel slot
+     */
+    static TimerHandle createSentinel() {
+        final TimerHandle sentinel = new TimerHandle(() -> false, 0);
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+}
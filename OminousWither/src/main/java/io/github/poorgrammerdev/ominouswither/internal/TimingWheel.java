@@ -0,0 +1,139 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+/**
+ * <p>Hierarchical timing wheel keyed by tick, used by the {@link CoroutineManager} for delayed and periodic actions</p>
+ * <p>The first level has a slot per tick for the next 256 ticks. Each further level covers 64 slots of the whole level below it.
+ * When a lower level wraps around, the matching slot of the level above is cascaded down.
+ * Inserting and cancelling are constant time, and actions cost nothing while they wait.</p>
+ * Referencing the timer wheel design described in: Varghese and Lauck, "Hashed and Hierarchical Timing Wheels" (1987)
+ * @author Thomas Tran
+ */
+class TimingWheel {
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+
+    /**
+     * Furthest delay that can be represented; anything beyond is clamped and re-cascaded when it is reached
+     */
+    private static final long MAX_DELAY = (1L << (ROOT_BITS + (LEVELS - 1) * LEVEL_BITS)) - 1L;
+
+    /**
+     * Slot sentinels, indexed by [level][slot]
+     */
+    private final TimerHandle[][] slots;
+
+    /**
+     * Actions that are due in the current tick, detached from their slot
+     */
+    private final TimerHandle due;
+
+    private long currentTick;
+
+    TimingWheel() {
+        this.slots = new TimerHandle[LEVELS][];
+        for (int level = 0; level < LEVELS; ++level) {
+            final int size = (level == 0) ? ROOT_SIZE : LEVEL_SIZE;
+            this.slots[level] = new TimerHandle[size];
+            for (int i = 0; i < size; ++i) {
+                this.slots[level][i] = TimerHandle.createSentinel();
+            }
+        }
+
+        this.due = TimerHandle.createSentinel();
+        this.currentTick = 0L;
+    }
+
+    /**
+     * Schedules a handle to be due after a delay
+     * @param handle handle to schedule; must not already be scheduled
+     * @param delay ticks from now, at least 1
+     */
+    void schedule(final TimerHandle handle, final long delay) {
+        handle.expiresAt = this.currentTick + Math.max(delay, 1L);
+        this.insert(handle);
+    }
+
+    /**
+     * Moves the wheel forward by one tick and collects all actions that are now due
+     * Retrieve them afterwards with {@link #pollDue()}
+     */
+    void advance() {
+        ++this.currentTick;
+
+        //Cascade higher levels down whenever the level beneath wraps around
+        final int rootIndex = (int) (this.currentTick & ROOT_MASK);
+        if (rootIndex == 0) {
+            for (int level = 1; level < LEVELS; ++level) {
+                final int index = (int) ((this.currentTick >>> (ROOT_BITS + (level - 1) * LEVEL_BITS)) & LEVEL_MASK);
+                this.cascade(this.slots[level][index]);
+                if (index != 0) break;
+            }
+        }
+
+        //Detach the current slot into the due list
+        final TimerHandle head = this.slots[0][rootIndex];
+        while (head.next != head) {
+            final TimerHandle handle = head.next;
+            handle.unlink();
+            handle.linkBefore(this.due);
+        }
+    }
+
+    /**
+     * @return next due handle, or null if none remain for this tick
+     */
+    TimerHandle pollDue() {
+        if (this.due.next == this.due) return null;
+
+        final TimerHandle handle = this.due.next;
+        handle.unlink();
+        return handle;
+    }
+
+    /**
+     * Places a handle into the slot matching its expiry time
+     */
+    private void insert(final TimerHandle handle) {
+        final long delta = handle.expiresAt - this.currentTick;
+
+        if (delta < ROOT_SIZE) {
+            handle.linkBefore(this.slots[0][(int) (handle.expiresAt & ROOT_MASK)]);
+            return;
+        }
+
+        //Clamp very long delays; they will be re-inserted when the top level cascades
+        final long expiresAt = (delta > MAX_DELAY) ? this.currentTick + MAX_DELAY : handle.expiresAt;
+        for (int level = 1; level < LEVELS; ++level) {
+            final int shift = ROOT_BITS + (level - 1) * LEVEL_BITS;
+            if (delta < (1L << (shift + LEVEL_BITS)) || level == LEVELS - 1) {
+                handle.linkBefore(this.slots[level][(int) ((expiresAt >>> shift) & LEVEL_MASK)]);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-inserts every handle in a higher level slot, moving them to lower levels
+     */
+    private void cascade(final TimerHandle head) {
+        //Detach first, since handles may land back in the same slot
+        final TimerHandle detached = TimerHandle.createSentinel();
+        while (head.next != head) {
+            final TimerHandle handle = head.next;
+            handle.unlink();
+            handle.linkBefore(detached);
+        }
+
+        while (detached.next != detached) {
+            final TimerHandle handle = detached.next;
+            handle.unlink();
+            this.insert(handle);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.UUID;
+
+import org.bukkit.Difficulty;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Wither;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.config.BossStatsManager;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherActivateEvent;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeBeginEvent;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherSpawnEvent;
+import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherUnloadEvent;
+import io.github.poorgrammerdev.ominouswither.utils.Utils;
+
+/**
+ * <p>Keeps the state of every live Ominous Wither in memory so hot paths don't have to read the PDC</p>
+ * <p>Withers are registered on spawn and load, and removed on unload and death.
+ * Changes to the state are written through to the PDC so they persist across unloads and restarts.</p>
+ * @author Thomas Tran
+ */
+public class WitherRegistry implements Listener {
+    /**
+     * How often (in ticks) cached world difficulties are refreshed and stale entries are cleared
+     */
+    private static final int REFRESH_PERIOD = 20;
+
+    private final OminousWither plugin;
+    private double playerRangeSq;
+
+    //Withers are removed on unload and registered again on load, so a Wither that comes back as a new wrapper object gets a new entry
+    private final IdentityHashMap<Wither, WitherState> states;
+
+    public WitherRegistry(final OminousWither plugin) {
+        this.plugin = plugin;
+        this.states = new IdentityHashMap<Wither, WitherState>();
+        this.playerRangeSq = 0.0D;
+    }
+
+    /**
+     * Starts the periodic refresh and fight state updates; call after the coroutine manager has been loaded
+     */
+    public void load() {
+        this.playerRangeSq = Math.pow(this.plugin.getConfig().getDouble("dynamic_stat_player_range", 64.0D), 2);
+
+        this.plugin.getCoroutineManager().scheduleEvery(REFRESH_PERIOD, REFRESH_PERIOD, () -> {
+            this.refresh();
+            return true;
+        });
+
+        //Dynamic stats are read every tick, so the cheap parts of the fight state are kept current every tick
+        this.plugin.getCoroutineManager().scheduleEvery(1, 1, () -> {
+            this.updateFightState();
+            return true;
+        });
+    }
+
+    /**
+     * Gets the cached state of an Ominous Wither
+     * @param wither entity to look up
+     * @return state, or null if the Wither is not a live Ominous Wither
+     */
+    public WitherState get(final Wither wither) {
+        return this.states.get(wither);
+    }
+
+    /**
+     * @return amount of live Ominous Withers being tracked
+     */
+    public int size() {
+        return this.states.size();
+    }
+
+    /**
+     * @return read-only view of every tracked Ominous Wither's state
+     */
+    public Collection<WitherState> getStates() {
+        return Collections.unmodifiableCollection(this.states.values());
+    }
+
+    /**
+     * <p>Checks the PDC directly to see if a Wither is tagged as Ominous</p>
+     * <p>Only needed for Withers that haven't been registered yet, such as ones that are being loaded in</p>
+     */
+    public boolean isTaggedOminous(final Wither wither) {
+        return wither.getPersistentDataContainer().getOrDefault(this.plugin.getOminousWitherKey(), PersistentDataType.BOOLEAN, false);
+    }
+
+    /**
+     * Registers newly spawned Withers before any other listener can look them up
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    private void onSpawn(final OminousWitherSpawnEvent event) {
+        final Wither wither = event.getWither();
+        final UUID spawnerID = event.getSpawner().getUniqueId();
+
+        //Tag Wither entity as Ominous and other important info
+        final PersistentDataContainer container = wither.getPersistentDataContainer();
+        container.set(this.plugin.getOminousWitherKey(), PersistentDataType.BOOLEAN, true);
+        container.set(this.plugin.getLevelKey(), PersistentDataType.INTEGER, event.getLevel());
+        container.set(this.plugin.getSpawnerKey(), PersistentDataType.STRING, spawnerID.toString());
+
+        this.register(new WitherState(wither, event.getLevel(), spawnerID, this.getDifficulty(wither), false, false));
+    }
+
+    /**
+     * Registers loaded Withers from their stored PDC tags
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    private void onLoad(final OminousWitherLoadEvent event) {
+        final Wither wither = event.getWither();
+        if (this.states.containsKey(wither)) return;
+
+        final PersistentDataContainer container = wither.getPersistentDataContainer();
+        final int level = container.getOrDefault(this.plugin.getLevelKey(), PersistentDataType.INTEGER, 1);
+        final boolean fullySpawned = container.getOrDefault(this.plugin.getIsFullySpawnedKey(), PersistentDataType.BOOLEAN, false);
+        final boolean secondPhase = container.getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false);
+
+        UUID spawnerID = null;
+        final String spawnerIDString = container.getOrDefault(this.plugin.getSpawnerKey(), PersistentDataType.STRING, null);
+        if (spawnerIDString != null) {
+            try {
+                spawnerID = UUID.fromString(spawnerIDString);
+            }
+            catch (final IllegalArgumentException exception) {
+                this.plugin.getLogger().warning("Malformed player UUID stored in spawner field of Ominous Wither");
+            }
+        }
+
+        this.register(new WitherState(wither, level, spawnerID, this.getDifficulty(wither), fullySpawned, secondPhase));
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    private void onActivate(final OminousWitherActivateEvent event) {
+        final WitherState state = this.states.get(event.getWither());
+        if (state == null || !state.setFullySpawned(true)) return;
+
+        //Mark as fully spawned
+        event.getWither().getPersistentDataContainer().set(this.plugin.getIsFullySpawnedKey(), PersistentDataType.BOOLEAN, true);
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    private void onPhaseChangeBegin(final OminousWitherPhaseChangeBeginEvent event) {
+        final WitherState state = this.states.get(event.getWither());
+        if (state == null || !state.setSecondPhase(true)) return;
+
+        //Tag the wither with the second phase key
+        event.getWither().getPersistentDataContainer().set(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, true);
+    }
+
+    /**
+     * Removed last so every other listener can still see the Wither's state
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onUnload(final OminousWitherUnloadEvent event) {
+        this.states.remove(event.getWither());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onDeath(final EntityDeathEvent event) {
+        if (!(event.getEntity() instanceof Wither)) return;
+        this.states.remove((Wither) event.getEntity());
+    }
+
+    /**
+     * <p>Updates cached world difficulties, along with the stats that depend on them, and the amount of nearby players</p>
+     * <p>Also clears Withers that were removed without dying or unloading (e.g. by another plugin)</p>
+     */
+    private void refresh() {
+        final Iterator<WitherState> iterator = this.states.values().iterator();
+        while (iterator.hasNext()) {
+            final WitherState state = iterator.next();
+            if (!state.getWither().isValid()) {
+                iterator.remove();
+                continue;
+            }
+
+            if (state.setDifficulty(this.getDifficulty(state.getWither()))) {
+                this.updateStats(state);
+            }
+
+            state.getFightVariables()[StatSnapshot.PLAYERS] = this.countNearbyPlayers(state.getWither());
+        }
+    }
+
+    /**
+     * Updates the health and time parts of every Wither's fight state
+     */
+    private void updateFightState() {
+        for (final WitherState state : this.states.values()) {
+            final Wither wither = state.getWither();
+            final double[] variables = state.getFightVariables();
+
+            final AttributeInstance maxHealth = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+            if (maxHealth != null && maxHealth.getValue() > 0.0D) {
+                variables[StatSnapshot.HEALTH] = wither.getHealth() / maxHealth.getValue();
+            }
+
+            //Counts from activation, or from loading in for Withers that were already active
+            if (state.isFullySpawned()) {
+                variables[StatSnapshot.TICKS] += 1.0D;
+            }
+        }
+    }
+
+    /**
+     * @return amount of targetable players within range of the Wither
+     */
+    private int countNearbyPlayers(final Wither wither) {
+        final World world = wither.getWorld();
+        if (world == null) return 0;
+
+        final Location location = wither.getLocation();
+        int count = 0;
+        for (final Player player : world.getPlayers()) {
+            if (Utils.isTargetable(player) && player.getLocation().distanceSquared(location) <= this.playerRangeSq) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Re-resolves the stats of every tracked Wither; call after the Boss stats have been reloaded
+     */
+    public void rebuildSnapshots() {
+        for (final WitherState state : this.states.values()) {
+            this.updateStats(state);
+        }
+    }
+
+    private void register(final WitherState state) {
+        state.getFightVariables()[StatSnapshot.PLAYERS] = this.countNearbyPlayers(state.getWither());
+        this.updateStats(state);
+        this.states.put(state.getWither(), state);
+    }
+
+    /**
+     * Resolves the Wither's stats for its current level and difficulty
+     */
+    private void updateStats(final WitherState state) {
+        final BossStatsManager bossStatsManager = this.plugin.getBossStatsManager();
+
+        //Stored level can be out of range (e.g. the max level was lowered) -> use the closest valid level
+        int level = state.getLevel();
+        if (level < 1 || level > bossStatsManager.getMaxLevel()) {
+            level = Utils.clamp(level, 1, bossStatsManager.getMaxLevel());
+            this.plugin.getLogger().warning("Ominous Wither has invalid level " + state.getLevel() + ", using level " + level + " stats instead");
+        }
+
+        state.setStats(bossStatsManager.createSnapshot(level, state.getDifficulty(), state.getFightVariables()));
+    }
+
+    private Difficulty getDifficulty(final Wither wither) {
+        final World world = wither.getWorld();
+
+        //If world is not available for some reason, assume easy difficulty
+        return ((world != null) ? world.getDifficulty() : Difficulty.EASY);
+    }
+
+}
@@ -0,0 +1,115 @@
+package io.github.poorgrammerdev.ominouswither.internal;
+
+import java.util.UUID;
+
+import org.bukkit.Difficulty;
+import org.bukkit.entity.Wither;
+
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
+
+/**
+ * <p>Cached state of a single live Ominous Wither, held by the {@link WitherRegistry}</p>
+ * <p>The PDC remains the persistent copy; this is only changed through the registry, which writes any change through to the PDC</p>
+ * @author Thomas Tran
+ */
+public class WitherState {
+    private final Wither wither;
+    private final int level;
+    private final UUID spawnerID;
+
+    private Difficulty difficulty;
+    private boolean fullySpawned;
+    private boolean secondPhase;
+    private StatSnapshot stats;
+
+    /**
+     * Live fight state read by dynamic stats, indexed by {@link StatSnapshot#HEALTH} and the like
+     */
+    private final double[] fightVariables;
+
+    WitherState(final Wither wither, final int level, final UUID spawnerID, final Difficulty difficulty, final boolean fullySpawned, final boolean secondPhase) {
+        this.wither = wither;
+        this.level = level;
+        this.spawnerID = spawnerID;
+        this.difficulty = difficulty;
+        this.fullySpawned = fullySpawned;
+        this.secondPhase = secondPhase;
+        this.stats = null;
+
+        this.fightVariables = new double[StatSnapshot.VARIABLE_COUNT];
+        this.fightVariables[StatSnapshot.HEALTH] = 1.0D;
+    }
+
+    /**
+     * @return the Ominous Wither entity this state belongs to
+     */
+    public Wither getWither() {return this.wither;}
+
+    /**
+     * @return level of the Ominous Wither
+     */
+    public int getLevel() {return this.level;}
+
+    /**
+     * @return UUID of the player that (most likely) spawned the Ominous Wither, or null if unknown
+     */
+    public UUID getSpawnerID() {return this.spawnerID;}
+
+    /**
+     * @return difficulty of the Wither's world as of the last refresh
+     */
+    public Difficulty getDifficulty() {return this.difficulty;}
+
+    /**
+     * @return if the Wither has exploded and is no longer stationary and invulnerable
+     */
+    public boolean isFullySpawned() {return this.fullySpawned;}
+
+    /**
+     * @return if the Wither has entered the Second Phase
+     */
+    public boolean isInSecondPhase() {return this.secondPhase;}
+
+    /**
+     * @return every Boss stat resolved for this Wither's level and difficulty
+     */
+    public StatSnapshot getStats() {return this.stats;}
+
+    /**
+     * @return if the value changed
+     */
+    boolean setDifficulty(final Difficulty difficulty) {
+        if (this.difficulty == difficulty) return false;
+
+        this.difficulty = difficulty;
+        return true;
+    }
+
+    void setStats(final StatSnapshot stats) {this.stats = stats;}
+
+    /**
+     * Shared with this Wither's snapshot, which reads it when evaluating dynamic stats
+     */
+    double[] getFightVariables() {return this.fightVariables;}
+
+    /**
+     * @return if the value changed
+     */
+    boolean setFullySpawned(final boolean fullySpawned) {
+        if (this.fullySpawned == fullySpawned) return false;
+
+        this.fullySpawned = fullySpawned;
+        return true;
+    }
+
+    /**
+     * @return if the value changed
+     */
+    boolean setSecondPhase(final boolean secondPhase) {
+        if (this.secondPhase == secondPhase) return false;
+
+        this.secondPhase = secondPhase;
+        return true;
+    }
+
+}
@@ -27,7 +27,7 @@ public class BossStatEntry implements ConfigurationSerializable {
 
         //Read in level mapping if present, else set to null
         final Object levelMapping = fields.getOrDefault("level-mapping", null);
-        this.levelMapping = (levelMapping != null) ? this.getMappingArray(levelMapping, "Level", 5, statName) : null;
+        this.levelMapping = (levelMapping != null) ? this.getMappingArray(levelMapping, "Level", -1, statName) : null;
 
         //Read in difficulty mapping if present, else set to null
         final Object difficultyMapping = fields.getOrDefault("difficulty-mapping", null);
@@ -63,7 +63,7 @@ public class BossStatEntry implements ConfigurationSerializable {
      * Turns a mapping entry into a double array
      * @param mapping mapping entry
      * @param metricName name of this value to use in exception message
-     * @param length required list length to match
+     * @param length required list length to match, or -1 to accept any non-empty list
      * @param statName name of stat to use in exception message
      * @return the mapping (array of doubles)
      */
@@ -73,7 +73,10 @@ public class BossStatEntry implements ConfigurationSerializable {
 
         //List must be the exact accepted length
         final List<?> list = (List<?>) mapping;
-        if (list.size() != length) throw new IllegalArgumentException(metricName + " Mapping list of Boss Stat " + statName + " must have exactly " + length + " values");
+        if (length == -1) {
+            if (list.isEmpty()) throw new IllegalArgumentException(metricName + " Mapping list of Boss Stat " + statName + " must have at least one value");
+        }
+        else if (list.size() != length) throw new IllegalArgumentException(metricName + " Mapping list of Boss Stat " + statName + " must have exactly " + length + " values");
 
         //List must be all numeric
         if (!list.stream().allMatch(Number.class::isInstance)) throw new IllegalArgumentException(metricName + " Mappings of Boss Stat " + statName + " must be all numeric");
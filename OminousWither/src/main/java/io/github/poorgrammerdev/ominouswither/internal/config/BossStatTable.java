@@ -0,0 +1,308 @@
+package io.github.poorgrammerdev.ominouswither.internal.config;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.bukkit.Difficulty;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+
+import redempt.crunch.CompiledExpression;
+import redempt.crunch.Crunch;
+import redempt.crunch.functional.EvaluationEnvironment;
+
+/**
+ * <p>Holds the values of every configurable Boss stat in one flat array</p>
+ * <p>Values are laid out by level, then stat, then difficulty, so a lookup is a single multiply-add into the array
+ * and supporting a higher level only appends to the end</p>
+ * <p>Formulas are compiled up front, but each value is only evaluated the first time it is requested and then remembered.
+ * This keeps startup cost the same no matter how high the level cap is.</p>
+ * <p>Formulas that use live fight variables ({@link #DYNAMIC_VARIABLES}) also get an evaluator per level and difficulty,
+ * compiled with those two values written in as constants so Crunch can fold everything that doesn't change during the fight.
+ * The table itself holds their value at the very start of a fight.</p>
+ * <p>Tables are immutable from the outside; reloading builds a new table and swaps it in</p>
+ * @author Thomas Tran
+ */
+final class BossStatTable {
+    static final int DIFFICULTIES = 3;
+
+    /**
+     * Variables describing the live state of the fight, in the order that {@link StatSnapshot} stores them
+     */
+    static final String[] DYNAMIC_VARIABLES = {"health", "players", "ticks"};
+
+    /**
+     * Fight state used for the values stored in the table: full health, nobody nearby, just activated
+     */
+    private static final double[] BASELINE_VARIABLES = {1.0D, 0.0D, 0.0D};
+
+    private static final Pattern DYNAMIC_PATTERN = Pattern.compile("\\b(" + String.join("|", DYNAMIC_VARIABLES) + ")\\b");
+    private static final Pattern LEVEL_PATTERN = Pattern.compile("\\blevel\\b");
+    private static final Pattern DIFFICULTY_PATTERN = Pattern.compile("\\bdifficulty\\b");
+
+    /**
+     * Levels to make room for whenever the table has to grow
+     */
+    private static final int LEVEL_GROWTH = 8;
+
+    /**
+     * Internal difficulty index in [0,2] range for each Difficulty, indexed by ordinal
+     */
+    private static final int[] DIFFICULTY_INDICES;
+    static {
+        final Difficulty[] difficulties = Difficulty.values();
+        DIFFICULTY_INDICES = new int[difficulties.length];
+        for (final Difficulty difficulty : difficulties) {
+            DIFFICULTY_INDICES[difficulty.ordinal()] = getDifficultyIndex(difficulty);
+        }
+    }
+
+    private final int maxLevel;
+    private final int levelStride;
+    private final BossStatEntry[] entries;
+    private final CompiledExpression[] expressions;
+
+    /**
+     * If each stat's formula uses any of the dynamic variables, indexed by stat ordinal
+     */
+    private final boolean[] dynamic;
+
+    /**
+     * Memoized evaluators for dynamic stats, laid out the same as the values; null until first requested
+     * Only accessed while synchronized
+     */
+    private CompiledExpression[] evaluators;
+
+    /**
+     * Memoized values; NaN marks a value that hasn't been evaluated yet
+     * Replaced with a larger copy when a level past the end is requested
+     */
+    private volatile double[] values;
+
+    /**
+     * <p>Constructor</p>
+     * <p>Compiles every stat's formula in parallel; nothing is evaluated yet</p>
+     * @param config config to read the stats from
+     * @param maxLevel highest level that can be requested
+     * @throws IllegalStateException if a stat is missing from the config
+     * @throws IllegalArgumentException if a stat entry is malformed
+     */
+    BossStatTable(final Configuration config, final int maxLevel) {
+        final BossStat[] stats = BossStat.values();
+        this.maxLevel = maxLevel;
+        this.levelStride = stats.length * DIFFICULTIES;
+
+        //Config access is not thread safe, so entries are read here first
+        this.entries = new BossStatEntry[stats.length];
+        for (final BossStat stat : stats) {
+            final ConfigurationSection entrySection = config.getConfigurationSection(stat.getConfigPath());
+            if (entrySection == null) throw new IllegalStateException("Config is missing boss stat " + stat + " expected at location " + stat.getConfigPath());
+
+            this.entries[stat.ordinal()] = new BossStatEntry(entrySection.getValues(true), stat.toString());
+        }
+
+        this.dynamic = new boolean[stats.length];
+        for (int i = 0; i < stats.length; ++i) {
+            this.dynamic[i] = DYNAMIC_PATTERN.matcher(this.entries[i].getFormula()).find();
+        }
+
+        //Compilation is independent per stat
+        this.expressions = Arrays.stream(this.entries)
+            .parallel()
+            .map((entry) -> {
+                final EvaluationEnvironment evalEnv = new EvaluationEnvironment();
+                evalEnv.setVariableNames("level", "difficulty", DYNAMIC_VARIABLES[0], DYNAMIC_VARIABLES[1], DYNAMIC_VARIABLES[2]);
+                return Crunch.compileExpression(entry.getFormula(), evalEnv);
+            })
+            .toArray(CompiledExpression[]::new)
+        ;
+
+        final int initialLevels = Math.min(maxLevel, LEVEL_GROWTH);
+        this.values = this.createValues(initialLevels);
+        this.evaluators = new CompiledExpression[initialLevels * this.levelStride];
+    }
+
+    /**
+     * @return highest level that can be requested
+     */
+    int getMaxLevel() {return this.maxLevel;}
+
+    /**
+     * Gets a stat value, evaluating it if this is the first request
+     * @param stat the stat to retrieve
+     * @param level level of Ominous Wither in [1,maxLevel] interval
+     * @param difficulty difficulty of world
+     * @return stat value
+     * @throws ArrayIndexOutOfBoundsException if level is invalid
+     */
+    double get(final BossStat stat, final int level, final Difficulty difficulty) {
+        //Levels outside the range would otherwise silently read a neighbouring stat
+        if (level < 1 || level > this.maxLevel) throw new ArrayIndexOutOfBoundsException("Level " + level + " is outside of the [1," + this.maxLevel + "] range");
+
+        final int index = this.getIndex(stat.ordinal(), level - 1, DIFFICULTY_INDICES[difficulty.ordinal()]);
+        final double[] values = this.values;
+        if (index < values.length) {
+            final double value = values[index];
+            if (!Double.isNaN(value)) return value;
+        }
+
+        return this.evaluate(stat, level, difficulty, index);
+    }
+
+    /**
+     * Resolves every stat for one level and difficulty
+     * @param level level of Ominous Wither in [1,maxLevel] interval
+     * @param difficulty difficulty of world
+     * @return new snapshot of all stats
+     * @throws ArrayIndexOutOfBoundsException if level is invalid
+     */
+    StatSnapshot createSnapshot(final int level, final Difficulty difficulty) {
+        return this.createSnapshot(level, difficulty, null);
+    }
+
+    /**
+     * Resolves every stat for one level and difficulty, with dynamic stats following a Wither's live fight state
+     * @param level level of Ominous Wither in [1,maxLevel] interval
+     * @param difficulty difficulty of world
+     * @param variables live fight state of the Wither laid out as {@link #DYNAMIC_VARIABLES}, or null to only use the values at the start of a fight
+     * @return new snapshot of all stats
+     * @throws ArrayIndexOutOfBoundsException if level is invalid
+     */
+    StatSnapshot createSnapshot(final int level, final Difficulty difficulty, final double[] variables) {
+        final BossStat[] stats = BossStat.values();
+        final double[] snapshotValues = new double[stats.length];
+        CompiledExpression[] snapshotEvaluators = null;
+
+        for (final BossStat stat : stats) {
+            snapshotValues[stat.ordinal()] = this.get(stat, level, difficulty);
+
+            if (variables != null && this.dynamic[stat.ordinal()]) {
+                if (snapshotEvaluators == null) snapshotEvaluators = new CompiledExpression[stats.length];
+                snapshotEvaluators[stat.ordinal()] = this.getEvaluator(stat, level, difficulty);
+            }
+        }
+        return new StatSnapshot(level, difficulty, snapshotValues, snapshotEvaluators, variables);
+    }
+
+    /**
+     * <p>Evaluates and remembers a value that isn't in the table yet</p>
+     * <p>Synchronized since compiled expressions are not safe to evaluate concurrently and growing replaces the array</p>
+     */
+    private synchronized double evaluate(final BossStat stat, final int level, final Difficulty difficulty, final int index) {
+        this.ensureCapacity(level);
+        final double[] values = this.values;
+        if (!Double.isNaN(values[index])) {
+            //Another thread got here first
+            return values[index];
+        }
+
+        final BossStatEntry entry = this.entries[stat.ordinal()];
+        final double levelValue = this.getLevelValue(entry, level);
+        final double difficultyValue = this.getDifficultyValue(entry, difficulty);
+
+        final double value = this.expressions[stat.ordinal()].evaluate(levelValue, difficultyValue, BASELINE_VARIABLES[0], BASELINE_VARIABLES[1], BASELINE_VARIABLES[2]);
+        values[index] = value;
+        return value;
+    }
+
+    /**
+     * <p>Gets the evaluator of a dynamic stat for one level and difficulty, compiling it if this is the first request</p>
+     * <p>Level and difficulty are written into the formula as constants, leaving only the dynamic variables</p>
+     */
+    private synchronized CompiledExpression getEvaluator(final BossStat stat, final int level, final Difficulty difficulty) {
+        final int index = this.getIndex(stat.ordinal(), level - 1, DIFFICULTY_INDICES[difficulty.ordinal()]);
+        this.ensureCapacity(level);
+        if (this.evaluators[index] != null) return this.evaluators[index];
+
+        final BossStatEntry entry = this.entries[stat.ordinal()];
+        String formula = entry.getFormula();
+        formula = LEVEL_PATTERN.matcher(formula).replaceAll(toLiteral(this.getLevelValue(entry, level)));
+        formula = DIFFICULTY_PATTERN.matcher(formula).replaceAll(toLiteral(this.getDifficultyValue(entry, difficulty)));
+
+        final EvaluationEnvironment evalEnv = new EvaluationEnvironment();
+        evalEnv.setVariableNames(DYNAMIC_VARIABLES);
+
+        final CompiledExpression evaluator = Crunch.compileExpression(formula, evalEnv);
+        this.evaluators[index] = evaluator;
+        return evaluator;
+    }
+
+    /**
+     * Makes sure the arrays have room for a level; must be called while synchronized
+     */
+    private void ensureCapacity(final int level) {
+        final double[] values = this.values;
+        if (level * this.levelStride <= values.length) return;
+
+        //Grow by a few levels at a time so climbing levels one by one doesn't copy every time
+        final int levels = Math.min(Math.max(level, (values.length / this.levelStride) + LEVEL_GROWTH), this.maxLevel);
+
+        final double[] grownValues = this.createValues(levels);
+        System.arraycopy(values, 0, grownValues, 0, values.length);
+        this.evaluators = Arrays.copyOf(this.evaluators, grownValues.length);
+        this.values = grownValues;
+    }
+
+    /**
+     * Applies the level mapping if present, otherwise uses the raw level
+     * Levels past the end of a level mapping use its last value
+     */
+    private double getLevelValue(final BossStatEntry entry, final int level) {
+        final double[] levelMapping = entry.getLevelMapping();
+        return levelMapping != null ? levelMapping[Math.min(level, levelMapping.length) - 1] : level;
+    }
+
+    /**
+     * Applies the difficulty mapping if present, otherwise uses the raw values {Easy: 1, Normal: 2, Hard: 3}
+     */
+    private double getDifficultyValue(final BossStatEntry entry, final Difficulty difficulty) {
+        final int difficultyIndex = DIFFICULTY_INDICES[difficulty.ordinal()];
+        return entry.getDifficultyMapping() != null ? entry.getDifficultyMapping()[difficultyIndex] : difficultyIndex + 1;
+    }
+
+    /**
+     * Writes a number the way Crunch can parse it (no scientific notation), wrapped so negative values stay intact
+     */
+    private static String toLiteral(final double value) {
+        return "(" + BigDecimal.valueOf(value).toPlainString() + ")";
+    }
+
+    /**
+     * @param levels amount of levels to make room for
+     * @return new array with every value marked as not yet evaluated
+     */
+    private double[] createValues(final int levels) {
+        final double[] values = new double[levels * this.levelStride];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    private int getIndex(final int statIndex, final int levelIndex, final int difficultyIndex) {
+        return (levelIndex * this.levelStride) + (statIndex * DIFFICULTIES) + difficultyIndex;
+    }
+
+    /**
+     * <p>Translates Difficulty enum to internal difficulty value in [0,2] range for indexing</p>
+     * <p>For calculations, this value can be incremented by 1 for the desired [1,3] range</p>
+     * @param difficulty world difficulty
+     * @return difficulty index value
+     */
+    private static int getDifficultyIndex(final Difficulty difficulty) {
+        switch (difficulty) {
+            case EASY:
+                return 0;
+            case NORMAL:
+                return 1;
+            case HARD:
+                return 2;
+
+            // Invalid cases -> just assume Easy mode
+            case PEACEFUL:
+                return 0;
+            default:
+                return 0;
+
+        }
+    }
+}
@@ -1,69 +1,149 @@
 package io.github.poorgrammerdev.ominouswither.internal.config;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
 import org.bukkit.Difficulty;
 import org.bukkit.World;
-import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Wither;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
-import redempt.crunch.functional.EvaluationEnvironment;
+import io.github.poorgrammerdev.ominouswither.internal.WitherState;
 
 /**
  * <p>Handles retrieval of configurable Ominouswither-related stats/settings from the plugin config</p>
  * <p>To allow for easy modification, each stat in the config is defined as a mathematical expression</p>
- * <p>To minimize performance impact at query-time, this expression is evaluated for all possible assignments of each variable at load-time and their values are cached</p>
- * <p>The cached value is simply retrieved at query-time</p>
+ * <p>To minimize performance impact at query-time, each expression is compiled at load-time and evaluated the first time a value is needed</p>
+ * <p>After that, the cached value is simply retrieved at query-time</p>
  * @author Thomas Tran
  */
 public class BossStatsManager {
+    private static final int MAX_SUPPORTED_LEVEL = 256;
+
     private final OminousWither plugin;
-    private final HashMap<BossStat, CachedBossStat> settingsMap;
+
+    //Replaced as a whole on reload, so readers always see either the old or the new table and never need to lock
+    private volatile BossStatTable table;
 
     public BossStatsManager(final OminousWither plugin) {
         this.plugin = plugin;
-        this.settingsMap = new HashMap<>();
+        this.table = null;
     }
 
     /**
-     * Load or reload settings from config and recalculate all values
-     * This will clear any values in the map if present
-     * @param plugin instance of plugin class
+     * <p>Load or reload settings from config and recalculate all values</p>
+     * <p>The new values only replace the current ones once every stat has been evaluated successfully,
+     * so a broken config leaves the previous values in place</p>
+     * @throws IllegalStateException if a stat is missing from the config
+     * @throws IllegalArgumentException if a stat entry is malformed
      */
     public void load() {
-        // Clear the map if not empty
-        if (this.settingsMap.size() > 0) this.settingsMap.clear();
+        this.table = createTable(this.plugin.getConfig());
 
-        // Perform calculations and populate stat map
-        final EvaluationEnvironment evalEnv = new EvaluationEnvironment();
-        evalEnv.setVariableNames("level", "difficulty");
+        //Live Withers hold snapshots of the old values
+        this.plugin.getWitherRegistry().rebuildSnapshots();
+    }
+
+    /**
+     * <p>Reload the config file from disk and recalculate all values</p>
+     * <p>The file is read into a separate config and every stat is evaluated from it first. The plugin's config and the current values
+     * are only replaced once that succeeds, so a broken file leaves both as they were.</p>
+     * @throws IOException if the config file could not be read
+     * @throws InvalidConfigurationException if the config file is not valid YAML
+     * @throws IllegalStateException if a stat is missing from the config
+     * @throws IllegalArgumentException if a stat entry is malformed
+     */
+    public void reload() throws IOException, InvalidConfigurationException {
+        final YamlConfiguration config = new YamlConfiguration();
+        final File file = new File(this.plugin.getDataFolder(), "config.yml");
+        if (file.exists()) config.load(file);
+
+        //Same defaults that the plugin's own config falls back on
+        final InputStream defaults = this.plugin.getResource("config.yml");
+        if (defaults != null) {
+            config.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+        }
 
-        for (final BossStat stat : BossStat.values()) {
-            final ConfigurationSection entrySection = this.plugin.getConfig().getConfigurationSection(stat.getConfigPath());
-            if (entrySection == null) throw new IllegalStateException("Config is missing boss stat " + stat + " expected at location " + stat.getConfigPath());
+        final BossStatTable table = createTable(config);
 
-            final BossStatEntry entry = new BossStatEntry(entrySection.getValues(true), stat.toString());
+        //Everything is valid, now commit
+        this.plugin.reloadConfig();
+        this.table = table;
+        this.plugin.getWitherRegistry().rebuildSnapshots();
+    }
 
-            this.settingsMap.put(stat, new CachedBossStat(entry, evalEnv));
-        }
+    /**
+     * @return highest level an Ominous Wither can have
+     */
+    public int getMaxLevel() {
+        return this.table.getMaxLevel();
     }
 
     /**
-     * Gets a cached stat in the map
+     * Gets a cached stat
      * @param bossStat the stat to retrieve
-     * @param level level of Wither in [1,5] range
+     * @param level level of Wither in [1,max level] range
      * @param difficulty current difficulty of world
      * 
      * @return stat value
      * 
-     * @throws IllegalArgumentException if requested stat is not in the map
      * @throws ArrayIndexOutOfBoundsException if level is invalid
      */
-    public double getStat(final BossStat bossStat, int level, Difficulty difficulty) throws IllegalArgumentException {
-        final CachedBossStat setting = this.settingsMap.getOrDefault(bossStat, null);
-        if (setting == null) throw new IllegalArgumentException("Stat " + setting +  " does not exist in the map");
+    public double getStat(final BossStat bossStat, int level, Difficulty difficulty) {
+        return this.table.get(bossStat, level, difficulty);
+    }
 
-        return setting.getValue(level, difficulty);
+    /**
+     * Resolves every stat for one level and difficulty
+     * @param level level of Wither in [1,max level] range
+     * @param difficulty current difficulty of world
+     * 
+     * @return new snapshot of all stats
+     * 
+     * @throws ArrayIndexOutOfBoundsException if level is invalid
+     */
+    public StatSnapshot createSnapshot(final int level, final Difficulty difficulty) {
+        return this.table.createSnapshot(level, difficulty);
+    }
+
+    /**
+     * Resolves every stat for one level and difficulty, with dynamic stats following a Wither's live fight state
+     * @param level level of Wither in [1,max level] range
+     * @param difficulty current difficulty of world
+     * @param variables live fight state of the Wither, indexed by {@link StatSnapshot#HEALTH} and the like
+     * 
+     * @return new snapshot of all stats
+     * 
+     * @throws ArrayIndexOutOfBoundsException if level is invalid
+     */
+    public StatSnapshot createSnapshot(final int level, final Difficulty difficulty, final double[] variables) {
+        return this.table.createSnapshot(level, difficulty, variables);
+    }
+
+    /**
+     * Gets the stats of a Wither without having to manually retrieve level and difficulty
+     * @param wither Ominous Wither entity
+     * 
+     * @return the Wither's cached snapshot, or a new one at the lowest level if the Wither is not registered
+     */
+    public StatSnapshot getSnapshot(final Wither wither) {
+        //Registered Withers already have their stats cached
+        final WitherState state = this.plugin.getWitherRegistry().get(wither);
+        if (state != null) return state.getStats();
+
+        final World world = wither.getWorld();
+
+        //If world is not available for some reason, assume easy difficulty
+        final Difficulty difficulty = ((world != null) ? world.getDifficulty() : Difficulty.EASY);
+
+        //If level is not available for some reason, assume lowest level
+        return this.createSnapshot(1, difficulty);
     }
 
     /**
@@ -73,19 +153,30 @@ public class BossStatsManager {
      * 
      * @return stat value
      * 
-     * @throws IllegalArgumentException if requested stat is not in the map
      * @throws ArrayIndexOutOfBoundsException if stored level is invalid
      */
-    public double getStat(final BossStat bossStat, final Wither wither) throws IllegalArgumentException {
+    public double getStat(final BossStat bossStat, final Wither wither) {
+        //Registered Withers already have their stats cached
+        final WitherState state = this.plugin.getWitherRegistry().get(wither);
+        if (state != null) return state.getStats().get(bossStat);
+
         final World world = wither.getWorld();
 
         //If world is not available for some reason, assume easy difficulty
         final Difficulty difficulty = ((world != null) ? world.getDifficulty() : Difficulty.EASY);
 
         //If level is not available for some reason, assume lowest level
-        final int level = this.plugin.getLevel(wither, 1);
-
-        return this.getStat(bossStat, level, difficulty);
+        return this.getStat(bossStat, 1, difficulty);
     }
 
-}
\ No newline at end of file
+    /**
+     * Evaluates every stat from a config
+     * @throws IllegalStateException if a stat is missing from the config
+     * @throws IllegalArgumentException if a stat entry is malformed
+     */
+    private static BossStatTable createTable(final Configuration config) {
+        //Bad Omen amplifiers go up to 255, so levels can go up to 256
+        final int maxLevel = Math.max(1, Math.min(config.getInt("max_level", 5), MAX_SUPPORTED_LEVEL));
+        return new BossStatTable(config, maxLevel);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.poorgrammerdev.ominouswither.internal.config;
+
+import org.bukkit.Difficulty;
+
+import redempt.crunch.CompiledExpression;
+
+/**
+ * <p>Every Boss stat resolved for a single level and difficulty</p>
+ * <p>Each live Ominous Wither holds one of these so mechanics can read its stats without looking them up every time</p>
+ * <p>Stats whose formulas use live fight variables are evaluated against the Wither's current fight state each time they are read;
+ * every other stat is a plain array read</p>
+ * <p>Snapshots are otherwise immutable; a new one is made whenever the Wither's difficulty changes or the stats are reloaded</p>
+ * @author Thomas Tran
+ */
+public final class StatSnapshot {
+    /**
+     * Indices of each fight variable in a Wither's fight state array
+     */
+    public static final int HEALTH = 0;
+    public static final int PLAYERS = 1;
+    public static final int TICKS = 2;
+    public static final int VARIABLE_COUNT = 3;
+
+    private final int level;
+    private final Difficulty difficulty;
+
+    /**
+     * Stat values, indexed by stat ordinal
+     */
+    private final double[] values;
+
+    /**
+     * Evaluators of dynamic stats, indexed by stat ordinal; null if there are none or this snapshot doesn't follow a fight
+     */
+    private final CompiledExpression[] evaluators;
+
+    /**
+     * Live fight state that the evaluators read from
+     */
+    private final double[] variables;
+
+    StatSnapshot(final int level, final Difficulty difficulty, final double[] values, final CompiledExpression[] evaluators, final double[] variables) {
+        this.level = level;
+        this.difficulty = difficulty;
+        this.values = values;
+        this.evaluators = evaluators;
+        this.variables = variables;
+    }
+
+    /**
+     * @return level these stats were resolved for
+     */
+    public int getLevel() {return this.level;}
+
+    /**
+     * @return difficulty these stats were resolved for
+     */
+    public Difficulty getDifficulty() {return this.difficulty;}
+
+    /**
+     * <p>Gets a stat value</p>
+     * <p>Dynamic stats must be read from the main thread, since their evaluators are shared and not thread safe</p>
+     * @param stat the stat to retrieve
+     * @return stat value
+     */
+    public double get(final BossStat stat) {
+        if (this.evaluators != null) {
+            final CompiledExpression evaluator = this.evaluators[stat.ordinal()];
+            if (evaluator != null) return evaluator.evaluate(this.variables);
+        }
+        return this.values[stat.ordinal()];
+    }
+
+    /**
+     * @param stat the stat to check
+     * @return if this stat changes with the live fight state and should be read again whenever it is used
+     */
+    public boolean isDynamic(final BossStat stat) {
+        return (this.evaluators != null && this.evaluators[stat.ordinal()] != null);
+    }
+
+    /**
+     * Convenience method for stats that are used as whole numbers (durations, amounts, enchantment levels)
+     * @param stat the stat to retrieve
+     * @return stat value, truncated
+     */
+    public int getInt(final BossStat stat) {
+        return (int) this.get(stat);
+    }
+
+}
@@ -35,7 +35,7 @@ public class OminousWitherSpawnEvent extends AbstractOminousWitherEvent {
     }
 
     /**
-     * @return the level of Bad Omen (and thus level of Ominous Wither); value should be in range [1,5]
+     * @return the level of Bad Omen (and thus level of Ominous Wither); value should be in range [1,max level]
      */
     public int getLevel() {
         return this.level;
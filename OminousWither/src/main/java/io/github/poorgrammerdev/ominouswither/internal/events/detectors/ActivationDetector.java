@@ -5,7 +5,6 @@ import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityExplodeEvent;
-import org.bukkit.persistence.PersistentDataType;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherActivateEvent;
@@ -38,7 +37,7 @@ public class ActivationDetector implements Listener {
 
         //Wither can cause explosions after it's spawned, we only want this to trigger once
         //Check if it's already fully spawned
-        if (wither.getPersistentDataContainer().getOrDefault(this.plugin.getIsFullySpawnedKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (this.plugin.isFullySpawned(wither)) return;
 
         //*** Fire Event ***
         this.plugin.getServer().getPluginManager().callEvent(new OminousWitherActivateEvent(wither));
@@ -32,7 +32,7 @@ public class LoadDetector implements Listener {
             .stream()
             .filter((entity) -> (entity instanceof Wither))
             .map((entity) -> (Wither) entity)
-            .filter((wither) -> (this.plugin.isOminous(wither)))
+            .filter((wither) -> (this.plugin.getWitherRegistry().isTaggedOminous(wither)))
             .forEach((wither) -> {this.plugin.getServer().getPluginManager().callEvent(new OminousWitherLoadEvent(wither));});
     }
     
@@ -60,7 +60,7 @@ public class LoadDetector implements Listener {
                 .stream()
                 .filter((entity) -> (entity instanceof Wither))
                 .map((entity) -> (Wither) entity)
-                .filter((wither) -> (this.plugin.isOminous(wither)))
+                .filter((wither) -> (this.plugin.getWitherRegistry().isTaggedOminous(wither)))
                 .forEach((wither) -> {this.plugin.getServer().getPluginManager().callEvent(new OminousWitherLoadEvent(wither));});
             ;
         }
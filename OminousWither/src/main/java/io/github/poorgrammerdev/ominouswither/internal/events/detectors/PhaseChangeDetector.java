@@ -13,13 +13,13 @@ import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeBeginEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeEndEvent;
@@ -53,7 +53,7 @@ public class PhaseChangeDetector implements Listener {
         if (!this.plugin.isOminous(wither)) return;
 
         //Must not already be in second phase
-        if (wither.getPersistentDataContainer().getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (this.plugin.isInSecondPhase(wither)) return;
 
         //Wither must be below half health
         final double maxHealth = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
@@ -77,14 +77,9 @@ public class PhaseChangeDetector implements Listener {
         //Wither grows in size
         wither.getAttribute(Attribute.GENERIC_SCALE).setBaseValue(1.5);
 
-        wither.getNearbyEntities(20, 20, 20)
-            .stream()
-            .filter(Player.class::isInstance)
-            .map(Player.class::cast)
-            .forEach((player) -> {
-                player.addPotionEffect(new PotionEffect(PotionEffectType.DARKNESS, 40, 0, true, false, false));
-            })
-        ;
+        for (final Player player : this.plugin.getTargetGrid().getPlayersInBox(wither.getLocation(), 20, 20, 20)) {
+            player.addPotionEffect(new PotionEffect(PotionEffectType.DARKNESS, 40, 0, true, false, false));
+        }
 
         //Play starting sound
         final World world = wither.getWorld();
@@ -94,7 +89,7 @@ public class PhaseChangeDetector implements Listener {
        
         //Start animation and track to call event when animation ends
         wither.setInvulnerabilityTicks(BUFF_ANIMATION_TICKS * 2); //Set to double the amount so it ends when HP reaches half
-        new PhaseChangeAnimationTracker(wither).runTaskTimer(plugin, 0, 0);
+        this.plugin.getCoroutineManager().enqueueStrict(new PhaseChangeAnimationTracker(wither), wither);
     }
 
     /**
@@ -104,20 +99,20 @@ public class PhaseChangeDetector implements Listener {
     private void onLoad(final OminousWitherLoadEvent event) {
         //Must be in second phase
         final Wither wither = event.getWither();
-        if (!wither.getPersistentDataContainer().getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (!this.plugin.isInSecondPhase(wither)) return;
 
         //Must still be in the phase change animation
         if (wither.getInvulnerabilityTicks() <= 0) return;
 
         //Restart tracking process
-        new PhaseChangeAnimationTracker(wither).runTaskTimer(plugin, 0, 0);
+        this.plugin.getCoroutineManager().enqueueStrict(new PhaseChangeAnimationTracker(wither), wither);
     }
 
     /**
-     * Runnable to track Wither animation and fire event when finished
+     * Strict coroutine to track Wither animation and fire event when finished
      * @author Thomas Tran
      */
-    private class PhaseChangeAnimationTracker extends BukkitRunnable {
+    private class PhaseChangeAnimationTracker implements ICoroutine {
         private final Wither wither;
         private final Location frozenLocation;
 
@@ -135,11 +130,15 @@ public class PhaseChangeDetector implements Listener {
         }
 
         @Override
-        public void run() {
+        public CoroutinePriority getPriority() {
+            return CoroutinePriority.COMBAT;
+        }
+
+        @Override
+        public boolean tick() {
                 //Wither somehow disappeared, have to cancel
                 if (wither == null || wither.isDead() || !wither.isInWorld()) {
-                    this.cancel();
-                    return;
+                    return false;
                 }
 
                 //Bind Wither to its current location or else it will continue following its target
@@ -185,8 +184,10 @@ public class PhaseChangeDetector implements Listener {
                     // *** FIRE EVENT ***
                     plugin.getServer().getPluginManager().callEvent(new OminousWitherPhaseChangeEndEvent(wither));
 
-                    this.cancel();
+                    return false;
                 }
+
+                return true;
             }
 
         private Vector getRandomVector() {
@@ -17,7 +17,6 @@ import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherSpawnEvent;
@@ -30,8 +29,6 @@ import io.github.poorgrammerdev.ominouswither.utils.Utils;
  * @author Thomas Tran
  */
 public class SpawnDetector implements Listener {
-    private static final int MAX_LEVEL = 5;
-
     /*
      * IMPLEMENTATION:
      * Since there's no trivial way to get who/what spawned a Wither, the system will work as follows:
@@ -80,12 +77,8 @@ public class SpawnDetector implements Listener {
         this.candidateSpawners.add(playerID);
 
         //Remove the next game tick
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                candidateSpawners.remove(playerID);
-            }
-        }.runTaskLater(this.plugin, 1L);
+        //Runs in the block's region, where the Wither spawn event that reads this set will also fire
+        this.plugin.getSchedulerBackend().runAtLocation(block.getLocation(), () -> this.candidateSpawners.remove(playerID), 1L);
     }
 
     /**
@@ -113,7 +106,7 @@ public class SpawnDetector implements Listener {
             return;
         }
 
-        final int level = Utils.clamp(badOmen.getAmplifier() + 1, 0, MAX_LEVEL);
+        final int level = Utils.clamp(badOmen.getAmplifier() + 1, 1, this.plugin.getBossStatsManager().getMaxLevel());
 
         // *** Fire Ominous Wither Spawn event ***
         this.plugin.getServer().getPluginManager().callEvent(new OminousWitherSpawnEvent(wither, spawner, level, OminousWitherSpawnEvent.SpawnReason.BUILD));
@@ -127,10 +120,8 @@ public class SpawnDetector implements Listener {
     private Player getCandidateSpawner(final Wither wither) {
         final Location witherLocation = wither.getLocation();
 
-        return wither.getNearbyEntities(this.spawnerSearchRadius, this.spawnerSearchRadius, this.spawnerSearchRadius).stream()
-            //Only consider players
-            .filter(entity -> (entity instanceof Player))
-            .map(entity -> (Player) entity)
+        //Players in any game mode can build a Wither
+        return this.plugin.getTargetGrid().getPlayersInBox(witherLocation, this.spawnerSearchRadius, this.spawnerSearchRadius, this.spawnerSearchRadius).stream()
 
             //Only consider players that have placed a Wither Skull in the last tick
             .filter(player -> this.candidateSpawners.contains(player.getUniqueId()))
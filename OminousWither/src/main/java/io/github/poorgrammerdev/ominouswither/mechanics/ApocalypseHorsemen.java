@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.UUID;
 
-import org.bukkit.Difficulty;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -31,12 +30,14 @@ import org.bukkit.loot.LootTables;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.coroutines.PassableLocationFinder;
+import io.github.poorgrammerdev.ominouswither.coroutines.SpawnPipeline;
+import io.github.poorgrammerdev.ominouswither.internal.EntityBudgetGovernor;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 import io.github.poorgrammerdev.ominouswither.utils.ItemBuilder;
 
 /**
@@ -67,36 +68,64 @@ public class ApocalypseHorsemen implements Listener {
         if (world == null) return;
 
         final Location center = target.getLocation();
-        final int level = this.plugin.getLevel(wither, 1);
-        final Difficulty difficulty = world.getDifficulty();
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(wither);
+
+        //Equipment is the same for every horseman summoned by this skull, so it is only built once
+        final int protectionLevel = stats.getInt(BossStat.APOCALYPSE_HORSEMAN_ARMOR_PROTECTION);
+        final ItemStack[] armor = new ItemStack[]{
+            new ItemBuilder(Material.IRON_BOOTS).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
+            new ItemBuilder(Material.IRON_LEGGINGS).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
+            new ItemBuilder(Material.IRON_CHESTPLATE).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
+            new ItemBuilder(Material.IRON_HELMET).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
+        };
+        final ItemStack bow =
+            new ItemBuilder(Material.BOW)
+                .addEnchant(Enchantment.POWER, stats.getInt(BossStat.APOCALYPSE_HORSEMAN_BOW_POWER), true)
+                .addEnchant(Enchantment.FLAME, 1, false)
+            .build()
+        ;
 
         //Find viable locations and summon skeleton horsemen
-        final UUID groupID = UUID.randomUUID();
+        //Each horseman is two entities; horsemen that don't fit in the entity budget arrive later as their own group
+        //Horsemen are spawned one per tick through a pipeline as locations are found, and the timer starts once the whole group is out
         final UUID targetID = target.getUniqueId();
-        this.plugin.getCoroutineManager().enqueue(new PassableLocationFinder(
-            center,
-            new Vector(5, 5, 5),
-            4,
-            true,
-            true,
-            (int) this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_SPAWN_AMOUNT, wither),
-            (location) -> {this.spawnHorseman(groupID, location, targetID, level, difficulty);},
-            (amount) -> {this.activateTimer(groupID, amount, (int) this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_HORSEMAN_LIFESPAN, level, difficulty));}
-        ));
+        this.plugin.getEntityBudget().spawnBudgeted(wither, center, stats.getInt(BossStat.APOCALYPSE_SPAWN_AMOUNT), 2, (reservation, amount) -> {
+            final UUID groupID = UUID.randomUUID();
+            final SpawnPipeline pipeline = new SpawnPipeline((location) -> this.spawnHorseman(reservation, groupID, location, targetID, stats, armor, bow));
+
+            this.plugin.getCoroutineManager().enqueue(pipeline, ApocalypseHorsemen.class);
+            this.plugin.getCoroutineManager().enqueue(new PassableLocationFinder(
+                center,
+                new Vector(5, 5, 5),
+                4,
+                true,
+                true,
+                amount,
+                pipeline::offer,
+                (found) -> pipeline.close((spawned) -> {
+                    //Horsemen that weren't found a location or failed to spawn give their budget back
+                    this.plugin.getEntityBudget().release(reservation);
+                    this.activateTimer(groupID, spawned, stats.getInt(BossStat.APOCALYPSE_HORSEMAN_LIFESPAN));
+                })
+            ), ApocalypseHorsemen.class);
+        });
     }
 
 
     /**
      * Spawns a skeleton horseman at this location
+     * @param reservation entity budget the horseman is spawned under
      * @param groupID UUID denoting the group that this horseman belongs to. all members spawning from the same skull should have the same group id
      * @param location location to spawn at
      * @param target entity to target
-     * @param level level of Ominous Wither
-     * @param difficulty difficulty of world
+     * @param stats stats of the Ominous Wither that summoned this horseman
+     * @param armor armor to give the skeleton; shared by the whole group
+     * @param bow bow to give the skeleton; shared by the whole group
+     * @return if the horseman was spawned
      */
-    private void spawnHorseman(final UUID groupID, final Location location, final UUID targetID, final int level, final Difficulty difficulty) {
+    private boolean spawnHorseman(final EntityBudgetGovernor.Reservation reservation, final UUID groupID, final Location location, final UUID targetID, final StatSnapshot stats, final ItemStack[] armor, final ItemStack bow) {
         final World world = location.getWorld();
-        if (world == null) return;
+        if (world == null) return false;
 
         //Spawn the entities
         final Entity entity1 = world.spawnEntity(location, EntityType.SKELETON_HORSE);
@@ -107,11 +136,14 @@ public class ApocalypseHorsemen implements Listener {
             entity2.remove();
 
             this.plugin.getLogger().warning("Failed to summon Skeleton Horseman");
-            return;
+            return false;
         }
 
+        this.plugin.getEntityBudget().track(entity1, reservation);
+        this.plugin.getEntityBudget().track(entity2, reservation);
+
         final Skeleton skeleton = (Skeleton) entity2;
-        this.applySkeletonEffects(skeleton, level, difficulty);
+        this.applySkeletonEffects(skeleton, armor, bow);
 
         final Entity target = this.plugin.getServer().getEntity(targetID);
         if (target instanceof LivingEntity && !target.isDead() && target.isInWorld()) {
@@ -119,7 +151,7 @@ public class ApocalypseHorsemen implements Listener {
         }
 
         final SkeletonHorse horse = (SkeletonHorse) entity1;
-        this.applyHorseEffects(horse, level, difficulty);
+        this.applyHorseEffects(horse, stats);
 
         horse.addPassenger(skeleton);
 
@@ -129,6 +161,7 @@ public class ApocalypseHorsemen implements Listener {
         }
         this.groupMap.get(groupID).add(skeleton.getUniqueId());
         this.groupMap.get(groupID).add(horse.getUniqueId());
+        return true;
     }
 
     /**
@@ -147,44 +180,40 @@ public class ApocalypseHorsemen implements Listener {
             return;
         }
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                final HashSet<UUID> entities = groupMap.getOrDefault(groupID, null);
-                if (entities == null) {
-                    plugin.getLogger().warning("Entity set under Group ID " + groupID + " is not present in the map at deletion time!");
-                    return;
-                }
-
-                //Delete all entities that still exist, with a flash particle
-                entities.stream()
-                    .map((uuid) -> (plugin.getServer().getEntity(uuid)))
-                    .filter((entity) -> (entity != null && !entity.isDead()))
-                    .forEach((entity) -> {
-                        final World world = entity.getWorld();
-                        if (world != null) {
-                            world.spawnParticle(Particle.FLASH, entity.getLocation().add(0, 1, 0), 1);
-                        }
-
-                        entity.remove();
-                    })
-                ;
-
-
-                //Remove group from the map
-                groupMap.remove(groupID);
+        this.plugin.getCoroutineManager().scheduleAfter(lifespan, () -> {
+            final HashSet<UUID> entities = groupMap.getOrDefault(groupID, null);
+            if (entities == null) {
+                plugin.getLogger().warning("Entity set under Group ID " + groupID + " is not present in the map at deletion time!");
+                return;
             }
-            
-        }.runTaskLater(this.plugin, lifespan);
+
+            //Delete all entities that still exist, with a flash particle
+            entities.stream()
+                .map((uuid) -> (plugin.getServer().getEntity(uuid)))
+                .filter((entity) -> (entity != null && !entity.isDead()))
+                .forEach((entity) -> {
+                    final World world = entity.getWorld();
+                    if (world != null) {
+                        world.spawnParticle(Particle.FLASH, entity.getLocation().add(0, 1, 0), 1);
+                    }
+
+                    entity.remove();
+                })
+            ;
+
+
+            //Remove group from the map
+            groupMap.remove(groupID);
+        });
     }
 
     /**
      * Turns a skeleton into a Skeleton Horseman
      * @param skeleton skeleton to apply buffs and items to
-     * @param level level of Ominous Wither that summoned this horseman
-     * @param difficulty difficulty of world
+     * @param armor armor to equip, in the order of {@link EntityEquipment#setArmorContents(ItemStack[])}
+     * @param bow bow to equip
      */
-    private void applySkeletonEffects(final Skeleton skeleton, final int level, final Difficulty difficulty) {
+    private void applySkeletonEffects(final Skeleton skeleton, final ItemStack[] armor, final ItemStack bow) {
         //Handle base stats, etc.
         skeleton.getPersistentDataContainer().set(this.plugin.getMinionKey(), PersistentDataType.BOOLEAN, true);
         skeleton.setLootTable(LootTables.EMPTY.getLootTable());
@@ -202,39 +231,24 @@ public class ApocalypseHorsemen implements Listener {
         skeletonEquipment.setBootsDropChance(-32767);
         skeletonEquipment.setItemInMainHandDropChance(-32767);
 
-        //Armor
-        final int protectionLevel = (int) this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_HORSEMAN_ARMOR_PROTECTION, level, difficulty);
-        skeletonEquipment.setArmorContents(new ItemStack[]{
-            new ItemBuilder(Material.IRON_BOOTS).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
-            new ItemBuilder(Material.IRON_LEGGINGS).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
-            new ItemBuilder(Material.IRON_CHESTPLATE).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
-            new ItemBuilder(Material.IRON_HELMET).addEnchant(Enchantment.PROTECTION, protectionLevel, true).build(),
-        });
-
-        //Weapon
-        final ItemStack bow =
-            new ItemBuilder(Material.BOW)
-                .addEnchant(Enchantment.POWER, (int) this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_HORSEMAN_BOW_POWER, level, difficulty), true)
-                .addEnchant(Enchantment.FLAME, 1, false)
-            .build()
-        ;
+        //Armor and weapon; equipment is copied when set, so the same items can be given to every horseman
+        skeletonEquipment.setArmorContents(armor);
         skeletonEquipment.setItemInMainHand(bow);
     }
 
     /**
      * Turns a skeleton horse into the Skeleton Horseman's Horse
      * @param horse skeleton horse to apply buffs/stats to
-     * @param level level of Ominous Wither that summoned this horse
-     * @param difficulty difficulty of world
+     * @param stats stats of the Ominous Wither that summoned this horse
      */
-    private void applyHorseEffects(final SkeletonHorse horse, final int level, final Difficulty difficulty) {
+    private void applyHorseEffects(final SkeletonHorse horse, final StatSnapshot stats) {
         horse.getPersistentDataContainer().set(this.plugin.getMinionKey(), PersistentDataType.BOOLEAN, true);
         horse.setLootTable(LootTables.EMPTY.getLootTable());
         horse.setTamed(true);
         horse.addPotionEffect(new PotionEffect(PotionEffectType.FIRE_RESISTANCE, PotionEffect.INFINITE_DURATION, 0));
         horse.getAttribute(Attribute.GENERIC_FOLLOW_RANGE).setBaseValue(128);
-        horse.getAttribute(Attribute.GENERIC_MOVEMENT_SPEED).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_HORSE_SPEED, level, difficulty));
-        horse.getAttribute(Attribute.GENERIC_MOVEMENT_EFFICIENCY).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.APOCALYPSE_HORSE_MOVEMENT_EFFICIENCY, level, difficulty));
+        horse.getAttribute(Attribute.GENERIC_MOVEMENT_SPEED).setBaseValue(stats.get(BossStat.APOCALYPSE_HORSE_SPEED));
+        horse.getAttribute(Attribute.GENERIC_MOVEMENT_EFFICIENCY).setBaseValue(stats.get(BossStat.APOCALYPSE_HORSE_MOVEMENT_EFFICIENCY));
     }
     
     //#region BehaviorControl
@@ -8,18 +8,16 @@ import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.World;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Wither;
 import org.bukkit.entity.Wither.Head;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
@@ -56,7 +54,7 @@ public class Echoes implements Listener {
     private void onLoad(final OminousWitherLoadEvent event) {
         final Wither wither = event.getWither();
         //If fully in second phase -> activate
-        if (wither.getInvulnerabilityTicks() <= 0 && wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) {
+        if (wither.getInvulnerabilityTicks() <= 0 && plugin.isInSecondPhase(wither)) {
             this.enableAttackMechanism(wither);
         }
         
@@ -75,20 +73,48 @@ public class Echoes implements Listener {
 
         final double rangeSq = range * range;
 
+        //Death and unloading are handled by the coroutine group
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
+            /**
+             * Ticks to sleep before the next check
+             */
+            private int nextDelay = 1;
+
+            /**
+             * Cooldown start this task last recorded, so a stale cancellation can't clear one recorded by a newer task for the same Wither
+             */
+            private Integer recordedUse = null;
+
             @Override
-            public boolean tick() {
-                //If wither no longer exists -> cancel
-                final Entity entity = plugin.getServer().getEntity(witherID);
-                if (!(entity instanceof Wither) || entity.isDead() || !entity.isInWorld()) {
-                    Echoes.this.lastUsed.remove(witherID);
-                    return false;
-                }
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
 
+            @Override
+            public int getNextDelay() {
+                return this.nextDelay;
+            }
+
+            @Override
+            public void onCancel() {
+                //Wither no longer exists
+                if (this.recordedUse != null) Echoes.this.lastUsed.remove(witherID, this.recordedUse);
+            }
+
+            @Override
+            public boolean tick() {
                 //Check cooldown
                 //If never used, then cannot be in cooldown. Otherwise check as normal
-                final Wither wither = (Wither) entity;
-                if (lastUsed.containsKey(witherID) && wither.getTicksLived() <= lastUsed.get(witherID) + cooldown) return true;
+                //While in cooldown, sleep until it is over instead of checking every tick
+                this.nextDelay = 1;
+                if (lastUsed.containsKey(witherID)) {
+                    final int remaining = lastUsed.get(witherID) + cooldown - wither.getTicksLived();
+                    if (remaining >= 0) {
+                        //Ready on the first tick that remaining would be negative
+                        this.nextDelay = remaining + 1;
+                        return true;
+                    }
+                }
 
                 //Checks all three possible targets
                 for (final Head head : Head.values()) {
@@ -107,13 +133,16 @@ public class Echoes implements Listener {
                     final boolean success = performAttack((Player) target, wither);
 
                     //If activated properly, set on cooldown
-                    if (success) lastUsed.put(witherID, wither.getTicksLived());
+                    if (success) {
+                        this.recordedUse = wither.getTicksLived();
+                        lastUsed.put(witherID, this.recordedUse);
+                    }
                     return true;
                 }
 
                 return true;
             }
-        });
+        }, wither);
     }
     
     /**
@@ -135,17 +164,21 @@ public class Echoes implements Listener {
         //Play sound
         playerParam.playSound(playerParam, Sound.BLOCK_BUBBLE_COLUMN_WHIRLPOOL_INSIDE, SoundCategory.HOSTILE, 3.0f, 1.0f);
 
-        //Must be tick-accurate now, using runnable instead of Coroutine system
-        new BukkitRunnable() {
+        //Must be tick-accurate now, using the strict lane instead of the budgeted one
+        this.plugin.getCoroutineManager().enqueueStrict(new ICoroutine() {
             private int i = 0;
 
             @Override
-            public void run() {
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
+
+            @Override
+            public boolean tick() {
                 //Cancel if player can't be found or attack is over
                 final Player player = plugin.getServer().getPlayer(playerID);
                 if (player == null || Utils.isOnGround(player.getLocation()) || player.isDead() || !player.isInWorld() || i >= duration) {
-                    this.cancel();
-                    return;
+                    return false;
                 }
                 
                 //Display particle circle
@@ -159,8 +192,9 @@ public class Echoes implements Listener {
                 player.setVelocity(velocity);
                 
                 ++i;
+                return true;
             }
-        }.runTaskTimer(plugin, 0L, 0L);
+        }, null);
 
         return true;
     }
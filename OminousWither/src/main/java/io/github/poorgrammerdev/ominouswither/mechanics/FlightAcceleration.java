@@ -1,38 +1,47 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
-import java.util.UUID;
+import java.util.function.Predicate;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.Tag;
 import org.bukkit.World;
-import org.bukkit.block.Block;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherActivateEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeEndEvent;
-import io.github.poorgrammerdev.ominouswither.utils.Utils;
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.coroutines.BlockBreakPipeline;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 
 /**
  * Handles the mechanic where the Ominous Wither rapidly accelerates towards its target
  * @author Thomas Tran
  */
 public class FlightAcceleration implements Listener {
+    //Blocks broken by enhanced block breaking: anything solid enough to not be air or liquid, and not Wither immune
+    private static final Predicate<Material> BREAKABLE = (material) -> (!material.isAir() && material != Material.WATER && material != Material.LAVA && !Tag.WITHER_IMMUNE.isTagged(material));
+
     private final OminousWither plugin;
 
+    /**
+     * Max blocks broken per tick by a single enhanced block breaking
+     */
+    private final int breakBlocksPerTick;
+
     public FlightAcceleration(final OminousWither plugin) {
         this.plugin = plugin;
+        this.breakBlocksPerTick = Math.max(plugin.getConfig().getInt("enhanced_break_blocks_per_tick", 64), 1);
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -61,42 +70,43 @@ public class FlightAcceleration implements Listener {
      * Activates flight acceleration mechanic on Wither, respects phases
      */
     private void flightBehavior(final Wither wither) {
-        final double distanceThresholdSq = Math.pow(this.plugin.getBossStatsManager().getStat(BossStat.FLIGHT_ACCELERATION_DISTANCE_THRESHOLD, wither), 2);
-        final double flightSpeed = this.plugin.getBossStatsManager().getStat(BossStat.FLIGHT_SPEED, wither);
+        //Looked up once; dynamic stats in the snapshot still follow the fight state when read
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(wither);
+        final double distanceThresholdSq = Math.pow(stats.get(BossStat.FLIGHT_ACCELERATION_DISTANCE_THRESHOLD), 2);
 
         //If flight speed is not positive then this Wither does not have the flight system enabled
-        if (flightSpeed <= 0.0D) return;
+        if (stats.get(BossStat.FLIGHT_SPEED) <= 0.0D) return;
 
         //Check phase of Wither and begin respective flight patterns
-        if (!wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) {
+        if (!plugin.isInSecondPhase(wither)) {
             //First phase
-            this.phaseOneFlight(wither, distanceThresholdSq, flightSpeed);
+            this.phaseOneFlight(wither, stats, distanceThresholdSq);
         }
         else {
             //Second phase
-            this.phaseTwoFlight(wither, distanceThresholdSq, flightSpeed);
+            this.phaseTwoFlight(wither, stats, distanceThresholdSq);
         }
     }
 
     /**
      * Accelerate towards a target if present, is far enough, and has line of sight
      */
-    private void phaseOneFlight(final Wither wither, final double distanceThresholdSq, final double flightSpeed) {
-        final UUID witherID = wither.getUniqueId();
-
+    private void phaseOneFlight(final Wither wither, final StatSnapshot stats, final double distanceThresholdSq) {
+        //Death and unloading are handled by the coroutine group
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
             @Override
-            public boolean tick() {
-                final Entity entity = plugin.getServer().getEntity(witherID);
-                if (!(entity instanceof Wither)) return false;
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
 
+            @Override
+            public boolean tick() {
                 //If entered second phase -> cancel
-                final Wither wither = (Wither) entity;
-                if (wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return false;
+                if (plugin.isInSecondPhase(wither)) return false;
 
                 //Must have a target and have line of sight to it
                 final LivingEntity target = wither.getTarget();
-                if (target == null || !wither.hasLineOfSight(target)) return true;
+                if (target == null || !plugin.getLineOfSightCache().hasLineOfSight(wither.getEyeLocation(), target.getEyeLocation())) return true;
 
                 //Must be in the same world
                 final World witherWorld = wither.getWorld();
@@ -111,34 +121,44 @@ public class FlightAcceleration implements Listener {
                 //Target cannot be in the void unless Wither is at the same Y level or below
                 if (targetLoc.getY() < targetWorld.getMinHeight() && witherLoc.getY() > targetLoc.getY()) return true;
 
-                //Wither flies at constant speed towards target
-                entity.setVelocity(targetLoc.subtract(witherLoc).toVector().normalize().multiply(flightSpeed));
+                //Wither flies towards target; speed is read every tick since it can change with the fight state
+                final double flightSpeed = stats.get(BossStat.FLIGHT_SPEED);
+                wither.setVelocity(targetLoc.subtract(witherLoc).toVector().normalize().multiply(flightSpeed));
                 return true;
             }
-        });
+        }, wither);
     }
 
     /**
      * Accelerate towards a target if present, is far enough, and has no wither-immune blocks occluding them
      * Break all nearby non-wither-immune blocks periodically during acceleration
      */
-    private void phaseTwoFlight(final Wither wither, final double distanceThresholdSq, final double flightSpeed) {
-        final int range = (int) this.plugin.getBossStatsManager().getStat(BossStat.ENHANCED_BREAK_RANGE, wither);
-        final int height = (int) this.plugin.getBossStatsManager().getStat(BossStat.ENHANCED_BREAK_HEIGHT, wither);
-        final int interval = (int) this.plugin.getBossStatsManager().getStat(BossStat.ENHANCED_BREAK_INTERVAL, wither);
+    private void phaseTwoFlight(final Wither wither, final StatSnapshot stats, final double distanceThresholdSq) {
+        final int range = (int) stats.get(BossStat.ENHANCED_BREAK_RANGE);
+        final int height = (int) stats.get(BossStat.ENHANCED_BREAK_HEIGHT);
+        final int interval = (int) stats.get(BossStat.ENHANCED_BREAK_INTERVAL);
 
-        final UUID witherID = wither.getUniqueId();
+        //Death and unloading are handled by the coroutine group
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
-            @Override
-            public boolean tick() {
-                final Entity entity = plugin.getServer().getEntity(witherID);
-                if (!(entity instanceof Wither)) return false;
+            /**
+             * Enhanced block breaking currently in progress, if any
+             */
+            private BlockBreakPipeline breaking = null;
 
-                final Wither wither = (Wither) entity;
+            @Override
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
 
+            @Override
+            public boolean tick() {
                 //Must have a target that's in breakable line of sight
                 final LivingEntity target = wither.getTarget();
-                if (target == null || !Utils.hasBreakableLineOfSight(wither.getEyeLocation(), target.getEyeLocation())) return true;
+                if (target == null) return true;
+
+                final Location witherEyeLoc = wither.getEyeLocation();
+                final Location targetEyeLoc = target.getEyeLocation();
+                if (!plugin.getLineOfSightCache().hasBreakableLineOfSight(witherEyeLoc, targetEyeLoc)) return true;
 
                 //Must be in the same world
                 final World witherWorld = wither.getWorld();
@@ -148,29 +168,33 @@ public class FlightAcceleration implements Listener {
                 //Wither cannot be close to its target if there is direct line of sight
                 final Location witherLoc = wither.getLocation();
                 final Location targetLoc = target.getLocation();
-                if (wither.hasLineOfSight(target) && witherLoc.distanceSquared(targetLoc) < distanceThresholdSq) return true;
+                if (witherLoc.distanceSquared(targetLoc) < distanceThresholdSq && plugin.getLineOfSightCache().hasLineOfSight(witherEyeLoc, targetEyeLoc)) return true;
 
                 //Target cannot be in the void unless Wither is at the same Y level or below
                 if (targetLoc.getY() < targetWorld.getMinHeight() && witherLoc.getY() > targetLoc.getY()) return true;
 
-                //Wither flies at constant speed towards target
-                entity.setVelocity(targetLoc.subtract(witherLoc).toVector().normalize().multiply(flightSpeed));
+                //Wither flies towards target; speed is read every tick since it can change with the fight state
+                final double flightSpeed = stats.get(BossStat.FLIGHT_SPEED);
+                wither.setVelocity(targetLoc.subtract(witherLoc).toVector().normalize().multiply(flightSpeed));
 
                 //Wither smashes through all breakable blocks in the way every so often
                 //Not a cooldown-based system per se, just an interval based system (i.e. still goes "cooldown" if not used)
                 //Non-positive interval indicates deactivation of system
-                if (interval > 0 && wither.getTicksLived() % interval == 0) {
-                    enhancedBlockBreaking(wither, target, range, height);
+                //Skipped if the previous one is still breaking blocks so they don't pile up
+                if (interval > 0 && wither.getTicksLived() % interval == 0 && (this.breaking == null || this.breaking.isFinished())) {
+                    this.breaking = enhancedBlockBreaking(wither, target, range, height);
                 }
                 return true;
             }
-        });
+        }, wither);
     }
 
     /**
      * Break all nearby non-wither-immune blocks
+     * The blocks are planned now and broken over the next few ticks
+     * @return blocks being broken, or null if there was nothing to break
      */
-    private void enhancedBlockBreaking(final Wither wither, final LivingEntity target, final int range, final int height) {
+    private BlockBreakPipeline enhancedBlockBreaking(final Wither wither, final LivingEntity target, final int range, final int height) {
         final Location witherLoc = wither.getLocation();
         
         //Get middle location of Wither
@@ -180,31 +204,15 @@ public class FlightAcceleration implements Listener {
         final Vector direction = target.getLocation().subtract(witherLoc).toVector();
         witherLoc.add(direction.normalize());
 
-        //Break blocks in range
-        boolean brokeAnyBlocks = false;
-        for (int x = -range; x <= range; ++x) {
-            for (int y = -height; y <= height; ++y) {
-                for (int z = -range; z <= range; ++z) {
-                    //Add offset to get the desired location
-                    witherLoc.add(x, y, z);
-    
-                    //Break block if valid
-                    final Block block = witherLoc.getBlock();
-                    if (block != null && !block.getType().isAir() && !block.isLiquid() && !Tag.WITHER_IMMUNE.isTagged(block.getType())) {
-                        block.breakNaturally();
-                        if (!brokeAnyBlocks) brokeAnyBlocks = true;
-                    }
-    
-                    //Subtract offset to reset the location for the next iteration
-                    witherLoc.subtract(x, y, z);
-                }
-            }
-        }
-
-        //Play sfx if any blocks were actually broken
-        if (brokeAnyBlocks) {
+        //Plan blocks in range; sfx is played once any blocks are actually broken
+        final BlockBreakPipeline pipeline = new BlockBreakPipeline(witherLoc, range, height, BREAKABLE, this.breakBlocksPerTick, this.plugin.getLineOfSightCache(), () -> {
             wither.getWorld().playSound(wither, Sound.ENTITY_WITHER_BREAK_BLOCK, SoundCategory.HOSTILE, 1.0f, 1.0f);
-        }
+        });
+        if (pipeline.getPlannedCount() <= 0) return null;
+
+        //Breaking stops if the Wither dies or unloads
+        this.plugin.getCoroutineManager().enqueue(pipeline, wither);
+        return pipeline;
     }
 
 }
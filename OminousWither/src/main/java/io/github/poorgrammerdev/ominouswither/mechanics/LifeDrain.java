@@ -1,8 +1,9 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
-import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
@@ -11,26 +12,25 @@ import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
-import org.bukkit.Tag;
 import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeEndEvent;
+import io.github.poorgrammerdev.ominouswither.utils.IntHashSet;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleShapes;
 import io.github.poorgrammerdev.ominouswither.utils.Utils;
@@ -40,15 +40,37 @@ import io.github.poorgrammerdev.ominouswither.utils.Utils;
  * @author Thomas Tran
  */
 public class LifeDrain implements Listener {
-    /**
-     * When velocity of target cannot be directly retrieved without accuracy loss, infer velocity by recording movement over a span of ticks
-     * Larger values will delay the attack longer but likely give more accurate aim
-     */
-    private static final int VELOCITY_INFERENCE_DURATION = 10;
+    //Shared by every construct since they never change
+    private static final ParticleInfo CIRCLE_PARTICLE = new ParticleInfo(Particle.SOUL_FIRE_FLAME, 1, 0, 0, 0, 0, null, true);
+    private static final ParticleInfo CENTER_PARTICLE = new ParticleInfo(Particle.TRIAL_SPAWNER_DETECTION_OMINOUS, 2, 0.125, 0.125, 0.125, 0.1);
+    private static final ParticleInfo HIT_PARTICLE = new ParticleInfo(Particle.RAID_OMEN, 3, 0.125, 0.125, 0.125, 1.5);
 
     private final OminousWither plugin;
     private final Random random;
 
+    /**
+     * Max constructs that can be active at once for a single Wither and within a single world
+     */
+    private final int maxPerWither;
+    private final int maxPerWorld;
+
+    /**
+     * Constructs that are currently active, and finished constructs waiting to be reused
+     */
+    private final ArrayList<LifeDrainConstruct> active;
+    private final ArrayDeque<LifeDrainConstruct> pool;
+    private final ConstructSystem constructSystem;
+
+    /**
+     * If the construct system is currently in the Coroutine Manager's strict lane
+     */
+    private boolean scheduled;
+
+    /**
+     * Reused to read entity locations when displaying hit particles
+     */
+    private final Location hitLocation;
+
     /**
      * Holds when a Wither last used the Life Drain attack, measured using Spigot's ticks lived metric
      */
@@ -59,6 +81,15 @@ public class LifeDrain implements Listener {
         this.plugin = plugin;
         this.lastUsed = new HashMap<>();
         this.random = new Random();
+
+        this.maxPerWither = Math.max(plugin.getConfig().getInt("life_drain_limits.max_per_wither", 2), 1);
+        this.maxPerWorld = Math.max(plugin.getConfig().getInt("life_drain_limits.max_per_world", 8), 1);
+
+        this.active = new ArrayList<>();
+        this.pool = new ArrayDeque<>();
+        this.constructSystem = new ConstructSystem();
+        this.scheduled = false;
+        this.hitLocation = new Location(null, 0, 0, 0);
     }
 
     @EventHandler(ignoreCancelled = true)
@@ -70,7 +101,7 @@ public class LifeDrain implements Listener {
     private void onLoad(final OminousWitherLoadEvent event) {
         final Wither wither = event.getWither();
         //If fully in second phase -> activate
-        if (wither.getInvulnerabilityTicks() <= 0 && wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) {
+        if (wither.getInvulnerabilityTicks() <= 0 && plugin.isInSecondPhase(wither)) {
             this.enableAttackMechanism(wither);
         }
 
@@ -84,71 +115,93 @@ public class LifeDrain implements Listener {
         final UUID witherID = wither.getUniqueId();
 
         final int activationTime = (int) this.plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_STARTUP_TIME, wither);
-        final int cooldown = (int) this.plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_COOLDOWN, wither);
         final double rangeSq = Math.pow(this.plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_RANGE, wither), 2);
 
+        //Death and unloading are handled by the coroutine group
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
+            /**
+             * Ticks to sleep before the next check
+             */
+            private int nextDelay = 1;
+
+            /**
+             * Cooldown start this task last recorded, so a stale cancellation can't clear one recorded by a newer task for the same Wither
+             */
+            private Integer recordedUse = null;
+
             @Override
-            public boolean tick() {
-                //If wither no longer exists -> cancel
-                final Entity entity = plugin.getServer().getEntity(witherID);
-                if (!(entity instanceof Wither) || entity.isDead() || !entity.isInWorld()) {
-                    LifeDrain.this.lastUsed.remove(witherID);
-                    return false;
-                }
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
+
+            @Override
+            public int getNextDelay() {
+                return this.nextDelay;
+            }
+
+            @Override
+            public void onCancel() {
+                //Wither no longer exists
+                if (this.recordedUse != null) LifeDrain.this.lastUsed.remove(witherID, this.recordedUse);
+            }
 
+            @Override
+            public boolean tick() {
                 //Check cooldown
                 //If never used, then cannot be in cooldown. Otherwise check as normal
-                final Wither wither = (Wither) entity;
-                if (lastUsed.containsKey(witherID) && wither.getTicksLived() <= lastUsed.get(witherID) + cooldown) return true;
+                //While in cooldown, sleep until it is over instead of checking every tick
+                this.nextDelay = 1;
+                if (lastUsed.containsKey(witherID)) {
+                    final int cooldown = (int) plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_COOLDOWN, wither);
+                    final int remaining = lastUsed.get(witherID) + cooldown - wither.getTicksLived();
+                    if (remaining >= 0) {
+                        //Ready on the first tick that remaining would be negative
+                        this.nextDelay = remaining + 1;
+                        return true;
+                    }
+                }
+
+                //Too many constructs already active -> wait for one to finish
+                if (!canSummonConstruct(wither)) return true;
 
                 //Must have a target that's in range
                 final LivingEntity target = wither.getTarget();
                 if (target == null || target.isDead() || !target.isInWorld() || wither.getLocation().distanceSquared(target.getLocation()) > rangeSq) return true;
 
-                //Special case for if the target is on ground - cannot get their velocity, must infer from movement
-                if (Utils.isOnGround(target.getLocation(), 3.5D)) {
-                    final Location[] locations = new Location[VELOCITY_INFERENCE_DURATION];
-
-                    new BukkitRunnable() {
-                        private int i = 0;
-                        @Override
-                        public void run() {
-                            if (i >= VELOCITY_INFERENCE_DURATION) {
-                                //Infer velocity from recorded movement and use to get target location
-                                Location targetLocation = getTargetLocation(target, calculateVelocity(locations), activationTime);
-
-                                //Attempt to get a spot on the ground within reasonable range
-                                final Location groundLocation = Utils.tryGetGround(targetLocation, Math.max(targetLocation.getBlockY() - 10, target.getWorld().getMinHeight()));
-                                if (groundLocation != null) {
-                                    targetLocation = groundLocation.add(0, 0.5, 0);
-                                }
-
-                                //Summon life drain circle
-                                new LifeDrainConstruct(plugin, targetLocation, wither).runTaskTimer(plugin, 0L, 0L);
-
-                                this.cancel();
-                                return;
-                            }
-
-                            //Record locations
-                            locations[i] = target.getLocation();
-                            ++i;
-                        }
-                    }.runTaskTimer(plugin, 0L, 0L);
+                //Special case for if the target is on ground - cannot get their velocity, must infer from recent movement
+                final Vector velocity;
+                final boolean onGround = Utils.isOnGround(target.getLocation(), 3.5D);
+                if (onGround) {
+                    velocity = new Vector();
+
+                    //Target was only just acquired -> try again next tick once some movement has been recorded
+                    if (!plugin.getTargetMotionTracker().getVelocity(target, velocity)) return true;
                 }
                 //Target's velocity can be directly retrieved - continue like normal
                 else {
-                    //Get target location and summon life drain circle
-                    final Location targetLocation = getTargetLocation(target, target.getVelocity(), activationTime);
-                    new LifeDrainConstruct(plugin, targetLocation, wither).runTaskTimer(plugin, 0L, 0L);
+                    velocity = target.getVelocity();
                 }
 
-                //Set on cooldown for either case
-                lastUsed.put(witherID, wither.getTicksLived());
+                //Get target location
+                Location targetLocation = getTargetLocation(target, velocity, activationTime);
+
+                //Grounded targets: attempt to get a spot on the ground within reasonable range
+                if (onGround) {
+                    final Location groundLocation = Utils.tryGetGround(targetLocation, Math.max(targetLocation.getBlockY() - 10, target.getWorld().getMinHeight()));
+                    if (groundLocation != null) {
+                        targetLocation = groundLocation.add(0, 0.5, 0);
+                    }
+                }
+
+                //Summon life drain circle
+                summonConstruct(targetLocation, wither);
+
+                //Set on cooldown
+                this.recordedUse = wither.getTicksLived();
+                lastUsed.put(witherID, this.recordedUse);
                 return true;
             }
-        });
+        }, wither);
     }
     
     /**
@@ -173,190 +226,263 @@ public class LifeDrain implements Listener {
         return result.getHitPosition().toLocation(world).add(0, 0.25, 0);
     }
 
-    private Vector calculateVelocity(final Location[] locations) {
-        final int n = locations.length - 1;
+    /**
+     * Takes a construct from the pool (or makes one if the pool is empty) and starts it
+     * @param location location to spawn the construct
+     * @param wither wither that summoned it (drained HP will heal this wither)
+     */
+    private void summonConstruct(final Location location, final Wither wither) {
+        final LifeDrainConstruct construct = this.pool.isEmpty() ? new LifeDrainConstruct() : this.pool.pop();
+        construct.start(location, wither, this.plugin.getBossStatsManager().getSnapshot(wither));
+        this.active.add(construct);
+
+        if (!this.scheduled) {
+            this.scheduled = true;
+            this.plugin.getCoroutineManager().enqueueStrict(this.constructSystem, LifeDrain.class, null);
+        }
+    }
+
+    /**
+     * @return if the Wither is allowed to summon another construct without going over the per-Wither or per-world cap
+     */
+    private boolean canSummonConstruct(final Wither wither) {
+        final World world = wither.getWorld();
+
+        int witherCount = 0;
+        int worldCount = 0;
+        for (final LifeDrainConstruct construct : this.active) {
+            if (construct.world != world) continue;
+            if (++worldCount >= this.maxPerWorld) return false;
+            if (construct.wither == wither && ++witherCount >= this.maxPerWither) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs every active construct in a single strict coroutine; it must be tick-accurate
+     * Finished constructs are returned to the pool to be reused by the next cast
+     * @author Thomas Tran
+     */
+    private class ConstructSystem implements ICoroutine {
+        @Override
+        public CoroutinePriority getPriority() {
+            return CoroutinePriority.COMBAT;
+        }
+
+        @Override
+        public boolean tick() {
+            //Iterates backwards so that removing a construct only moves one that has already run this tick
+            for (int index = active.size() - 1; index >= 0; --index) {
+                final LifeDrainConstruct construct = active.get(index);
+                if (construct.tick()) continue;
+
+                final LifeDrainConstruct last = active.remove(active.size() - 1);
+                if (last != construct) active.set(index, last);
+                this.release(construct);
+            }
 
-        final Vector velocity = new Vector(0.0D, 0.0D, 0.0D);
-        for (int i = 0; i < n; ++i) {
-            //Add the difference between each location
-            velocity.add(locations[i + 1].toVector().subtract(locations[i].toVector()));
+            //Leave the strict lane once empty; the next construct summoned schedules this again
+            scheduled = !active.isEmpty();
+            return scheduled;
         }
 
-        //Scale down
-        velocity.multiply(1.0D / n);
+        @Override
+        public void onCancel() {
+            for (final LifeDrainConstruct construct : active) {
+                this.release(construct);
+            }
+            active.clear();
+            scheduled = false;
+        }
 
-        return velocity;
+        private void release(final LifeDrainConstruct construct) {
+            construct.reset();
+            pool.push(construct);
+        }
     }
 
     /**
      * Represents the actual particle construct attack
+     * Reusable: {@link #start(Location, Wither, StatSnapshot)} sets it up for a new cast and {@link #reset()} clears it once finished
      * @author Thomas Tran
      */
-    private class LifeDrainConstruct extends BukkitRunnable {
+    private class LifeDrainConstruct {
 
-        private final Wither wither;
-        private final Location location;
-        private final World world;
+        private Wither wither;
+        private World world;
+        private StatSnapshot stats;
 
-        private final int activationTime;
-        private final int activeTime;
-        private final int drainInterval;
-        private final double healMultiplier;
-        private final double curseProbability;
-        private final double radiusH;
-        private final double radiusV;
-
-        private final ParticleInfo circleParticle;
-        private final ParticleInfo centerParticle;
-        private final ParticleInfo hitParticle;
-
-        private final int totalDuration;
+        private final Location location;
         private final Location bottomLoc;
         private final Location topLoc;
 
-        private final HashSet<UUID> previousTargets;
+        /**
+         * Entity IDs of everything this construct has hit
+         */
+        private final IntHashSet previousTargets;
+
+        private int activationTime;
+        private double healMultiplier;
+        private double curseProbability;
+        private double radiusH;
+        private int totalDuration;
 
         private boolean hasPlayedActivationSound;
         private int i;
 
+        private LifeDrainConstruct() {
+            this.location = new Location(null, 0, 0, 0);
+            this.bottomLoc = new Location(null, 0, 0, 0);
+            this.topLoc = new Location(null, 0, 0, 0);
+            this.previousTargets = new IntHashSet(16);
+        }
+
         /**
-         * Summons a Life Drain particle construct at the desired location
+         * Sets up this construct to be summoned at the desired location
          * @param location location to spawn the construct
          * @param wither wither that summoned it (drained HP will heal this wither)
-         * @return if the construct was created properly
+         * @param stats stats of the wither
          */
-        public LifeDrainConstruct(final OminousWither plugin, final Location location, final Wither wither) {
+        private void start(final Location location, final Wither wither, final StatSnapshot stats) {
             this.wither = wither;
-            this.location = location;
             this.world = wither.getWorld();
+            this.stats = stats;
 
-            this.activationTime = (int) plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_STARTUP_TIME, wither);
-            this.activeTime = (int) plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_LIFESPAN, wither);
-            this.drainInterval = (int) plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_ATTACK_INTERVAL, wither);
-            this.healMultiplier = plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_HEAL_MULTIPLIER, wither);
-            this.curseProbability = plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_CURSE_PROBABILITY, wither);
-            this.radiusH = plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_HORIZONTAL_RADIUS, wither);
-            this.radiusV = plugin.getBossStatsManager().getStat(BossStat.LIFE_DRAIN_VERTICAL_RADIUS, wither);
-    
-            this.circleParticle = new ParticleInfo(Particle.SOUL_FIRE_FLAME, 1, 0, 0, 0, 0, null, true);
-            this.centerParticle = new ParticleInfo(Particle.TRIAL_SPAWNER_DETECTION_OMINOUS, 2, 0.125, 0.125, 0.125, 0.1);
-            this.hitParticle = new ParticleInfo(Particle.RAID_OMEN, 3, 0.125, 0.125, 0.125, 1.5);
-    
-            this.totalDuration = activationTime + activeTime;
-            this.bottomLoc = location.clone().subtract(0, radiusV, 0);
-            this.topLoc = location.clone().add(0, radiusV, 0);
-        
-            this.previousTargets = new HashSet<>();
-            this.hasPlayedActivationSound = false;
+            this.activationTime = stats.getInt(BossStat.LIFE_DRAIN_STARTUP_TIME);
+            this.healMultiplier = stats.get(BossStat.LIFE_DRAIN_HEAL_MULTIPLIER);
+            this.curseProbability = stats.get(BossStat.LIFE_DRAIN_CURSE_PROBABILITY);
+            this.radiusH = stats.get(BossStat.LIFE_DRAIN_HORIZONTAL_RADIUS);
+            this.totalDuration = this.activationTime + stats.getInt(BossStat.LIFE_DRAIN_LIFESPAN);
+
+            final double radiusV = stats.get(BossStat.LIFE_DRAIN_VERTICAL_RADIUS);
+            setPosition(this.location, this.world, location.getX(), location.getY(), location.getZ());
+            setPosition(this.bottomLoc, this.world, location.getX(), location.getY() - radiusV, location.getZ());
+            setPosition(this.topLoc, this.world, location.getX(), location.getY() + radiusV, location.getZ());
 
+            this.hasPlayedActivationSound = false;
             this.i = 0;
         }
 
-            @Override
-            public void run() {
-                if (i >= totalDuration) {
-                    //Play despawn sound
-                    world.playSound(location, Sound.BLOCK_SHULKER_BOX_CLOSE, SoundCategory.HOSTILE, 3.0f, 1.0f);
+        /**
+         * Clears references so the Wither and world can be garbage collected while this is pooled
+         */
+        private void reset() {
+            this.wither = null;
+            this.world = null;
+            this.stats = null;
+            this.location.setWorld(null);
+            this.bottomLoc.setWorld(null);
+            this.topLoc.setWorld(null);
+            this.previousTargets.clear();
+        }
+
+        /**
+         * Runs this construct for a single tick
+         * @return if the construct is still active
+         */
+        private boolean tick() {
+            if (i >= totalDuration) {
+                //Play despawn sound
+                world.playSound(location, Sound.BLOCK_SHULKER_BOX_CLOSE, SoundCategory.HOSTILE, 3.0f, 1.0f);
+
+                return false;
+            }
+
+            //Display particle circle
+            ParticleShapes.partialCircle(CIRCLE_PARTICLE, radiusH, 8, location, Utils.lerp(0, 2*Math.PI, ((double) i / activationTime)));
 
-                    this.cancel();
-                    return;
+            //If fully activated...
+            if (i >= activationTime) {
+                //Display active indicator
+                ParticleShapes.line(CENTER_PARTICLE, bottomLoc, topLoc, 8);
+
+                //One-time activation sound
+                if (!this.hasPlayedActivationSound) {
+                    world.playSound(location, Sound.BLOCK_SHULKER_BOX_OPEN, SoundCategory.HOSTILE, 3.0f, 1.0f);
+
+                    this.hasPlayedActivationSound = true;
                 }
-                
-                //Display particle circle
-                ParticleShapes.partialCircle(circleParticle, radiusH, 8, location, Utils.lerp(0, 2*Math.PI, ((double) i / activationTime)));
-                
-                //If fully activated...
-                if (i >= activationTime) {
-                    //Display active indicator
-                    ParticleShapes.line(centerParticle, bottomLoc, topLoc, 8);
-
-                    //One-time activation sound
-                    if (!this.hasPlayedActivationSound) {
-                        world.playSound(location, Sound.BLOCK_SHULKER_BOX_OPEN, SoundCategory.HOSTILE, 3.0f, 1.0f);
-
-                        this.hasPlayedActivationSound = true;
-                    }
 
-                    //Drain HP periodically
-                    if (i % drainInterval == 0) {
-                        //Get target entities
-                        final Collection<Entity> entities = world.getNearbyEntities(location, radiusH, radiusV, radiusH,
-                            (entity -> (
-                                //Must be a LivingEntity that's alive
-                                entity instanceof LivingEntity &&
-                                !entity.isDead() &&
-                                entity.isInWorld() &&
-
-                                //Cannot be a friendly
-                                !Tag.ENTITY_TYPES_WITHER_FRIENDS.isTagged(entity.getType()) &&
-                                !plugin.isMinion(entity) &&
-                                !(entity instanceof Wither)
-                            ))
-                        );
-
-                        double hpDrained = 0.0D;
-                        for (final Entity e : entities) {
-                            //Already checked that e instanceof LivingEntity above, can cast safely here without check
-                            final LivingEntity entity = (LivingEntity) e;
-                            if (entity.isInvulnerable()) continue;
-
-                            //Cannot kill entities
-                            final double currentHealth = entity.getHealth();
-                            if (currentHealth <= 1.0D) continue;
-
-                            //Determine if first hit and should apply curse
-                            //Not directly performing curse/register here since untargetable players may still exist here
-                            final boolean isNewTarget = !this.previousTargets.contains(entity.getUniqueId());
-                            final boolean applyCurse = isNewTarget && (random.nextDouble() < this.curseProbability);
-
-                            //If player, check if targetable and also play SFX
-                            if (entity instanceof Player) {
-                                final Player player = (Player) entity;
-                                if (!Utils.isTargetable(player)) continue;
-
-                                //Attention-getting warning sound to alert the player
-                                //If player is to have their Absorption hearts removed -> play special curse sound to indicate this
-                                //Otherwise, play some other loud sound to still get their attention
-                                if (isNewTarget) {
-                                    player.playSound(player, applyCurse ? Sound.ENTITY_ELDER_GUARDIAN_CURSE : Sound.BLOCK_ANVIL_LAND, SoundCategory.HOSTILE, 3.0f, 1.0f);
-                                }
-                            }
-
-                            //Apply first hit mechanism
-                            if (isNewTarget) {
-                                if (applyCurse) {
-                                    entity.removePotionEffect(PotionEffectType.ABSORPTION);
-                                }
-
-                                this.previousTargets.add(entity.getUniqueId());
-                            }
-
-                            //Drain HP
-                            entity.setHealth(currentHealth - 1.0D);
-                            hpDrained += 1.0D;
-
-                            //Display hit particle
-                            hitParticle.spawnParticle(world, entity.getLocation().add(0, entity.getHeight() / 2.0, 0));
-                        }
-
-                        //If any entity was hit:
-                        if (hpDrained > 0.0D) {
-                            //Play regular drain sound
-                            world.playSound(location, Sound.ENTITY_ITEM_BREAK, SoundCategory.HOSTILE, 1.0f, 1.0f);
-
-                            //Heal the Wither with drained HP
-                            if (wither != null && !wither.isDead() && wither.isInWorld()) {
-                                final double hpBound = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() / 2.0;
-
-                                wither.setHealth(Math.min(wither.getHealth() + (hpDrained * this.healMultiplier), hpBound));
-                            }
-                        }
+                //Drain HP periodically
+                //Read every time since it can change with the fight state
+                final int drainInterval = Math.max(stats.getInt(BossStat.LIFE_DRAIN_ATTACK_INTERVAL), 1);
+                if (i % drainInterval == 0) {
+                    this.drain();
+                }
+            }
+
+            ++i;
+            return true;
+        }
+
+        /**
+         * Drains HP from every entity within the construct
+         */
+        private void drain() {
+            //Get target entities; friendlies, invulnerable entities and untargetable players are already left out
+            final double radiusV = topLoc.getY() - location.getY();
+            final List<LivingEntity> entities = plugin.getTargetGrid().getInBox(location, radiusH, radiusV, radiusH);
+
+            double hpDrained = 0.0D;
+            for (final LivingEntity entity : entities) {
+
+                //Cannot kill entities
+                final double currentHealth = entity.getHealth();
+                if (currentHealth <= 1.0D) continue;
+
+                //Determine if first hit and should apply curse
+                final boolean isNewTarget = !this.previousTargets.contains(entity.getEntityId());
+                final boolean applyCurse = isNewTarget && (random.nextDouble() < this.curseProbability);
+
+                //If player, play SFX
+                if (entity instanceof Player) {
+                    final Player player = (Player) entity;
+
+                    //Attention-getting warning sound to alert the player
+                    //If player is to have their Absorption hearts removed -> play special curse sound to indicate this
+                    //Otherwise, play some other loud sound to still get their attention
+                    if (isNewTarget) {
+                        player.playSound(player, applyCurse ? Sound.ENTITY_ELDER_GUARDIAN_CURSE : Sound.BLOCK_ANVIL_LAND, SoundCategory.HOSTILE, 3.0f, 1.0f);
+                    }
+                }
 
+                //Apply first hit mechanism
+                if (isNewTarget) {
+                    if (applyCurse) {
+                        entity.removePotionEffect(PotionEffectType.ABSORPTION);
                     }
+
+                    this.previousTargets.add(entity.getEntityId());
                 }
 
-                ++i;
+                //Drain HP
+                entity.setHealth(currentHealth - 1.0D);
+                hpDrained += 1.0D;
+
+                //Display hit particle
+                HIT_PARTICLE.spawnParticle(world, entity.getLocation(hitLocation).add(0, entity.getHeight() / 2.0, 0));
+            }
+
+            //If any entity was hit:
+            if (hpDrained > 0.0D) {
+                //Play regular drain sound
+                world.playSound(location, Sound.ENTITY_ITEM_BREAK, SoundCategory.HOSTILE, 1.0f, 1.0f);
+
+                //Heal the Wither with drained HP
+                if (wither != null && !wither.isDead() && wither.isInWorld()) {
+                    final double hpBound = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() / 2.0;
+
+                    wither.setHealth(Math.min(wither.getHealth() + (hpDrained * this.healMultiplier), hpBound));
+                }
             }
         }
+    }
+
+    private static void setPosition(final Location location, final World world, final double x, final double y, final double z) {
+        location.setWorld(world);
+        location.setX(x);
+        location.setY(y);
+        location.setZ(z);
+    }
 
 }
@@ -20,7 +20,6 @@ import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.loot.LootContext;
 import org.bukkit.loot.LootTable;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
@@ -100,22 +99,19 @@ public class Loot implements Listener {
 
         //Loot entity modifiers
         if (this.invulnerableLoot || this.immortalLoot || this.glowingLoot) {
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    for (final Entity entity : world.getNearbyEntities(location, 0.1, 0.1, 0.1)) {
-                        final boolean isItem = entity instanceof Item;
-                        if (!isItem && !(entity instanceof ExperienceOrb)) continue;
-
-                        if (Loot.this.invulnerableLoot) entity.setInvulnerable(true);
-                        if (Loot.this.glowingLoot) entity.setGlowing(true);
-
-                        if (isItem && Loot.this.immortalLoot) {
-                            ((Item) entity).setUnlimitedLifetime(true);
-                        }
+            this.plugin.getCoroutineManager().scheduleAfter(1, () -> {
+                for (final Entity entity : world.getNearbyEntities(location, 0.1, 0.1, 0.1)) {
+                    final boolean isItem = entity instanceof Item;
+                    if (!isItem && !(entity instanceof ExperienceOrb)) continue;
+
+                    if (Loot.this.invulnerableLoot) entity.setInvulnerable(true);
+                    if (Loot.this.glowingLoot) entity.setGlowing(true);
+
+                    if (isItem && Loot.this.immortalLoot) {
+                        ((Item) entity).setUnlimitedLifetime(true);
                     }
                 }
-            }.runTaskLater(plugin, 1L);
+            });
         }
     }
 
@@ -1,13 +1,9 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
-import java.util.UUID;
-
 import org.bukkit.Particle;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
@@ -15,13 +11,16 @@ import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhase
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherSpawnEvent;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
 import io.github.poorgrammerdev.ominouswither.OminousWither;
-import io.github.poorgrammerdev.ominouswither.coroutines.PersistentTrackingParticle;
 
 /**
  * Displays the particle aura around the Ominous Wither
  * @author Thomas Tran
  */
 public class OminousAura implements Listener {
+    private static final Vector OFFSET = new Vector(0, 1.5, 0);
+    private static final ParticleInfo PHASE_ONE_PARTICLE = new ParticleInfo(Particle.RAID_OMEN, 3, 0.75, 1, 0.75);
+    private static final ParticleInfo PHASE_TWO_PARTICLE = new ParticleInfo(Particle.TRIAL_OMEN, 3, 0.75, 1, 0.75);
+
     private final OminousWither plugin;
 
     public OminousAura(final OminousWither plugin) {
@@ -30,22 +29,22 @@ public class OminousAura implements Listener {
 
     @EventHandler(ignoreCancelled = true)
     private void onOminousSpawn(final OminousWitherSpawnEvent event) {
-        this.runPhaseOneParticle(event.getWither().getUniqueId());
+        this.runPhaseOneParticle(event.getWither());
     }
 
     @EventHandler(ignoreCancelled = true)
     private void onSecondPhaseActivate(final OminousWitherPhaseChangeEndEvent event) {
-        this.runPhaseTwoParticle(event.getWither().getUniqueId());
+        this.runPhaseTwoParticle(event.getWither());
     }
 
     @EventHandler(ignoreCancelled = true)
     private void onLoad(final OminousWitherLoadEvent event) {
         //If second phase began already, run second phase particle
         final Wither wither = event.getWither();
-        if (wither.getPersistentDataContainer().getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) {
+        if (this.plugin.isInSecondPhase(wither)) {
             //Phase change animation must be complete
             if (wither.getInvulnerabilityTicks() <= 0) {
-                this.runPhaseTwoParticle(wither.getUniqueId());
+                this.runPhaseTwoParticle(wither);
             }
 
             //If the animation isn't complete, then it will simply fire the End event when it is
@@ -54,46 +53,29 @@ public class OminousAura implements Listener {
         }
 
         //Otherwise run Phase 1 particle
-        this.runPhaseOneParticle(wither.getUniqueId());
+        this.runPhaseOneParticle(wither);
     }
 
-    private void runPhaseOneParticle(final UUID witherID) {
+    private void runPhaseOneParticle(final Wither wither) {
         //Constant ominous particle
-        this.plugin.getCoroutineManager().enqueue(new PersistentTrackingParticle(
-            this.plugin,
-            ((entityID) -> {
-                //If cannot find entity -> cancel
-                final Entity entity = plugin.getServer().getEntity(entityID);
-                if (entity == null) return true;
-                if (!(entity instanceof Wither)) return false;
-
-                //If wither is dead or entered second phase -> cancel
-                final Wither wither = (Wither) entity;
-                return wither.isDead() || wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false);
-            }),
-            witherID,
-            new Vector(0, 1.5, 0),
-            new ParticleInfo(Particle.RAID_OMEN, 3, 0.75, 1, 0.75)
-        ));
+        //Stops by itself once the wither dies or unloads
+        this.plugin.getParticleEmitters().track(
+            wither,
+            OFFSET,
+            PHASE_ONE_PARTICLE,
+            //If wither entered second phase -> cancel
+            ((entity) -> plugin.isInSecondPhase(wither))
+        );
     }
 
-    private void runPhaseTwoParticle(final UUID witherID) {
+    private void runPhaseTwoParticle(final Wither wither) {
         //Constant ominous particle
-        this.plugin.getCoroutineManager().enqueue(new PersistentTrackingParticle(
-            this.plugin,
-            ((entityID) -> {
-                //If cannot find entity -> cancel
-                final Entity entity = plugin.getServer().getEntity(entityID);
-                if (entity == null) return true;
-                if (!(entity instanceof Wither)) return false;
-
-                //If wither is dead -> cancel
-                final Wither wither = (Wither) entity;
-                return wither.isDead();
-            }),
-            witherID,
-            new Vector(0, 1.5, 0),
-            new ParticleInfo(Particle.TRIAL_OMEN, 3, 0.75, 1, 0.75)
-        ));
+        //Stops by itself once the wither dies or unloads
+        this.plugin.getParticleEmitters().track(
+            wither,
+            OFFSET,
+            PHASE_TWO_PARTICLE,
+            ((entity) -> false)
+        );
     }
 }
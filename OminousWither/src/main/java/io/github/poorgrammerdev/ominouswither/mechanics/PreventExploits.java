@@ -94,6 +94,6 @@ public class PreventExploits implements Listener {
             (amount) -> {
                 this.activeSearches.remove(witherID);
             }
-        ));
+        ), PreventExploits.class);
     }
 }
@@ -1,16 +1,13 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
-import java.util.UUID;
-
 import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
-import org.bukkit.persistence.PersistentDataType;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeEndEvent;
@@ -35,7 +32,7 @@ public class PreventPhaseRevert implements Listener {
         if (!this.plugin.isOminous(wither)) return;
 
         //Wither must fully be in the second phase
-        if (wither.getInvulnerabilityTicks() > 0 || !wither.getPersistentDataContainer().getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (wither.getInvulnerabilityTicks() > 0 || !this.plugin.isInSecondPhase(wither)) return;
 
         //Calculate how much the Wither can heal
         final double maxHealth = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
@@ -63,27 +60,28 @@ public class PreventPhaseRevert implements Listener {
         final Wither wither = event.getWither();
         
         //Wither must fully be in the second phase
-        if (wither.getInvulnerabilityTicks() > 0 || !wither.getPersistentDataContainer().getOrDefault(this.plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (wither.getInvulnerabilityTicks() > 0 || !this.plugin.isInSecondPhase(wither)) return;
 
         this.forceHealthBoundary(wither);
     }
 
     /**
      * Uses a coroutine to force Wither health below half
-     * @param witherParam Ominous Wither
+     * @param wither Ominous Wither
      */
-    private void forceHealthBoundary(final Wither witherParam) {
-        final UUID witherID = witherParam.getUniqueId();
-        final double healthBoundary = witherParam.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() / 2.0D;
+    private void forceHealthBoundary(final Wither wither) {
+        final double healthBoundary = wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() / 2.0D;
 
+        //Death and unloading are handled by the coroutine group
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
             @Override
-            public boolean tick() {
-                final Entity entity = plugin.getServer().getEntity(witherID);
-                if (!(entity instanceof Wither) || entity.isDead() || !entity.isInWorld()) return false;
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
 
+            @Override
+            public boolean tick() {
                 //If health is above max allowed set to max
-                final Wither wither = (Wither) entity;
                 if (wither.getHealth() > healthBoundary) {
                     wither.setHealth(healthBoundary);
                 }
@@ -91,7 +89,7 @@ public class PreventPhaseRevert implements Listener {
                 return true;
             }
             
-        });
+        }, wither);
     }
 
     
@@ -5,7 +5,6 @@ import org.bukkit.boss.BarFlag;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
@@ -38,7 +37,7 @@ public class SecondPhaseBuffs implements Listener {
     private void onLoad(final OminousWitherLoadEvent event) {
         final Wither wither = event.getWither();
 
-        if (!wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (!plugin.isInSecondPhase(wither)) return;
 
         //Fog effect
         if (!wither.getBossBar().hasFlag(BarFlag.CREATE_FOG)) wither.getBossBar().addFlag(BarFlag.CREATE_FOG);
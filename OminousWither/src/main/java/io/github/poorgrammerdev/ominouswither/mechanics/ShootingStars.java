@@ -1,6 +1,7 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
 import java.util.Random;
+import java.util.function.BooleanSupplier;
 
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -9,12 +10,9 @@ import org.bukkit.World.Environment;
 import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
-import io.github.poorgrammerdev.ominouswither.coroutines.AmbientParticleTrail;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherActivateEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherLoadEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherPhaseChangeEndEvent;
@@ -34,6 +32,10 @@ public class ShootingStars implements Listener {
     private final int SPAWN_RANGE = 20;
     private final int LIFESPAN = 250;
 
+    //Shared by all stars so the particle batch only needs to hold one copy of each
+    private static final ParticleInfo PHASE_ONE_PARTICLE = new ParticleInfo(Particle.CHERRY_LEAVES, 5, 1.5,1.5,1.5);
+    private static final ParticleInfo PHASE_TWO_PARTICLE = new ParticleInfo(Particle.GLOW, 10, 0.25, 0.25, 0.25, 0.125);
+
     private final OminousWither plugin;
     private final Random random;
 
@@ -72,45 +74,45 @@ public class ShootingStars implements Listener {
         if (location.getY() < NETHER_ROOF_HEIGHT) return;
 
         //Runs every second
-        new ShootingStarRunnable(wither).runTaskTimer(plugin, 0L, 20L);
+        this.plugin.getCoroutineManager().scheduleEvery(1, 20, new ShootingStarTimer(wither));
     }
 
     /**
      * Handles spawning stars for a single Ominous Wither
      */
-    private class ShootingStarRunnable extends BukkitRunnable {
+    private class ShootingStarTimer implements BooleanSupplier {
         private final Wither wither;
         private final ParticleInfo particle;
 
-        public ShootingStarRunnable(final Wither wither) {
+        public ShootingStarTimer(final Wither wither) {
             this.wither = wither;
 
-            final boolean isInSecondPhase = wither.getPersistentDataContainer().getOrDefault(plugin.getSecondPhaseKey(), PersistentDataType.BOOLEAN, false);
-            this.particle = !isInSecondPhase ?
-                new ParticleInfo(Particle.CHERRY_LEAVES, 5, 1.5,1.5,1.5) :
-                new ParticleInfo(Particle.GLOW, 10, 0.25, 0.25, 0.25, 0.125)
-            ;
+            final boolean isInSecondPhase = plugin.isInSecondPhase(wither);
+            this.particle = !isInSecondPhase ? PHASE_ONE_PARTICLE : PHASE_TWO_PARTICLE;
         }
 
+        /**
+         * @return if this should keep running
+         */
         @Override
-        public void run() {
+        public boolean getAsBoolean() {
             if (wither.isDead() || !wither.isInWorld() || wither.getInvulnerabilityTicks() > 0) {
-                this.cancel();
-                return;
+                return false;
             }
             final Location location = wither.getLocation();
             final World world = wither.getWorld();
 
-            if (world.getEnvironment() != Environment.NETHER || location.getY() < NETHER_ROOF_HEIGHT) return;
-            if (wither.getTarget() != null) return;
+            if (world.getEnvironment() != Environment.NETHER || location.getY() < NETHER_ROOF_HEIGHT) return true;
+            if (wither.getTarget() != null) return true;
 
             //Get a random location in the air
             location.add(random.nextInt(2 * SPAWN_RANGE) - SPAWN_RANGE, RELATIVE_SPAWN_HEIGHT, random.nextInt(2 * SPAWN_RANGE) - SPAWN_RANGE);
-            if (!Utils.isLocationPassable(location, 1)) return;
+            if (!Utils.isLocationPassable(location, 1)) return true;
 
             //Spawn a star trail
             final Vector velocity = new Vector(random.nextDouble() - 0.5D, -0.25D, random.nextDouble() - 0.5D).normalize();
-            plugin.getCoroutineManager().enqueue(new AmbientParticleTrail(world, location, velocity, particle, LIFESPAN));
+            plugin.getParticleEmitters().trail(location, velocity, particle, LIFESPAN);
+            return true;
         }
     }
     
@@ -1,6 +1,5 @@
 package io.github.poorgrammerdev.ominouswither.mechanics;
 
-import org.bukkit.Difficulty;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
@@ -15,11 +14,14 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
+import io.github.poorgrammerdev.ominouswither.internal.CoroutinePriority;
+import io.github.poorgrammerdev.ominouswither.internal.EntityBudgetGovernor;
+import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 
 public class SkullBarrage implements Listener {
     private final OminousWither plugin;
@@ -54,15 +56,11 @@ public class SkullBarrage implements Listener {
         final Wither wither = (Wither) skull.getShooter();
         if (!this.plugin.isOminous(wither)) return;
 
-        final World witherWorld = wither.getWorld();
-        if (witherWorld == null) return;
-
         //Get setting context
-        final int level = this.plugin.getLevel(wither, 1);
-        final Difficulty difficulty = witherWorld.getDifficulty();
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(wither);
         
         //Velocity buff of black skulls based on level
-        final double speed = this.plugin.getBossStatsManager().getStat(BossStat.NORMAL_SKULL_SPEED, level, difficulty);
+        final double speed = stats.get(BossStat.NORMAL_SKULL_SPEED);
         final Vector velocity = skull.getVelocity().multiply(speed);
         skull.setVelocity(velocity);
         skull.getPersistentDataContainer().set(this.isInvulnCancelling, PersistentDataType.BOOLEAN, true);
@@ -71,16 +69,26 @@ public class SkullBarrage implements Listener {
         final World world = skull.getWorld();
         final Location location = skull.getLocation();
         final Vector acceleration = skull.getAcceleration();
-        final int amount = (int) this.plugin.getBossStatsManager().getStat(BossStat.SKULL_BARRAGE_AMOUNT, level, difficulty) - 1; //Subtracting one to account for the already shot skull
-        new BukkitRunnable() {
+        //Subtracting one to account for the already shot skull; fewer duplicates are fired if the entity budget is full
+        final EntityBudgetGovernor.Reservation reservation = this.plugin.getEntityBudget().request(wither, location, stats.getInt(BossStat.SKULL_BARRAGE_AMOUNT) - 1);
+        final int amount = reservation.getAmount();
+        if (amount <= 0) return;
+
+        //Duplicates must be tick-accurate, so they are fired from the strict lane after a short delay
+        final ICoroutine barrage = new ICoroutine() {
             private int i = 0;
 
             @Override
-            public void run() {
-                //Stop runnable once done
+            public CoroutinePriority getPriority() {
+                return CoroutinePriority.COMBAT;
+            }
+
+            @Override
+            public boolean tick() {
+                //Stop once done; skulls that failed to spawn give their budget back
                 if (i >= amount) {
-                    this.cancel();
-                    return;
+                    plugin.getEntityBudget().release(reservation);
+                    return false;
                 }
 
                 final Entity entity = world.spawnEntity(location, EntityType.WITHER_SKULL);
@@ -91,6 +99,7 @@ public class SkullBarrage implements Listener {
                     duplicate.setShooter(wither);
                     duplicate.setAcceleration(acceleration);
                     duplicate.setCharged(false);
+                    plugin.getEntityBudget().track(duplicate, reservation);
 
                     //Tag all but last as i-frame cancelling
                     if (i != (amount - 1)) {
@@ -101,8 +110,15 @@ public class SkullBarrage implements Listener {
 
                 //Increment ticker
                 ++i;
+                return true;
+            }
+
+            @Override
+            public void onCancel() {
+                plugin.getEntityBudget().release(reservation);
             }
-        }.runTaskTimer(this.plugin, 2L, 1L);
+        };
+        this.plugin.getCoroutineManager().scheduleAfter(2, () -> this.plugin.getCoroutineManager().enqueueStrict(barrage, null));
     }
 
     /**
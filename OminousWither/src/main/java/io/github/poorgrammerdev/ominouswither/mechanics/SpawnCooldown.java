@@ -13,10 +13,10 @@ import org.bukkit.entity.Wither;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDeathEvent;
-import org.bukkit.persistence.PersistentDataType;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.CooldownManager;
+import io.github.poorgrammerdev.ominouswither.internal.WitherState;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherSpawnEvent;
 import io.github.poorgrammerdev.ominouswither.internal.events.OminousWitherSpawnEvent.SpawnReason;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
@@ -106,20 +106,11 @@ public class SpawnCooldown extends CooldownManager implements Listener {
     private void onDeath(final EntityDeathEvent event) {
         if (!(event.getEntity() instanceof Wither)) return;
 
-        final Wither wither = (Wither) event.getEntity();
-        if (!this.plugin.isOminous(wither)) return;
+        final WitherState state = this.plugin.getWitherRegistry().get((Wither) event.getEntity());
+        if (state == null) return;
     
-        final String idStr = wither.getPersistentDataContainer().getOrDefault(this.plugin.getSpawnerKey(), PersistentDataType.STRING, null);
-        if (idStr == null) return;
-
-        UUID id;
-        try {
-            id = UUID.fromString(idStr);
-        }
-        catch (final IllegalArgumentException exception) {
-            this.plugin.getLogger().warning("Malformed player UUID stored in spawner field of Ominous Wither");
-            return;
-        }
+        final UUID id = state.getSpawnerID();
+        if (id == null) return;
 
         // No longer on cooldown -> don't need to do anything
         if (!this.isOnCooldown(id)) return;
@@ -2,10 +2,10 @@ package io.github.poorgrammerdev.ominouswither.mechanics;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
-import org.bukkit.Difficulty;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
@@ -36,9 +36,12 @@ import io.github.poorgrammerdev.ominouswither.utils.Utils;
 import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.coroutines.EntityStare;
 import io.github.poorgrammerdev.ominouswither.coroutines.PassableLocationFinder;
-import io.github.poorgrammerdev.ominouswither.coroutines.PersistentParticle;
+import io.github.poorgrammerdev.ominouswither.coroutines.SpawnPipeline;
+import io.github.poorgrammerdev.ominouswither.internal.EntityBudgetGovernor;
 import io.github.poorgrammerdev.ominouswither.internal.ICoroutine;
+import io.github.poorgrammerdev.ominouswither.internal.WitherState;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 
 /**
  * This handles all of the mechanics that happen as the Ominous Wither is spawning.
@@ -46,6 +49,8 @@ import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
  * @author Thomas Tran
  */
 public class SpawnMechanics implements Listener {
+    private static final ParticleInfo MINION_MARKER_PARTICLE = new ParticleInfo(Particle.SMOKE, 5, 0.25, 1.5, 0.25, 0, null);
+
     private final OminousWither plugin;
 
     /**
@@ -69,9 +74,8 @@ public class SpawnMechanics implements Listener {
     private void onOminousSpawn(final OminousWitherSpawnEvent event) {
         final Wither wither = event.getWither();
         final Player player = event.getSpawner();
-        final World world = wither.getWorld();
         final int level = event.getLevel();
-        final Difficulty difficulty = world.getDifficulty();
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(wither);
 
         //Remove the Bad Omen effect from the Player
         if (this.creativeRemoveOmen || Utils.isTargetable(player)) player.removePotionEffect(PotionEffectType.BAD_OMEN);
@@ -81,13 +85,13 @@ public class SpawnMechanics implements Listener {
         final String witherName = Utils.WITHER_NAME_COLOR + "Ominous Wither" + (levelRoman != null ? (" " + levelRoman) : "");
 
         wither.setCustomName(witherName);
-        wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.BOSS_MAX_HEALTH, level, difficulty));
-        wither.getAttribute(Attribute.GENERIC_ARMOR).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.FIRST_PHASE_ARMOR, level, difficulty));
-        wither.getAttribute(Attribute.GENERIC_ARMOR_TOUGHNESS).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.FIRST_PHASE_ARMOR_TOUGHNESS, level, difficulty));
+        wither.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(stats.get(BossStat.BOSS_MAX_HEALTH));
+        wither.getAttribute(Attribute.GENERIC_ARMOR).setBaseValue(stats.get(BossStat.FIRST_PHASE_ARMOR));
+        wither.getAttribute(Attribute.GENERIC_ARMOR_TOUGHNESS).setBaseValue(stats.get(BossStat.FIRST_PHASE_ARMOR_TOUGHNESS));
         wither.getAttribute(Attribute.GENERIC_FOLLOW_RANGE).setBaseValue(1024);
 
         //Wither looks at its spawner while spawning
-        this.performOminousStare(wither.getUniqueId(), player.getUniqueId());
+        this.performOminousStare(wither, player.getUniqueId());
 
         //Get locations for spawning minions
         this.populateMinionSpawnLocations(wither);
@@ -103,16 +107,16 @@ public class SpawnMechanics implements Listener {
     private void onLoad(final OminousWitherLoadEvent event) {
         //Check if the Wither has not been fully spawned in yet
         final Wither wither = event.getWither();
-        if (wither == null || wither.getPersistentDataContainer().getOrDefault(this.plugin.getIsFullySpawnedKey(), PersistentDataType.BOOLEAN, false)) return;
+        if (wither == null || this.plugin.isFullySpawned(wither)) return;
 
         //Minion spawning process
         this.populateMinionSpawnLocations(wither);
         
         //Stare
-        final String spawnerIDString = wither.getPersistentDataContainer().getOrDefault(this.plugin.getSpawnerKey(), PersistentDataType.STRING, null);
-        if (spawnerIDString == null) return;
+        final WitherState state = this.plugin.getWitherRegistry().get(wither);
+        if (state == null || state.getSpawnerID() == null) return;
 
-        this.performOminousStare(wither.getUniqueId(), UUID.fromString(spawnerIDString));
+        this.performOminousStare(wither, state.getSpawnerID());
     }
 
     /**
@@ -132,18 +136,18 @@ public class SpawnMechanics implements Listener {
 
     /**
      * Makes the Wither look at its spawner while spawning in
-     * @param witherID Ominous Wither boss's UUID
+     * @param wither Ominous Wither boss
      * @param playerID UUID of the player that spawned the wither
      */
-    private void performOminousStare(final UUID witherID, final UUID playerID) {
+    private void performOminousStare(final Wither wither, final UUID playerID) {
         this.plugin.getCoroutineManager().enqueue(new EntityStare(
             this.plugin,
-            witherID,
+            wither,
             playerID,
             true,
             (starerID, targetID) -> {return true;},
             (starerID, targetID) -> {return !spawnMinionMap.containsKey(starerID);}            
-        ));
+        ), SpawnMechanics.class, wither);
     }
 
     /**
@@ -155,7 +159,8 @@ public class SpawnMechanics implements Listener {
         final UUID witherUUID = wither.getUniqueId();
         this.spawnMinionMap.put(witherUUID, new ArrayList<>());
 
-        final double spawnRange = this.plugin.getBossStatsManager().getStat(BossStat.MINION_SPAWN_RANGE, wither);
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(wither);
+        final double spawnRange = stats.get(BossStat.MINION_SPAWN_RANGE);
 
         //Find locations to summon minions
         this.plugin.getCoroutineManager().enqueue(new PassableLocationFinder(
@@ -164,7 +169,7 @@ public class SpawnMechanics implements Listener {
             3,
             true,
             true,
-            (int) this.plugin.getBossStatsManager().getStat(BossStat.MINION_AMOUNT, wither),
+            stats.getInt(BossStat.MINION_AMOUNT),
             (location) -> {
                 //Adds them to a list under the Wither's ID so they can be summoned once the wither is fully spawned
                 final List<Location> list = this.spawnMinionMap.getOrDefault(wither.getUniqueId(), null);
@@ -176,48 +181,38 @@ public class SpawnMechanics implements Listener {
                 list.add(location);
 
                 //Play visual effect at future spawn place
-                this.plugin.getCoroutineManager().enqueue(new PersistentParticle(
-                    () -> (!this.spawnMinionMap.containsKey(witherUUID)),
+                //Stops once the Wither is removed from the map, either by spawning fully or by being lost
+                this.plugin.getParticleEmitters().stationary(
                     location.clone().add(0, 1, 0),
-                    new ParticleInfo(
-                        Particle.SMOKE,
-                        5,
-                        0.25,
-                        1.5,
-                        0.25,
-                        0,
-                        null
-                    )
-                ));
+                    MINION_MARKER_PARTICLE,
+                    () -> (!this.spawnMinionMap.containsKey(witherUUID))
+                );
             },
             null
-        ));
+        ), SpawnMechanics.class);
 
         //Track the Wither to make sure it's still alive and loaded
-        //If not, remove it from the map (this will prevent a memory leak and also clear the smoke particles)
+        //If not, the coroutine group cancels this and it removes the Wither from the map (this will prevent a memory leak and also clear the smoke particles)
         //The only known instance of this being an issue is when the difficulty is set to Peaceful during Wither spawn
         this.plugin.getCoroutineManager().enqueue(new ICoroutine() {
 
             @Override
-            public boolean tick() {
-                final Entity entity = plugin.getServer().getEntity(witherUUID);
-                
+            public void onCancel() {
                 //Entity has been removed or unloaded
-                if (!(entity instanceof Wither) || entity.isDead() || !entity.isInWorld()) {
-                    spawnMinionMap.remove(witherUUID);
-                    return false;
-                }
-                
+                spawnMinionMap.remove(witherUUID);
+            }
+
+            @Override
+            public boolean tick() {
                 //Wither has fully spawned in, no longer need this task
-                final Wither wither = (Wither) entity;
-                if (wither.getPersistentDataContainer().getOrDefault(plugin.getIsFullySpawnedKey(), PersistentDataType.BOOLEAN, false)) return false;
+                if (plugin.isFullySpawned(wither)) return false;
 
                
                 //Otherwise continue
                 return true;
             }
             
-        });
+        }, wither);
     }
 
     /**
@@ -235,69 +230,94 @@ public class SpawnMechanics implements Listener {
         final World world = wither.getWorld();
         if (world == null) return;
 
-        //Get level of Wither; if invalid then failed -> clear locations and return
-        final int level = this.plugin.getLevel(wither, -1);
-        if (level == -1) return;
+        //Get level of Wither; if not registered then failed -> clear locations and return
+        final WitherState state = this.plugin.getWitherRegistry().get(wither);
+        if (state == null) return;
+        final int level = state.getLevel();
 
         //Get player who spawned Wither
-        final String playerIDString = wither.getPersistentDataContainer().getOrDefault(this.plugin.getSpawnerKey(), PersistentDataType.STRING, null);
-        if (playerIDString == null) return;
-
-        final Player spawner;
-        try {
-            final UUID playerID = UUID.fromString(playerIDString);
-            spawner = this.plugin.getServer().getPlayer(playerID);
-        }
-        catch (IllegalArgumentException e) {
-            return;
-        }
-
-        if (spawner == null) return;
-
-        final Difficulty difficulty = world.getDifficulty();
-        for (Location location : minionLocations) {
-            //Make spawn location face the player who spawned the Wither
-            location = location.setDirection(spawner.getLocation().subtract(location).toVector());
-
-            //Play a flash particle
-            world.spawnParticle(Particle.FLASH, location, 1);
-
-            final Entity entity = world.spawnEntity(location, EntityType.WITHER_SKELETON);
-            if (!(entity instanceof WitherSkeleton)) continue;
-
-            final WitherSkeleton minion = (WitherSkeleton) entity;
-            minion.setPersistent(true);
-            minion.getPersistentDataContainer().set(this.plugin.getMinionKey(), PersistentDataType.BOOLEAN, true);
-            minion.setLootTable(LootTables.EMPTY.getLootTable());
-            minion.setCanPickupItems(false);
-            minion.getAttribute(Attribute.GENERIC_ARMOR).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.MINION_ARMOR, level, difficulty));
-            minion.getAttribute(Attribute.GENERIC_ARMOR_TOUGHNESS).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.MINION_ARMOR_TOUGHNESS, level, difficulty));
-            minion.getAttribute(Attribute.GENERIC_MOVEMENT_SPEED).setBaseValue(this.plugin.getBossStatsManager().getStat(BossStat.MINION_MOVEMENT_SPEED, level, difficulty));
-            minion.getAttribute(Attribute.GENERIC_FOLLOW_RANGE).setBaseValue(1024);
-
-            //Targets the spawner if possible
-            if (Utils.isTargetable(spawner)) {
-                minion.setTarget(spawner);
+        final UUID spawnerID = state.getSpawnerID();
+        if (spawnerID == null) return;
+        if (this.plugin.getServer().getPlayer(spawnerID) == null) return;
+
+        //Shared by every minion, including delayed ones
+        final StatSnapshot stats = state.getStats();
+        final ItemStack weapon =
+            new ItemBuilder(Material.NETHERITE_SWORD)
+                .addEnchant(Enchantment.SHARPNESS, stats.getInt(BossStat.MINION_SWORD_SHARPNESS), true)
+                .addEnchant(Enchantment.FIRE_ASPECT, 3, false)
+            .build()
+        ;
+
+        //Minions that don't fit in the entity budget are spawned later at their remaining locations
+        //Either way, they are spawned one per tick through a pipeline so a large group doesn't spike a single tick
+        final Iterator<Location> remaining = minionLocations.iterator();
+        this.plugin.getEntityBudget().spawnBudgeted(wither, wither.getLocation(), minionLocations.size(), 1, (reservation, amount) -> {
+            final SpawnPipeline pipeline = new SpawnPipeline((location) -> {
+                //Spawner may have gone offline in the meantime
+                final Player spawner = this.plugin.getServer().getPlayer(spawnerID);
+                return (spawner != null && this.spawnMinion(reservation, world, location, spawner, stats, weapon, level));
+            });
+
+            for (int i = 0; i < amount && remaining.hasNext(); ++i) {
+                pipeline.offer(remaining.next());
             }
+            //Minions that failed to spawn give their budget back
+            pipeline.close((spawned) -> this.plugin.getEntityBudget().release(reservation));
 
-            final EntityEquipment equipment = minion.getEquipment();
-            if (equipment == null) continue;
+            this.plugin.getCoroutineManager().enqueue(pipeline, SpawnMechanics.class, wither);
+        });
+    }
+
+    /**
+     * Spawns a single minion
+     * @param reservation entity budget the minion is spawned under
+     * @param world world to spawn in
+     * @param location location to spawn at
+     * @param spawner player who spawned the Wither, who the minion faces and targets
+     * @param stats stats of the Wither
+     * @param weapon sword to give the minion; shared by every minion in the group
+     * @param level level of the Wither
+     * @return if the minion was spawned
+     */
+    private boolean spawnMinion(final EntityBudgetGovernor.Reservation reservation, final World world, Location location, final Player spawner, final StatSnapshot stats, final ItemStack weapon, final int level) {
+        //Make spawn location face the player who spawned the Wither
+        location = location.setDirection(spawner.getLocation().subtract(location).toVector());
+
+        //Play a flash particle
+        world.spawnParticle(Particle.FLASH, location, 1);
+
+        final Entity entity = world.spawnEntity(location, EntityType.WITHER_SKELETON);
+        if (!(entity instanceof WitherSkeleton)) return false;
+
+        final WitherSkeleton minion = (WitherSkeleton) entity;
+        this.plugin.getEntityBudget().track(minion, reservation);
+        minion.setPersistent(true);
+        minion.getPersistentDataContainer().set(this.plugin.getMinionKey(), PersistentDataType.BOOLEAN, true);
+        minion.setLootTable(LootTables.EMPTY.getLootTable());
+        minion.setCanPickupItems(false);
+        minion.getAttribute(Attribute.GENERIC_ARMOR).setBaseValue(stats.get(BossStat.MINION_ARMOR));
+        minion.getAttribute(Attribute.GENERIC_ARMOR_TOUGHNESS).setBaseValue(stats.get(BossStat.MINION_ARMOR_TOUGHNESS));
+        minion.getAttribute(Attribute.GENERIC_MOVEMENT_SPEED).setBaseValue(stats.get(BossStat.MINION_MOVEMENT_SPEED));
+        minion.getAttribute(Attribute.GENERIC_FOLLOW_RANGE).setBaseValue(1024);
+
+        //Targets the spawner if possible
+        if (Utils.isTargetable(spawner)) {
+            minion.setTarget(spawner);
+        }
 
-            equipment.setItemInMainHandDropChance(-32768);
-            final ItemStack weapon =
-                new ItemBuilder(Material.NETHERITE_SWORD)
-                    .addEnchant(Enchantment.SHARPNESS, (int) this.plugin.getBossStatsManager().getStat(BossStat.MINION_SWORD_SHARPNESS, level, difficulty), true)
-                    .addEnchant(Enchantment.FIRE_ASPECT, 3, false)
-                .build()
-            ;
+        final EntityEquipment equipment = minion.getEquipment();
+        if (equipment == null) return true;
 
-            equipment.setItemInMainHand(weapon);
+        //Equipment is copied when set, so the same item can be given to every minion
+        equipment.setItemInMainHandDropChance(-32768);
+        equipment.setItemInMainHand(weapon);
 
-            if (level == 5) {
-                equipment.setItemInOffHandDropChance(-32768);
-                equipment.setItemInOffHand(new ItemStack(Material.TOTEM_OF_UNDYING));
-            }
+        if (level >= 5) {
+            equipment.setItemInOffHandDropChance(-32768);
+            equipment.setItemInOffHand(new ItemStack(Material.TOTEM_OF_UNDYING));
         }
+        return true;
     }
 
 
@@ -1,14 +1,13 @@
 package io.github.poorgrammerdev.ominouswither.mechanics.customskulls;
 
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Wither;
 import org.bukkit.entity.WitherSkull;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.util.Vector;
 
 import io.github.poorgrammerdev.ominouswither.OminousWither;
-import io.github.poorgrammerdev.ominouswither.coroutines.PersistentTrackingParticle;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
+import io.github.poorgrammerdev.ominouswither.internal.config.StatSnapshot;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
 
 /**
@@ -16,6 +15,8 @@ import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
  * @author Thomas Tran
  */
 public abstract class AbstractSkullHandler {
+    private static final Vector TRACKING_OFFSET = new Vector(0, 0.25, 0);
+
     protected final BossStat initialSpeedSetting;
     protected final ParticleInfo trackingParticle;
     protected final OminousWither plugin;
@@ -37,41 +38,34 @@ public abstract class AbstractSkullHandler {
      * Does not include naturally occurring blue skulls
      * This method does not have to handle tagging the skull with PDC
      * 
-     * Base method sets velocity, lifespan, and tracking particle
+     * Base method sets velocity, tracking particle, and registers the skull's lifespan
      * @param skull fired projectile
      * @param shooter Ominous Wither that fired the skull
      */
     public void onSpawn(final WitherSkull skull, final Wither shooter) {
-        final double lifespan = this.plugin.getBossStatsManager().getStat(BossStat.DANGEROUS_SKULL_LIFESPAN, shooter);
+        final StatSnapshot stats = this.plugin.getBossStatsManager().getSnapshot(shooter);
+        final double lifespan = stats.get(BossStat.DANGEROUS_SKULL_LIFESPAN);
 
         //Velocity
-        final double initialSpeed = this.plugin.getBossStatsManager().getStat(this.initialSpeedSetting, shooter);
+        final double initialSpeed = stats.get(this.initialSpeedSetting);
         skull.setVelocity(skull.getVelocity().multiply(initialSpeed));
 
-        //Tracking particle
-        this.plugin.getCoroutineManager().enqueue(new PersistentTrackingParticle(
-            this.plugin,
-            (uuid) -> {
-                //Entity must still exist
-                final Entity entity = plugin.getServer().getEntity(uuid);
-                if (entity == null || entity.isDead()) return true;
-
-                //Remove the skull after its lifespan has finished
-                //TODO: is this a bad place to do it? it is technically inside of a particle check
-                if (entity.getTicksLived() >= lifespan) {
-                    entity.remove();
-                    return true;
-                }
+        //Tracking particle; stops by itself once the skull is gone
+        this.plugin.getParticleEmitters().track(skull, TRACKING_OFFSET, this.trackingParticle, (entity) -> false);
 
-                //Continue playing particle as normal
-                return false;
-            },
-            skull.getUniqueId(),
-            new Vector(0, 0.25, 0),
-            this.trackingParticle
-        ));
+        //Remove the skull after its lifespan has finished
+        this.plugin.getProjectileLifecycleManager().register(skull, lifespan, (projectile) -> this.onExpire(skull, shooter));
     }
 
+    /**
+     * Called right before a skull is removed for outliving its lifespan
+     * Not called if the skull hits something or is otherwise removed before then
+     * Base method does nothing
+     * @param skull expiring projectile
+     * @param shooter Ominous Wither that fired the skull; may no longer be alive
+     */
+    public void onExpire(final WitherSkull skull, final Wither shooter) {}
+
     /**
      * Method is passed when a skull tagged with this skull's tag hits something
      * This is intentionally not to be marked with @EventHandler,
@@ -5,11 +5,9 @@ import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
-import org.bukkit.Tag;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Wither;
-import org.bukkit.entity.WitherSkull;
 import org.bukkit.event.entity.ProjectileHitEvent;
 import org.bukkit.util.Vector;
 
@@ -17,7 +15,6 @@ import io.github.poorgrammerdev.ominouswither.OminousWither;
 import io.github.poorgrammerdev.ominouswither.internal.config.BossStat;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleInfo;
 import io.github.poorgrammerdev.ominouswither.utils.ParticleShapes;
-import io.github.poorgrammerdev.ominouswither.utils.Utils;
 
 /**
  * Skull that pulls in enemies 
@@ -43,26 +40,8 @@ public class GravitySkull extends AbstractSkullHandler {
         ParticleShapes.circle(this.trackingParticle, radius, 4, location);
 
         //Gravity mechanic
-        world.getNearbyEntities(location, radius, radius, radius, (entity) -> (!Tag.ENTITY_TYPES_WITHER_FRIENDS.isTagged(entity.getType())))
+        this.plugin.getTargetGrid().getInRadius(location, radius)
             .stream()
-            
-            .filter((entity) -> (
-                //Entity cannot be invulnerable
-                !entity.isInvulnerable() &&
-
-                //Friendly cases should all be handled already up top but as a double check:
-                !this.plugin.isMinion(entity) &&
-                !(entity instanceof Wither) &&
-
-                //Cannot affect other wither skulls
-                !(entity instanceof WitherSkull) &&
-
-                //If player -> must be targetable
-                (!(entity instanceof Player) || (Utils.isTargetable((Player) entity))) &&
-
-                //Must be in radius
-                location.distanceSquared(entity.getLocation()) <= (radius * radius)
-            ))
 
             //NOTE: currently does not do a visibility check, meaning this can hit through walls | TODO: should this behaviour be changed?
 
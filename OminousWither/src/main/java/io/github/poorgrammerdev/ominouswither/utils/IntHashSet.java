@@ -0,0 +1,112 @@
+package io.github.poorgrammerdev.ominouswither.utils;
+
+import java.util.Arrays;
+
+/**
+ * <p>Set of primitive ints using open addressing with linear probing, so adding and checking doesn't box or allocate</p>
+ * <p>Only supports adding and clearing; clearing keeps the backing array so the set can be reused</p>
+ * @author Thomas Tran
+ */
+public class IntHashSet {
+    /**
+     * Marks an empty slot; this value is stored separately since it can't be kept in the table
+     */
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private int[] table;
+    private int size;
+    private boolean containsEmptyValue;
+
+    /**
+     * Constructor
+     * @param expectedSize amount of values expected, used to size the table so it doesn't need to grow
+     */
+    public IntHashSet(final int expectedSize) {
+        //Power of two that keeps the table at most half full
+        final int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        this.table = new int[capacity];
+        Arrays.fill(this.table, EMPTY);
+        this.size = 0;
+        this.containsEmptyValue = false;
+    }
+
+    /**
+     * @return if the value is in the set
+     */
+    public boolean contains(final int value) {
+        if (value == EMPTY) return this.containsEmptyValue;
+
+        final int mask = this.table.length - 1;
+        for (int slot = mix(value) & mask; this.table[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (this.table[slot] == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a value to the set
+     * @return if the value was not already in the set
+     */
+    public boolean add(final int value) {
+        if (value == EMPTY) {
+            if (this.containsEmptyValue) return false;
+            this.containsEmptyValue = true;
+            ++this.size;
+            return true;
+        }
+
+        final int mask = this.table.length - 1;
+        int slot = mix(value) & mask;
+        while (this.table[slot] != EMPTY) {
+            if (this.table[slot] == value) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        this.table[slot] = value;
+
+        //Keep the table at most half full so probes stay short
+        if (++this.size * 2 > this.table.length) this.grow();
+        return true;
+    }
+
+    /**
+     * @return amount of values in the set
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes every value while keeping the current capacity
+     */
+    public void clear() {
+        if (this.size == 0) return;
+
+        Arrays.fill(this.table, EMPTY);
+        this.size = 0;
+        this.containsEmptyValue = false;
+    }
+
+    private void grow() {
+        final int[] previous = this.table;
+        this.table = new int[previous.length * 2];
+        Arrays.fill(this.table, EMPTY);
+
+        final int mask = this.table.length - 1;
+        for (final int value : previous) {
+            if (value == EMPTY) continue;
+
+            int slot = mix(value) & mask;
+            while (this.table[slot] != EMPTY) slot = (slot + 1) & mask;
+            this.table[slot] = value;
+        }
+    }
+
+    /**
+     * Spreads out sequential values (e.g. entity IDs) so they don't cluster in the table
+     */
+    private static int mix(final int value) {
+        final int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
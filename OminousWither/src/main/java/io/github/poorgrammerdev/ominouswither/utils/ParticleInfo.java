@@ -70,6 +70,29 @@ public class ParticleInfo {
         );
     }
 
+    /**
+     * Convenience method for spawning this particle at coordinates, without needing a Location
+     * @param world world to spawn in
+     * @param x x coordinate to spawn at
+     * @param y y coordinate to spawn at
+     * @param z z coordinate to spawn at
+     */
+    public void spawnParticle(final World world, final double x, final double y, final double z) {
+        world.spawnParticle(
+            this.particle,
+            x,
+            y,
+            z,
+            this.count,
+            this.offsetX,
+            this.offsetY,
+            this.offsetZ,
+            this.extra,
+            this.data,
+            this.force
+        );
+    }
+
     /**
      * Convenience method for spawning this particle somewhere to a single recipient
      * @param player player to show particle
@@ -1,15 +1,15 @@
 package io.github.poorgrammerdev.ominouswither.utils;
 
-import org.bukkit.FluidCollisionMode;
+import java.util.function.Predicate;
+
 import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.Tag;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
-import org.bukkit.util.BlockIterator;
-import org.bukkit.util.RayTraceResult;
 import org.bukkit.util.Vector;
 
 import net.md_5.bungee.api.ChatColor;
@@ -21,6 +21,24 @@ import net.md_5.bungee.api.ChatColor;
 public final class Utils {
     public static final ChatColor WITHER_NAME_COLOR = ChatColor.of("#8400FF");
 
+    //Roman numeral symbols from largest to smallest, including the subtractive pairs
+    private static final int[] ROMAN_VALUES = {1000, 900, 500, 400, 100, 90, 50, 40, 10, 9, 5, 4, 1};
+    private static final String[] ROMAN_SYMBOLS = {"M", "CM", "D", "CD", "C", "XC", "L", "XL", "X", "IX", "V", "IV", "I"};
+
+    /**
+     * Used by the line of sight and ground checks below; one per thread, since on region-threaded servers these run on several threads at once
+     */
+    private static final ThreadLocal<VoxelWalker> WALKER = ThreadLocal.withInitial(VoxelWalker::new);
+
+    /**
+     * Max blocks visited by a single line of sight check; a diagonal line across 128 blocks visits at most ~384
+     */
+    private static final int MAX_WALK_STEPS = 512;
+
+    //Block classes used by the checks below
+    private static final Predicate<Material> SOLID = Material::isSolid;
+    private static final Predicate<Material> WITHER_IMMUNE = Tag.WITHER_IMMUNE::isTagged;
+
     /**
      * Checks if a location is viable for an entity to spawn at (i.e. it's not inside a wall)
      * @param location Location to check
@@ -50,20 +68,17 @@ public final class Utils {
 
         //Calculate how many times we can iterate based on the minimum Y bound
         final int limit = location.getBlockY() - minY;
-        
-        Block block = location.getBlock();
-        for (int i = 0; i < limit; i++) {
-            final Block blockUnder = block.getRelative(BlockFace.DOWN);
-            if (!blockUnder.isPassable()) return block.getLocation();
-
-            block = blockUnder;
-        }
+        if (limit <= 0) return null;
 
-        return null;
+        //Walk down from the block underneath; the ground location is the block above the first solid one
+        final VoxelWalker walker = WALKER.get();
+        if (!walker.walkDown(world, location.getBlockX(), location.getBlockY() - 1, location.getBlockZ(), limit - 1, SOLID)) return null;
+        return new Location(world, walker.getX(), walker.getY() + 1, walker.getZ());
     }
 
     /**
      * Checks if two locations are visible from each other
+     * Blocks are checked as a whole, so a partial block (e.g. a slab) in the way blocks sight even if the line passes over it
      */
     public static boolean hasLineOfSight(final Location origin, final Location target) {
         //World must exist and match
@@ -71,16 +86,8 @@ public final class Utils {
         final World targetWorld = target.getWorld();
         if (world == null || targetWorld == null || !world.equals(targetWorld)) return false;
 
-        //Perform a raycast from origin facing target and check if any impassable blocks are in the way
-        final double distance = origin.distance(target);
-        final Vector direction = target.clone().subtract(origin).toVector();
-        final RayTraceResult result = world.rayTraceBlocks(origin, direction, distance, FluidCollisionMode.NEVER, true);
-
-        //From the docs: the method above returns "the ray trace hit result, or null if there is no hit"
-        if (result == null) return true;
-
-        final Block block = result.getHitBlock();
-        return (block == null || block.isPassable());
+        //Walk from origin to target and check if any impassable blocks are in the way
+        return !WALKER.get().walk(world, origin.getX(), origin.getY(), origin.getZ(), target.getX(), target.getY(), target.getZ(), MAX_WALK_STEPS, SOLID);
     }
 
     /**
@@ -88,41 +95,19 @@ public final class Utils {
      * <p>For example, if these two locations only have stone between them this will return true. If there is bedrock in the way, it will return false</p>
      * <p>It is only a simple raycast, there is no pathfinding</p>
      */
-    public static boolean hasBreakableLineOfSight(Location origin, final Location target) {
+    public static boolean hasBreakableLineOfSight(final Location origin, final Location target) {
         //World must exist and match
         final World world = origin.getWorld();
         final World targetWorld = target.getWorld();
         if (world == null || targetWorld == null || !world.equals(targetWorld)) return false;
 
-        //Perform a raycast from origin facing target and check if any impassable blocks are in the way
-        origin = origin.clone();
-        final Vector direction = target.clone().subtract(origin).toVector();
-        origin.setDirection(direction);
-
-        //Bounds check to prevent infinite looping
-        final int distance = (int) origin.distance(target);
-        if (distance <= 0) return true; //In the same block, must be visible
-        if (distance >= 128) return false; //Too far away
-
-        final int MAX_ITERS = 256;
-        int i = 0;
-        final BlockIterator blockIterator = new BlockIterator(origin, 0.0D, distance);
-        while (blockIterator.hasNext()) {
-            // Safety condition to prevent infinite loop server crash
-            // Shouldn't be required due to bounds check on distance, but keeping as a backup
-            if (i >= MAX_ITERS) return false;
-            
-            final Block block = blockIterator.next();
-            if (block == null) return true;
-
-            //Cannot have passed through a Wither immune block
-            if (Tag.WITHER_IMMUNE.isTagged(block.getType())) return false;
-
-            ++i;
-        }
+        //Bounds check to keep the walk short
+        final double distanceSq = origin.distanceSquared(target);
+        if (distanceSq < 1.0D) return true; //In the same block, must be visible
+        if (distanceSq >= 128.0D * 128.0D) return false; //Too far away
 
-        //Reached end -> no impassable blocks are in the way
-        return true;
+        //Cannot pass through a Wither immune block
+        return !WALKER.get().walk(world, origin.getX(), origin.getY(), origin.getZ(), target.getX(), target.getY(), target.getZ(), MAX_WALK_STEPS, WITHER_IMMUNE);
     }
 
     /**
@@ -135,13 +120,7 @@ public final class Utils {
         final World world = location.getWorld();
         if (world == null) return false;
 
-        final RayTraceResult result = world.rayTraceBlocks(location, new Vector(0, -1, 0), range, FluidCollisionMode.NEVER, true);
-        
-        //From the docs: the method above returns "the ray trace hit result, or null if there is no hit"
-        if (result == null) return false;
-
-        final Block block = result.getHitBlock();
-        return (block != null && !block.isPassable());
+        return WALKER.get().walkDown(world, location.getX(), location.getY(), location.getZ(), range, SOLID);
     }
 
     /**
@@ -213,25 +192,21 @@ public final class Utils {
 
     /**
      * Get Roman Numeral for Wither level
+     * @return numeral, or null if the level is not positive
      */
     public static String getLevelRomanNumeral(final int level) {
-        //NOTE: I am aware there is an algorithm to perform this without manually hardcoding every case
-        //However, there are only 5 possible levels so this is a much simpler solution
-        //If the number of levels is ever expanded I will use that algorithm instead
-        switch (level) {
-            case 1:
-                return "I";
-            case 2:
-                return "II";
-            case 3:
-                return "III";
-            case 4:
-                return "IV";
-            case 5:
-                return "V";
-            default:
-                return null;
+        if (level <= 0) return null;
+
+        //Greedily take the largest numeral that still fits
+        final StringBuilder builder = new StringBuilder();
+        int remaining = level;
+        for (int i = 0; i < ROMAN_VALUES.length; ++i) {
+            while (remaining >= ROMAN_VALUES[i]) {
+                builder.append(ROMAN_SYMBOLS[i]);
+                remaining -= ROMAN_VALUES[i];
+            }
         }
+        return builder.toString();
     }
 
     public static String formatMessage(final String string) {
@@ -0,0 +1,172 @@
+package io.github.poorgrammerdev.ominouswither.utils;
+
+import java.util.function.Predicate;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * <p>Walks through every block a line segment passes through, in order, using 3D-DDA (Amanatides and Woo) on integer block coordinates</p>
+ * <p>Blocks are classified by their material only, read straight from the world, so a walk allocates no Block, Location or Vector objects.
+ * The walker is reusable: its cursor holds the coordinates of the block that stopped the last walk.</p>
+ * <p>Not thread-safe; each thread must use its own walker. Blocks are read from the world so walks must run on the main thread anyway.</p>
+ * @author Thomas Tran
+ */
+public class VoxelWalker {
+    //Cursor; coordinates of the current block, or the block that stopped the walk
+    private int x;
+    private int y;
+    private int z;
+
+    /**
+     * Material of the block that stopped the last walk, or null if it reached the end
+     */
+    private Material hitMaterial;
+
+    /**
+     * Amount of blocks visited by the last walk
+     */
+    private int steps;
+
+    public VoxelWalker() {
+        this.hitMaterial = null;
+        this.steps = 0;
+    }
+
+    /**
+     * Walks from one point to another, including the blocks both points are in, stopping at the first block that matches
+     * @param world world to read blocks from
+     * @param maxSteps max amount of blocks to visit; the walk stops without a hit once reached
+     * @param stopAt classifies a block's material; the walk stops at the first block this returns true for
+     * @return if the walk was stopped by a matching block, which is then held by the cursor
+     */
+    public boolean walk(final World world, final double fromX, final double fromY, final double fromZ, final double toX, final double toY, final double toZ, final int maxSteps, final Predicate<Material> stopAt) {
+        this.x = floor(fromX);
+        this.y = floor(fromY);
+        this.z = floor(fromZ);
+        this.hitMaterial = null;
+        this.steps = 0;
+
+        final int endX = floor(toX);
+        final int endY = floor(toY);
+        final int endZ = floor(toZ);
+
+        final double dx = toX - fromX;
+        final double dy = toY - fromY;
+        final double dz = toZ - fromZ;
+
+        //Direction to step along each axis
+        final int stepX = (dx > 0.0D) ? 1 : -1;
+        final int stepY = (dy > 0.0D) ? 1 : -1;
+        final int stepZ = (dz > 0.0D) ? 1 : -1;
+
+        //Fraction of the segment needed to cross a whole block along each axis
+        final double deltaX = (dx != 0.0D) ? Math.abs(1.0D / dx) : Double.POSITIVE_INFINITY;
+        final double deltaY = (dy != 0.0D) ? Math.abs(1.0D / dy) : Double.POSITIVE_INFINITY;
+        final double deltaZ = (dz != 0.0D) ? Math.abs(1.0D / dz) : Double.POSITIVE_INFINITY;
+
+        //Fraction of the segment at which the next block boundary is crossed along each axis
+        double nextX = (dx != 0.0D) ? (((dx > 0.0D) ? (this.x + 1 - fromX) : (fromX - this.x)) * deltaX) : Double.POSITIVE_INFINITY;
+        double nextY = (dy != 0.0D) ? (((dy > 0.0D) ? (this.y + 1 - fromY) : (fromY - this.y)) * deltaY) : Double.POSITIVE_INFINITY;
+        double nextZ = (dz != 0.0D) ? (((dz > 0.0D) ? (this.z + 1 - fromZ) : (fromZ - this.z)) * deltaZ) : Double.POSITIVE_INFINITY;
+
+        while (this.steps < maxSteps) {
+            ++this.steps;
+
+            final Material material = world.getType(this.x, this.y, this.z);
+            if (stopAt.test(material)) {
+                this.hitMaterial = material;
+                return true;
+            }
+
+            if (this.x == endX && this.y == endY && this.z == endZ) return false;
+
+            //Step into whichever neighbouring block the segment enters first
+            if (nextX <= nextY && nextX <= nextZ) {
+                if (nextX > 1.0D) return false;
+                this.x += stepX;
+                nextX += deltaX;
+            }
+            else if (nextY <= nextZ) {
+                if (nextY > 1.0D) return false;
+                this.y += stepY;
+                nextY += deltaY;
+            }
+            else {
+                if (nextZ > 1.0D) return false;
+                this.z += stepZ;
+                nextZ += deltaZ;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Walks straight down from a point, including the block it is in, stopping at the first block that matches
+     * @param world world to read blocks from
+     * @param range distance downward to walk
+     * @param stopAt classifies a block's material; the walk stops at the first block this returns true for
+     * @return if the walk was stopped by a matching block, which is then held by the cursor
+     */
+    public boolean walkDown(final World world, final double x, final double y, final double z, final double range, final Predicate<Material> stopAt) {
+        this.x = floor(x);
+        this.y = floor(y);
+        this.z = floor(z);
+        this.hitMaterial = null;
+        this.steps = 0;
+
+        final int endY = Math.max(floor(y - range), world.getMinHeight());
+        for (; this.y >= endY; --this.y) {
+            ++this.steps;
+
+            final Material material = world.getType(this.x, this.y, this.z);
+            if (stopAt.test(material)) {
+                this.hitMaterial = material;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return X coordinate of the block that stopped the last walk
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * @return Y coordinate of the block that stopped the last walk
+     */
+    public int getY() {
+        return this.y;
+    }
+
+    /**
+     * @return Z coordinate of the block that stopped the last walk
+     */
+    public int getZ() {
+        return this.z;
+    }
+
+    /**
+     * @return material of the block that stopped the last walk, or null if it wasn't stopped
+     */
+    public Material getHitMaterial() {
+        return this.hitMaterial;
+    }
+
+    /**
+     * @return amount of blocks visited by the last walk
+     */
+    public int getSteps() {
+        return this.steps;
+    }
+
+    private static int floor(final double value) {
+        final int truncated = (int) value;
+        return (value < truncated) ? (truncated - 1) : truncated;
+    }
+}
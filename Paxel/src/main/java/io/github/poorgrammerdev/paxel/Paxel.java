@@ -12,9 +12,13 @@ import org.bukkit.inventory.meta.components.ToolComponent;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import io.github.poorgrammerdev.scheduling.ISchedulerBackend;
+import io.github.poorgrammerdev.scheduling.SchedulerBackends;
+
 public final class Paxel extends JavaPlugin {
     private final NamespacedKey paxelKey;
     private final ToolMapper toolMapper;
+    private ISchedulerBackend schedulerBackend;
 
     public Paxel() {
         this.paxelKey = new NamespacedKey(this, "is_paxel");
@@ -27,6 +31,8 @@ public final class Paxel extends JavaPlugin {
         this.getConfig().options().copyDefaults(true);
         this.saveConfig();
 
+        this.schedulerBackend = SchedulerBackends.create(this);
+
         final ExternalItemManager externalItemManager = new ExternalItemManager(this);
 
         final CraftingManager craftingManager = new CraftingManager(this, this.toolMapper, externalItemManager);
@@ -130,4 +136,11 @@ public final class Paxel extends JavaPlugin {
     public String getPaxelName(String tier) {
         return tier.charAt(0) + tier.substring(1).toLowerCase() + " Paxel";
     }
+
+    /**
+     * Gets the scheduler backend that all of the plugin's server tasks go through
+     */
+    public ISchedulerBackend getSchedulerBackend() {
+        return this.schedulerBackend;
+    }
 }
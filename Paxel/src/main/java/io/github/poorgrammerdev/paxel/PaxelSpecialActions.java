@@ -8,7 +8,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 /**
  * Implements special right click actions (stripping logs or pathing grass)
@@ -55,13 +54,7 @@ public class PaxelSpecialActions implements Listener {
         else return;
 
         //One tick later, swaps the tool back to continue using as normal
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                swapPaxelType(tool, ToolMapper.PICKAXE_INDEX);
-            }
-            
-        }.runTaskLater(plugin, 1L);
+        plugin.getSchedulerBackend().runAtEntity(event.getPlayer(), () -> swapPaxelType(tool, ToolMapper.PICKAXE_INDEX), 1L);
     }
 
     /**
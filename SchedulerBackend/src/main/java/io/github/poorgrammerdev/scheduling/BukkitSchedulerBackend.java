@@ -0,0 +1,75 @@
+package io.github.poorgrammerdev.scheduling;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * <p>Scheduler backend for regular servers, where everything runs on the main thread</p>
+ * <p>Entity and location tasks are plain delayed tasks here, and run even if their entity has been removed</p>
+ * @author Thomas Tran
+ */
+public class BukkitSchedulerBackend implements ISchedulerBackend {
+    private final Plugin plugin;
+
+    public BukkitSchedulerBackend(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() {
+        return "bukkit";
+    }
+
+    @Override
+    public IScheduledTask runLater(final Runnable task, final long delay) {
+        return new BukkitScheduledTask(this.plugin.getServer().getScheduler().runTaskLater(this.plugin, task, delay));
+    }
+
+    @Override
+    public IScheduledTask runTimer(final Runnable task, final long delay, final long period) {
+        return new BukkitScheduledTask(this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, task, delay, period));
+    }
+
+    @Override
+    public IScheduledTask runAtEntity(final Entity entity, final Runnable task, final long delay) {
+        return this.runLater(task, delay);
+    }
+
+    @Override
+    public IScheduledTask runTimerAtEntity(final Entity entity, final Runnable task, final long delay, final long period) {
+        return this.runTimer(task, delay, period);
+    }
+
+    @Override
+    public IScheduledTask runAtLocation(final Location location, final Runnable task, final long delay) {
+        return this.runLater(task, delay);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(final Entity entity) {
+        return this.plugin.getServer().isPrimaryThread();
+    }
+
+    /**
+     * Wrapper for a Bukkit task
+     */
+    private static class BukkitScheduledTask implements IScheduledTask {
+        private final BukkitTask task;
+
+        private BukkitScheduledTask(final BukkitTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            this.task.cancel();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.task.isCancelled();
+        }
+    }
+}
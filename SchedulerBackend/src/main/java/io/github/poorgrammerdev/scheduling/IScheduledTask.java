@@ -0,0 +1,18 @@
+package io.github.poorgrammerdev.scheduling;
+
+/**
+ * Handle to a task scheduled through an {@link ISchedulerBackend}
+ * @author Thomas Tran
+ */
+public interface IScheduledTask {
+    /**
+     * Stops the task from running again
+     * Does nothing if the task has already finished
+     */
+    public void cancel();
+
+    /**
+     * @return if this task has been cancelled
+     */
+    public boolean isCancelled();
+}
@@ -0,0 +1,71 @@
+package io.github.poorgrammerdev.scheduling;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * <p>Abstraction over the server's task scheduler</p>
+ * <p>On regular servers everything runs on the main thread. On region-threaded servers, work touching an entity or block
+ * must be run on the thread that owns its region, which is what the entity and location methods are for.</p>
+ * <p>All delays and periods are in ticks</p>
+ * @author Thomas Tran
+ */
+public interface ISchedulerBackend {
+    /**
+     * @return short name of this backend, for logging
+     */
+    public String getName();
+
+    /**
+     * Runs a task once after a delay, on the global (non-region) thread
+     * @param task task to run
+     * @param delay ticks to wait
+     * @return handle that can be used to cancel the task
+     */
+    public IScheduledTask runLater(final Runnable task, final long delay);
+
+    /**
+     * Runs a task repeatedly on the global (non-region) thread until cancelled
+     * @param task task to run
+     * @param delay ticks to wait before the first run
+     * @param period ticks between runs
+     * @return handle that can be used to cancel the task
+     */
+    public IScheduledTask runTimer(final Runnable task, final long delay, final long period);
+
+    /**
+     * Runs a task once after a delay, on the thread that owns the entity
+     * On region-threaded servers, the task does not run if the entity is removed before then
+     * @param entity entity that the task works on
+     * @param task task to run
+     * @param delay ticks to wait
+     * @return handle that can be used to cancel the task
+     */
+    public IScheduledTask runAtEntity(final Entity entity, final Runnable task, final long delay);
+
+    /**
+     * Runs a task repeatedly on the thread that owns the entity, following it between regions, until cancelled
+     * On region-threaded servers, the task stops once the entity is removed
+     * @param entity entity that the task works on
+     * @param task task to run
+     * @param delay ticks to wait before the first run
+     * @param period ticks between runs
+     * @return handle that can be used to cancel the task
+     */
+    public IScheduledTask runTimerAtEntity(final Entity entity, final Runnable task, final long delay, final long period);
+
+    /**
+     * Runs a task once after a delay, on the thread that owns the location's region
+     * @param location location that the task works on
+     * @param task task to run
+     * @param delay ticks to wait
+     * @return handle that can be used to cancel the task
+     */
+    public IScheduledTask runAtLocation(final Location location, final Runnable task, final long delay);
+
+    /**
+     * @param entity entity to check
+     * @return if the current thread is allowed to access the entity
+     */
+    public boolean isOwnedByCurrentThread(final Entity entity);
+}
@@ -0,0 +1,174 @@
+package io.github.poorgrammerdev.scheduling;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * <p>Scheduler backend for region-threaded servers (i.e. Folia), where each region of the world is ticked on its own thread</p>
+ * <p>The region schedulers are not part of the Spigot API, so they are looked up through reflection once on construction</p>
+ * @author Thomas Tran
+ */
+public class RegionSchedulerBackend implements ISchedulerBackend {
+    private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+
+    private final Plugin plugin;
+    private final Server server;
+
+    private final Object globalScheduler;
+    private final Object regionScheduler;
+
+    private final Method globalRunDelayed;
+    private final Method globalRunAtFixedRate;
+    private final Method regionRunDelayed;
+    private final Method entityGetScheduler;
+    private final Method entityRunDelayed;
+    private final Method entityRunAtFixedRate;
+    private final Method isOwnedByCurrentRegion;
+    private final Method taskCancel;
+    private final Method taskIsCancelled;
+
+    /**
+     * @param plugin plugin to schedule tasks for
+     * @throws IllegalStateException if the server does not have region schedulers
+     */
+    public RegionSchedulerBackend(final Plugin plugin) {
+        this.plugin = plugin;
+        this.server = plugin.getServer();
+
+        try {
+            final Class<?> globalSchedulerClass = Class.forName(SCHEDULER_PACKAGE + "GlobalRegionScheduler");
+            final Class<?> regionSchedulerClass = Class.forName(SCHEDULER_PACKAGE + "RegionScheduler");
+            final Class<?> entitySchedulerClass = Class.forName(SCHEDULER_PACKAGE + "EntityScheduler");
+            final Class<?> scheduledTaskClass = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask");
+
+            this.globalScheduler = Server.class.getMethod("getGlobalRegionScheduler").invoke(this.server);
+            this.regionScheduler = Server.class.getMethod("getRegionScheduler").invoke(this.server);
+
+            this.globalRunDelayed = globalSchedulerClass.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+            this.globalRunAtFixedRate = globalSchedulerClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+            this.regionRunDelayed = regionSchedulerClass.getMethod("runDelayed", Plugin.class, Location.class, Consumer.class, long.class);
+            this.entityGetScheduler = Entity.class.getMethod("getScheduler");
+            this.entityRunDelayed = entitySchedulerClass.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
+            this.entityRunAtFixedRate = entitySchedulerClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, Runnable.class, long.class, long.class);
+            this.isOwnedByCurrentRegion = Server.class.getMethod("isOwnedByCurrentRegion", Entity.class);
+            this.taskCancel = scheduledTaskClass.getMethod("cancel");
+            this.taskIsCancelled = scheduledTaskClass.getMethod("isCancelled");
+        }
+        catch (ReflectiveOperationException | IllegalArgumentException exception) {
+            throw new IllegalStateException("Region schedulers are not available on this server", exception);
+        }
+    }
+
+    /**
+     * @return if the server is region-threaded
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        }
+        catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "region";
+    }
+
+    //Region schedulers reject delays below one tick
+
+    @Override
+    public IScheduledTask runLater(final Runnable task, final long delay) {
+        return this.wrap(this.invoke(this.globalRunDelayed, this.globalScheduler, this.plugin, toConsumer(task), Math.max(delay, 1L)));
+    }
+
+    @Override
+    public IScheduledTask runTimer(final Runnable task, final long delay, final long period) {
+        return this.wrap(this.invoke(this.globalRunAtFixedRate, this.globalScheduler, this.plugin, toConsumer(task), Math.max(delay, 1L), Math.max(period, 1L)));
+    }
+
+    @Override
+    public IScheduledTask runAtEntity(final Entity entity, final Runnable task, final long delay) {
+        final Object entityScheduler = this.invoke(this.entityGetScheduler, entity);
+
+        //Returns null if the entity has already been removed; the task is then treated as cancelled
+        return this.wrap(this.invoke(this.entityRunDelayed, entityScheduler, this.plugin, toConsumer(task), null, Math.max(delay, 1L)));
+    }
+
+    @Override
+    public IScheduledTask runTimerAtEntity(final Entity entity, final Runnable task, final long delay, final long period) {
+        final Object entityScheduler = this.invoke(this.entityGetScheduler, entity);
+        return this.wrap(this.invoke(this.entityRunAtFixedRate, entityScheduler, this.plugin, toConsumer(task), null, Math.max(delay, 1L), Math.max(period, 1L)));
+    }
+
+    @Override
+    public IScheduledTask runAtLocation(final Location location, final Runnable task, final long delay) {
+        return this.wrap(this.invoke(this.regionRunDelayed, this.regionScheduler, this.plugin, location, toConsumer(task), Math.max(delay, 1L)));
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(final Entity entity) {
+        return (Boolean) this.invoke(this.isOwnedByCurrentRegion, this.server, entity);
+    }
+
+    /**
+     * Region schedulers pass the task's own handle to it, which is not needed here
+     */
+    private static Consumer<Object> toConsumer(final Runnable task) {
+        return (scheduledTask) -> task.run();
+    }
+
+    private IScheduledTask wrap(final Object scheduledTask) {
+        return new RegionScheduledTask(scheduledTask);
+    }
+
+    /**
+     * Invokes a looked-up method, rethrowing any exception it throws unchanged
+     */
+    private Object invoke(final Method method, final Object target, final Object... args) {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+        catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Wrapper for a region scheduler task
+     */
+    private class RegionScheduledTask implements IScheduledTask {
+        /**
+         * Null if the task could not be scheduled
+         */
+        private final Object task;
+
+        private RegionScheduledTask(final Object task) {
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            if (this.task != null) invoke(taskCancel, this.task);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return (this.task == null) || (Boolean) invoke(taskIsCancelled, this.task);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.poorgrammerdev.scheduling;
+
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Picks the scheduler backend a plugin's tasks go through
+ * @author Thomas Tran
+ */
+public final class SchedulerBackends {
+    private SchedulerBackends() {}
+
+    /**
+     * Uses the region scheduler on region-threaded servers and the Bukkit scheduler otherwise
+     * @param plugin plugin to schedule tasks for; a warning is logged through it if the region scheduler can't be used
+     * @return backend to schedule the plugin's tasks through
+     */
+    public static ISchedulerBackend create(final Plugin plugin) {
+        if (RegionSchedulerBackend.isSupported()) {
+            try {
+                return new RegionSchedulerBackend(plugin);
+            }
+            catch (IllegalStateException exception) {
+                plugin.getLogger().warning("Region scheduler could not be used, falling back to the Bukkit scheduler: " + exception.getMessage());
+            }
+        }
+        return new BukkitSchedulerBackend(plugin);
+    }
+}